@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+#
+# Compares startup time and resident memory of the plain fat jar, the AOT + CDS build and the native image.
+#
+# Build the variants first:
+#   mvn -Pcds clean package                           -> target/<name>.jar and target/application/
+#   mvn -Pnative -DskipTests native:compile           -> target/garage-reservation-api
+# Variants whose artifacts are missing are skipped.
+#
+# The AOT + CDS build and the native image evaluate @ConditionalOnProperty switches such as
+# garage.reservation.journal.enabled or garage.reservation.admission.enabled at build time, so they have to be
+# passed to the build, e.g. -Dspring-boot.aot.jvmArguments="-Dgarage.reservation.journal.enabled=true", and not
+# to this script. Build every variant with the same switches, otherwise the variants start different beans and
+# their numbers are not comparable.
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+TARGET="$(cd "$(dirname "$0")/.." && pwd)/target"
+JAR="$(find "$TARGET" -maxdepth 1 -name 'garage-reservation-api-*.jar' ! -name '*.original' | head -n 1)"
+
+measure() {
+  local name="$1"
+  shift
+  local total_seconds=0 total_rss=0
+
+  for run in $(seq 1 "$RUNS"); do
+    local log
+    log="$(mktemp)"
+    "$@" --server.port="$PORT" > "$log" 2>&1 &
+    local pid=$!
+
+    until grep -q "Started Application" "$log"; do
+      if ! kill -0 "$pid" 2> /dev/null; then
+        echo "$name failed to start, see $log" >&2
+        return 1
+      fi
+      sleep 0.05
+    done
+
+    # Spring Boot logs "Started Application in X seconds (process running for Y)"
+    local seconds rss
+    seconds="$(sed -n 's/.*process running for \([0-9.]*\)).*/\1/p' "$log" | head -n 1)"
+    rss="$(ps -o rss= -p "$pid" | tr -d ' ')"
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    rm -f "$log"
+
+    total_seconds="$(echo "$total_seconds + $seconds" | bc -l)"
+    total_rss=$((total_rss + rss))
+  done
+
+  printf "%-12s %10.3f s %10d MB\n" "$name" "$(echo "$total_seconds / $RUNS" | bc -l)" $((total_rss / RUNS / 1024))
+}
+
+printf "%-12s %12s %13s\n" "Variant" "Startup" "RSS"
+
+if [[ -n "$JAR" ]]; then
+  measure "fat-jar" java -jar "$JAR"
+fi
+
+if [[ -f "$TARGET/application/application.jsa" ]]; then
+  measure "aot-cds" java -XX:SharedArchiveFile="$TARGET/application/application.jsa" -Dspring.aot.enabled=true \
+    -jar "$TARGET/application/$(basename "$JAR")"
+fi
+
+if [[ -x "$TARGET/garage-reservation-api" ]]; then
+  measure "native" "$TARGET/garage-reservation-api"
+fi
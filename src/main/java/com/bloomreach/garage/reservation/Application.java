@@ -1,10 +1,13 @@
 package com.bloomreach.garage.reservation;
 
+import com.bloomreach.garage.reservation.config.ReservationRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@EnableCaching
+@EnableScheduling
+@ImportRuntimeHints(ReservationRuntimeHints.class)
 @SpringBootApplication
 public class Application {
 
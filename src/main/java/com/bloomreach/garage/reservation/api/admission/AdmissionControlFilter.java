@@ -0,0 +1,90 @@
+package com.bloomreach.garage.reservation.api.admission;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+
+/**
+ * Admits booking, slot hold and available slot requests through the {@link ConcurrencyLimiter}.
+ * <p>
+ * Requests that cannot be admitted in time are answered immediately with {@code 503 Service Unavailable}
+ * and a {@code Retry-After} header, before they occupy a database connection. The availability feed is not
+ * limited, as its long-lived connections do no work while idle.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(prefix = "garage.reservation.admission", name = "enabled", havingValue = "true")
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String BOOKING_PATH = "/reservations/book";
+    private static final String HOLDS_PATH = "/reservations/holds";
+    private static final String AVAILABLE_SLOTS_PATH = "/reservations/availableSlots";
+    private static final String BULK_AVAILABLE_SLOTS_PATH = "/reservations/availableSlots/bulk";
+    private static final String EARLIEST_SLOTS_PATH = "/reservations/availableSlots/earliest";
+    private static final String SHED_MESSAGE = "Too many concurrent requests, retry later";
+
+    private final ConcurrencyLimiter concurrencyLimiter;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdmissionLane lane = laneOf(request);
+        if (lane == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean admitted;
+        try {
+            admitted = concurrencyLimiter.acquire(lane);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(concurrencyLimiter.getRetryAfterSeconds()));
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), SHED_MESSAGE);
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            concurrencyLimiter.release(lane, System.nanoTime() - startNanos, failed);
+        }
+    }
+
+    private AdmissionLane laneOf(HttpServletRequest request) {
+        String path = UrlPathHelper.defaultInstance.getPathWithinServletMapping(request);
+        // Holds allocate resources like bookings do, so they share the booking lane
+        if (HttpMethod.POST.matches(request.getMethod()) && (BOOKING_PATH.equals(path) || HOLDS_PATH.equals(path))) {
+            return AdmissionLane.BOOKING;
+        }
+        if (HttpMethod.GET.matches(request.getMethod())
+                && (AVAILABLE_SLOTS_PATH.equals(path) || EARLIEST_SLOTS_PATH.equals(path))) {
+            return AdmissionLane.AVAILABILITY;
+        }
+        if (HttpMethod.POST.matches(request.getMethod()) && BULK_AVAILABLE_SLOTS_PATH.equals(path)) {
+            return AdmissionLane.AVAILABILITY;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.bloomreach.garage.reservation.api.admission;
+
+/**
+ * The classes of requests admitted by the {@link ConcurrencyLimiter}, in order of priority.
+ */
+public enum AdmissionLane {
+
+    /**
+     * Booking requests, admitted before any waiting availability lookup.
+     */
+    BOOKING,
+
+    /**
+     * Available slot lookups.
+     */
+    AVAILABILITY
+}
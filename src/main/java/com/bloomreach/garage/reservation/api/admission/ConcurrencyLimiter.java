@@ -0,0 +1,244 @@
+package com.bloomreach.garage.reservation.api.admission;
+
+import com.bloomreach.garage.reservation.config.AdmissionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of reservation requests processed concurrently.
+ * <p>
+ * All lanes share one concurrency limit, which is either fixed or adapted with additive increase and
+ * multiplicative decrease: every request completing within the latency threshold while the limit is in use
+ * raises it by {@code 1 / limit}, and a slow or failed request lowers it by the backoff ratio. Requests that
+ * were admitted before the last decrease ran under the old limit, so they do not lower it again; a burst of
+ * slow requests therefore backs off once rather than once per request. Each lane
+ * can additionally be capped, and requests that cannot be admitted wait in a bounded queue per lane. Freed
+ * capacity goes to waiting bookings before waiting availability lookups. Requests that find their queue full
+ * or wait longer than allowed are shed.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "garage.reservation.admission", name = "enabled", havingValue = "true")
+public class ConcurrencyLimiter {
+
+    private final AdmissionProperties admissionProperties;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<AdmissionLane, LaneState> lanes = new EnumMap<>(AdmissionLane.class);
+
+    private double limit;
+    private int inFlight;
+    private long lastBackoffNanos;
+
+    public ConcurrencyLimiter(AdmissionProperties admissionProperties, MeterRegistry meterRegistry) {
+        this.admissionProperties = admissionProperties;
+        this.limit = admissionProperties.getInitialLimit();
+        this.lastBackoffNanos = System.nanoTime();
+
+        Gauge.builder("garage.admission.limit", this, ConcurrencyLimiter::getLimit)
+                .description("Current concurrency limit of reservation requests")
+                .register(meterRegistry);
+        for (AdmissionLane lane : AdmissionLane.values()) {
+            AdmissionProperties.Lane laneProperties = admissionProperties.getLanes()
+                    .getOrDefault(lane, new AdmissionProperties.Lane());
+            LaneState laneState = new LaneState(laneProperties, Counter.builder("garage.admission.shed")
+                    .description("Requests rejected because the concurrency limit was reached")
+                    .tag("lane", lane.name().toLowerCase())
+                    .register(meterRegistry));
+            lanes.put(lane, laneState);
+
+            Gauge.builder("garage.admission.in.flight", laneState, state -> inLock(() -> state.inFlight))
+                    .description("Reservation requests currently being processed")
+                    .tag("lane", lane.name().toLowerCase())
+                    .register(meterRegistry);
+            Gauge.builder("garage.admission.queued", laneState, state -> inLock(() -> state.waiters.size()))
+                    .description("Reservation requests waiting to be admitted")
+                    .tag("lane", lane.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Admits a request of the given lane, waiting for capacity up to the lane's maximum wait time.
+     *
+     * @param lane The lane of the request.
+     * @return True if the request was admitted and has to be released with {@link #release}, false if it was shed.
+     * @throws InterruptedException if the thread was interrupted while waiting.
+     */
+    public boolean acquire(AdmissionLane lane) throws InterruptedException {
+        LaneState laneState = lanes.get(lane);
+        Waiter waiter;
+
+        lock.lock();
+        try {
+            // Serve waiting requests first, so a new request never overtakes one that can be admitted
+            admitWaiters();
+            if (laneState.waiters.isEmpty() && canAdmit(laneState)) {
+                admit(laneState);
+                return true;
+            }
+
+            if (laneState.waiters.size() >= laneState.properties.getQueueSize()) {
+                laneState.shed.increment();
+                return false;
+            }
+
+            waiter = new Waiter(lock.newCondition());
+            laneState.waiters.addLast(waiter);
+
+            Duration maxWait = laneState.properties.getMaxWait();
+            long remainingNanos = maxWait != null ? maxWait.toNanos() : 0;
+            try {
+                while (!waiter.admitted && remainingNanos > 0) {
+                    remainingNanos = waiter.condition.awaitNanos(remainingNanos);
+                }
+            } catch (InterruptedException e) {
+                if (waiter.admitted) {
+                    // Admitted just before the interrupt, hand the capacity on to the next waiter
+                    inFlight--;
+                    laneState.inFlight--;
+                    admitWaiters();
+                }
+                throw e;
+            } finally {
+                if (!waiter.admitted) {
+                    laneState.waiters.remove(waiter);
+                }
+            }
+
+            if (!waiter.admitted) {
+                laneState.shed.increment();
+            }
+            return waiter.admitted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases the capacity held by an admitted request and adapts the limit to its outcome.
+     *
+     * @param lane          The lane the request was admitted to.
+     * @param latencyNanos  The time the request took to process.
+     * @param failed        Whether the request failed because of an overloaded or failing dependency.
+     */
+    public void release(AdmissionLane lane, long latencyNanos, boolean failed) {
+        lock.lock();
+        try {
+            LaneState laneState = lanes.get(lane);
+            int inFlightBeforeRelease = inFlight;
+            inFlight--;
+            laneState.inFlight--;
+
+            if (admissionProperties.getStrategy() == AdmissionProperties.LimitStrategy.AIMD) {
+                adaptLimit(latencyNanos, failed, inFlightBeforeRelease);
+            }
+
+            admitWaiters();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current concurrency limit.
+     *
+     * @return The number of requests that can be processed concurrently.
+     */
+    public double getLimit() {
+        return inLock(() -> limit);
+    }
+
+    /**
+     * Returns the time after which shed clients should retry.
+     *
+     * @return The retry delay in seconds, at least one.
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, admissionProperties.getRetryAfter().toSeconds());
+    }
+
+    private void adaptLimit(long latencyNanos, boolean failed, int inFlightBeforeRelease) {
+        if (failed || latencyNanos > admissionProperties.getLatencyThreshold().toNanos()) {
+            long now = System.nanoTime();
+            // Latency is measured from admission, so this compares the admission time with the last decrease
+            if (now - latencyNanos - lastBackoffNanos > 0) {
+                limit = Math.max(admissionProperties.getMinLimit(), limit * admissionProperties.getBackoffRatio());
+                lastBackoffNanos = now;
+            }
+        } else if (inFlightBeforeRelease * 2 >= limit) {
+            // Only grow while the limit is actually used, an idle service would otherwise drift to the maximum
+            limit = Math.min(admissionProperties.getMaxLimit(), limit + 1 / limit);
+        }
+    }
+
+    private void admitWaiters() {
+        for (LaneState laneState : lanes.values()) {
+            while (!laneState.waiters.isEmpty() && canAdmit(laneState)) {
+                Waiter waiter = laneState.waiters.pollFirst();
+                admit(laneState);
+                waiter.admitted = true;
+                waiter.condition.signal();
+            }
+        }
+    }
+
+    private boolean canAdmit(LaneState laneState) {
+        int maxConcurrency = laneState.properties.getMaxConcurrency();
+        return inFlight < (int) limit && (maxConcurrency <= 0 || laneState.inFlight < maxConcurrency);
+    }
+
+    private void admit(LaneState laneState) {
+        inFlight++;
+        laneState.inFlight++;
+    }
+
+    private <T> T inLock(Supplier<T> supplier) {
+        lock.lock();
+        try {
+            return supplier.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The configuration, the admitted requests and the waiting requests of a lane.
+     */
+    private static class LaneState {
+
+        private final AdmissionProperties.Lane properties;
+        private final Counter shed;
+        private final Deque<Waiter> waiters = new ArrayDeque<>();
+        private int inFlight;
+
+        LaneState(AdmissionProperties.Lane properties, Counter shed) {
+            this.properties = properties;
+            this.shed = shed;
+        }
+    }
+
+    /**
+     * A request waiting to be admitted, signalled once it has been.
+     */
+    private static class Waiter {
+
+        private final Condition condition;
+        private boolean admitted;
+
+        Waiter(Condition condition) {
+            this.condition = condition;
+        }
+    }
+}
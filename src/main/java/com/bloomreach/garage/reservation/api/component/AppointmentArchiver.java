@@ -0,0 +1,89 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.repository.ArchivedGarageAppointmentOperationRepository;
+import com.bloomreach.garage.reservation.api.repository.ArchivedGarageAppointmentRepository;
+import com.bloomreach.garage.reservation.api.repository.GarageAppointmentOperationRepository;
+import com.bloomreach.garage.reservation.api.repository.GarageAppointmentRepository;
+import com.bloomreach.garage.reservation.config.ArchiveProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Moves appointments older than the retention window from the hot tables into the archive tables.
+ * <p>
+ * Availability and booking queries only touch today and the following days, so keeping past appointments
+ * out of {@code garage_appointments} and {@code garage_appointment_operations} keeps those tables and their
+ * indexes small. Appointments are moved in batches, each in its own transaction, so the archival never
+ * holds locks on a large number of rows.
+ * </p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(prefix = "garage.reservation.archive", name = "enabled", havingValue = "true")
+public class AppointmentArchiver {
+
+    private final GarageAppointmentRepository garageAppointmentRepository;
+    private final GarageAppointmentOperationRepository garageAppointmentOperationRepository;
+    private final ArchivedGarageAppointmentRepository archivedGarageAppointmentRepository;
+    private final ArchivedGarageAppointmentOperationRepository archivedGarageAppointmentOperationRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ArchiveProperties archiveProperties;
+    private final Clock clock;
+
+    /**
+     * Archives all appointments scheduled before the retention window.
+     *
+     * @return The number of archived appointments.
+     */
+    @Scheduled(cron = "${garage.reservation.archive.cron}")
+    public int archivePastAppointments() {
+        LocalDate cutoffDate = LocalDate.now(clock).minusDays(archiveProperties.getRetentionDays());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        int archived = 0;
+        int batchArchived;
+        do {
+            batchArchived = Objects.requireNonNull(transactionTemplate.execute(status -> archiveBatch(cutoffDate)));
+            archived += batchArchived;
+        } while (batchArchived == archiveProperties.getBatchSize());
+
+        log.info("Archived {} appointments scheduled before {}", archived, cutoffDate);
+        return archived;
+    }
+
+    /**
+     * Moves one batch of appointments, together with their operations, into the archive.
+     *
+     * @param cutoffDate The date before which appointments are archived.
+     * @return The number of archived appointments.
+     */
+    private int archiveBatch(LocalDate cutoffDate) {
+        List<Long> appointmentIds = garageAppointmentRepository.findIdsByDateBefore(
+                cutoffDate, PageRequest.of(0, archiveProperties.getBatchSize()));
+        if (appointmentIds.isEmpty()) {
+            return 0;
+        }
+
+        // Appointments are copied first, as the archived operations reference them
+        archivedGarageAppointmentRepository.archiveAll(appointmentIds);
+        archivedGarageAppointmentOperationRepository.archiveAllByAppointmentIds(appointmentIds);
+
+        // Operations are deleted first, as they reference the appointments
+        garageAppointmentOperationRepository.deleteAllByAppointmentIds(appointmentIds);
+        garageAppointmentRepository.deleteAllByIdInBatch(appointmentIds);
+
+        return appointmentIds.size();
+    }
+}
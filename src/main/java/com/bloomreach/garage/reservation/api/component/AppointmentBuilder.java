@@ -12,8 +12,8 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Constructs a GarageAppointment and assigns mechanics to operations.
@@ -30,13 +30,13 @@ public class AppointmentBuilder {
      * @param endTime            The end time of the appointment.
      * @param garageBox          The garage box allocated for the appointment.
      * @param operations         The list of operations to be performed.
-     * @param availableMechanics The list of available mechanics.
+     * @param assignedMechanics  The mechanics assigned to the operations, one per operation in the same order.
      * @return The constructed GarageAppointment entity.
      */
     public GarageAppointment buildAppointment(Customer customer, LocalDate date,
                                               LocalTime startTime, LocalTime endTime,
                                               GarageBox garageBox, List<GarageOperation> operations,
-                                              List<Employee> availableMechanics) {
+                                              List<Employee> assignedMechanics) {
         // Create a new appointment with the given details
         GarageAppointment appointment = GarageAppointment.builder()
                 .customer(customer)
@@ -46,41 +46,34 @@ public class AppointmentBuilder {
                 .garageBox(garageBox)
                 .build();
 
-        // Track the current time in the appointment
-        AtomicReference<LocalTime> currentOperationStartTime = new AtomicReference<>(startTime);
-
-        // Assign mechanics to each operation and calculate appointment operations
-        List<GarageAppointmentOperation> appointmentOperations = operations.stream()
-                .map(operation -> {
-                    // Calculate the end time for this operation
-                    Integer operationDuration = operation.getDurationInMinutes();
-                    LocalTime operationEndTime = currentOperationStartTime.get().plusMinutes(operationDuration);
+        // Ensure every operation has a mechanic
+        if (assignedMechanics.size() != operations.size()) {
+            throw new ProcessingError(ErrorMessage.NO_AVAILABLE_MECHANICS_FOR_THIS_OPERATION);
+        }
 
-                    // Ensure at least one mechanic is available for this operation
-                    if (availableMechanics.isEmpty()) {
-                        throw new ProcessingError(ErrorMessage.NO_AVAILABLE_MECHANICS_FOR_THIS_OPERATION);
-                    }
+        // Track the current time in the appointment
+        LocalTime currentOperationStartTime = startTime;
 
-                    // Assign the first available mechanic to the operation
-                    Employee assignedMechanic = availableMechanics.stream()
-                            .findFirst()
-                            .orElseThrow(() -> new ProcessingError(ErrorMessage.NO_AVAILABLE_MECHANICS_FOR_THIS_OPERATION));
+        // Create the appointment operations with their assigned mechanics, one after the other
+        List<GarageAppointmentOperation> appointmentOperations = new ArrayList<>(operations.size());
+        for (int index = 0; index < operations.size(); index++) {
+            GarageOperation operation = operations.get(index);
 
-                    // Create and return the appointment operation with the assigned mechanic
-                    GarageAppointmentOperation appointmentOperation = GarageAppointmentOperation.builder()
-                            .appointment(appointment)
-                            .operation(operation)
-                            .employee(assignedMechanic)
-                            .startTime(currentOperationStartTime.get())
-                            .endTime(operationEndTime)
-                            .build();
+            // Calculate the end time for this operation
+            LocalTime operationEndTime = currentOperationStartTime.plusMinutes(operation.getDurationInMinutes());
 
-                    // Update the start time for the next operation
-                    currentOperationStartTime.set(operationEndTime);
+            appointmentOperations.add(GarageAppointmentOperation.builder()
+                    .appointment(appointment)
+                    .operation(operation)
+                    .employee(assignedMechanics.get(index))
+                    .date(date)
+                    .startTime(currentOperationStartTime)
+                    .endTime(operationEndTime)
+                    .build());
 
-                    return appointmentOperation;
-                })
-                .toList();
+            // Update the start time for the next operation
+            currentOperationStartTime = operationEndTime;
+        }
 
         // Set operations for the appointment
         appointment.setOperations(appointmentOperations);
@@ -0,0 +1,367 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.event.AvailabilityChangedEvent;
+import com.bloomreach.garage.reservation.api.model.AvailableSlot;
+import com.bloomreach.garage.reservation.api.schedule.AvailabilitySnapshot;
+import com.bloomreach.garage.reservation.api.support.SingleFlight;
+import com.bloomreach.garage.reservation.config.AvailabilityCacheProperties;
+import com.bloomreach.garage.reservation.config.ReservationProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caches available slots per garage, date and total operation duration, refreshing them in the background.
+ * <p>
+ * Every entry remembers the availability version it was calculated at. An entry becomes stale when the
+ * version of its garage's date changes or its time to live passes, but it keeps being served for up to the maximum
+ * staleness while a bounded background executor recalculates it. Changes trigger the recalculation as soon
+ * as they are committed, so readers rarely see stale slots for longer than one calculation. Only entries
+ * that are missing, or stale for longer than allowed because the executor is saturated, are calculated on
+ * the calling thread, and concurrent callers share that calculation.
+ * </p>
+ * <p>
+ * Stale slots are only ever shown to clients. Bookings check the availability of mechanics and boxes against
+ * the database, so a stale read can never cause a double booking.
+ * </p>
+ * <p>
+ * Entries do not depend on the time of day, so today's entries live as long as those of any other date. Slots
+ * starting before now plus the minimum advance time are cut off when an entry is read, by a binary search over
+ * its sorted slots.
+ * </p>
+ * <p>
+ * The cache holds at most the maximum number of entries; when it is full, an entry that has not been read
+ * recently is evicted to make room for a new one. Entries of past dates are dropped on the first read after
+ * the date rolls over.
+ * </p>
+ */
+@Slf4j
+@Component
+public class AvailabilityCache {
+
+    private final AvailabilityCalculator availabilityCalculator;
+    private final AvailabilityVersionTracker availabilityVersionTracker;
+    private final AvailabilityCacheProperties availabilityCacheProperties;
+    private final ReservationProperties reservationProperties;
+    private final Clock clock;
+
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Key> evictionOrder = new ConcurrentLinkedQueue<>();
+    private final SingleFlight<Key, Entry> loads = new SingleFlight<>();
+    private final ThreadPoolExecutor refreshExecutor;
+    private volatile LocalDate today;
+
+    public AvailabilityCache(AvailabilityCalculator availabilityCalculator,
+                             AvailabilityVersionTracker availabilityVersionTracker,
+                             AvailabilityCacheProperties availabilityCacheProperties,
+                             ReservationProperties reservationProperties,
+                             Clock clock) {
+        this.availabilityCalculator = availabilityCalculator;
+        this.availabilityVersionTracker = availabilityVersionTracker;
+        this.availabilityCacheProperties = availabilityCacheProperties;
+        this.reservationProperties = reservationProperties;
+        this.clock = clock;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("availability-refresh-");
+        threadFactory.setDaemon(true);
+        this.refreshExecutor = new ThreadPoolExecutor(
+                availabilityCacheProperties.getRefreshThreads(), availabilityCacheProperties.getRefreshThreads(),
+                0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(availabilityCacheProperties.getRefreshQueueCapacity()),
+                threadFactory);
+    }
+
+    /**
+     * Returns the available slots of a date of a garage for a total operation duration.
+     *
+     * @param garageId          The ID of the garage.
+     * @param date              The date of the slots.
+     * @param durationInMinutes The total duration of the operations, in minutes.
+     * @param allowStale        Whether a stale entry within the maximum staleness may be returned while it is
+     *                          refreshed in the background.
+     * @return The slots that can still be booked together with the version they were calculated at.
+     */
+    public AvailabilitySnapshot get(long garageId, LocalDate date, int durationInMinutes, boolean allowStale) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        purgePastDates(now.toLocalDate());
+
+        Key key = new Key(garageId, date, durationInMinutes);
+        AvailabilitySnapshot snapshot = lookup(key, allowStale);
+        return withinMinAdvance(date, snapshot != null ? snapshot : load(key).snapshot, now);
+    }
+
+    /**
+     * Returns the available slots of a date of a garage for several total operation durations.
+     * <p>
+     * Entries that have to be calculated on the calling thread are all derived from a single load of the
+     * date's schedule, shared with concurrent callers missing any of them.
+     * </p>
+     *
+     * @param garageId           The ID of the garage.
+     * @param date               The date of the slots.
+     * @param durationsInMinutes The total durations of the operations, in minutes.
+     * @param allowStale         Whether stale entries within the maximum staleness may be returned while they
+     *                           are refreshed in the background.
+     * @return The slots that can still be booked together with the version they were calculated at, keyed by duration.
+     */
+    public Map<Integer, AvailabilitySnapshot> getAll(long garageId, LocalDate date, Set<Integer> durationsInMinutes,
+                                                     boolean allowStale) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        purgePastDates(now.toLocalDate());
+
+        Map<Integer, AvailabilitySnapshot> snapshots = new HashMap<>();
+        Set<Integer> missingDurations = new HashSet<>();
+        for (int durationInMinutes : durationsInMinutes) {
+            AvailabilitySnapshot snapshot = lookup(new Key(garageId, date, durationInMinutes), allowStale);
+            if (snapshot != null) {
+                snapshots.put(durationInMinutes, snapshot);
+            } else {
+                missingDurations.add(durationInMinutes);
+            }
+        }
+
+        if (!missingDurations.isEmpty()) {
+            // Concurrent callers missing any of the same entries share their calculation
+            Set<Key> missingKeys = new HashSet<>();
+            missingDurations.forEach(durationInMinutes -> missingKeys.add(new Key(garageId, date, durationInMinutes)));
+            loads.executeAll(missingKeys, keys -> loadAll(garageId, date, keys))
+                    .forEach((key, entry) -> snapshots.put(key.durationInMinutes, entry.snapshot));
+        }
+
+        snapshots.replaceAll((durationInMinutes, snapshot) -> withinMinAdvance(date, snapshot, now));
+        return snapshots;
+    }
+
+    /**
+     * Drops the slots of a snapshot that start before now plus the minimum advance time.
+     */
+    private AvailabilitySnapshot withinMinAdvance(LocalDate date, AvailabilitySnapshot snapshot, LocalDateTime now) {
+        LocalDateTime earliestStart = now.plusMinutes(reservationProperties.getMinAdvanceMinutes());
+        if (earliestStart.toLocalDate().isBefore(date)) {
+            return snapshot;
+        }
+        if (earliestStart.toLocalDate().isAfter(date)) {
+            return new AvailabilitySnapshot(snapshot.getVersion(), List.of());
+        }
+        return snapshot.startingFrom(earliestStart.toLocalTime());
+    }
+
+    /**
+     * Marks the entries of the changed garage dates as stale and recalculates them in the background.
+     *
+     * @param event The availability change.
+     */
+    @EventListener
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        long now = System.nanoTime();
+        purgePastDates(LocalDate.now(clock));
+        entries.forEach((key, entry) -> {
+            if (event.affects(key.garageId, key.date)) {
+                entry.markStale(now);
+                refreshAsync(key, entry);
+            }
+        });
+    }
+
+    /**
+     * Drops the entries of dates before today once per date rollover.
+     */
+    private void purgePastDates(LocalDate currentDate) {
+        if (currentDate.equals(today)) {
+            return;
+        }
+
+        today = currentDate;
+        entries.keySet().removeIf(key -> key.date.isBefore(currentDate));
+        evictionOrder.removeIf(key -> key.date.isBefore(currentDate));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Looks up a cached entry, refreshing it in the background if it is stale but still servable.
+     *
+     * @return The cached slots, or {@code null} if they have to be calculated on the calling thread.
+     */
+    private AvailabilitySnapshot lookup(Key key, boolean allowStale) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        long now = System.nanoTime();
+        long staleSinceNanos;
+        if (entry.snapshot.getVersion() == availabilityVersionTracker.currentVersion(key.garageId, key.date)) {
+            staleSinceNanos = entry.computedAtNanos + availabilityCacheProperties.getTimeToLive().toNanos();
+        } else {
+            // The change event may not have marked the entry yet
+            staleSinceNanos = entry.staleSinceNanos - now < 0 ? entry.staleSinceNanos : now;
+        }
+        entry.read = true;
+        if (now - staleSinceNanos < 0) {
+            return entry.snapshot;
+        }
+
+        if (allowStale && now - staleSinceNanos <= availabilityCacheProperties.getMaxStaleness().toNanos()) {
+            refreshAsync(key, entry);
+            return entry.snapshot;
+        }
+
+        return null;
+    }
+
+    private void refreshAsync(Key key, Entry entry) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(key);
+                } catch (RuntimeException e) {
+                    log.warn("Refreshing available slots of garage {} on {} for {} minutes failed: {}",
+                            key.garageId, key.date, key.durationInMinutes, e.getMessage());
+                } finally {
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The executor is saturated, a later read retries or calculates on its own thread
+            entry.refreshing.set(false);
+        }
+    }
+
+    private Entry load(Key key) {
+        return loads.execute(key, () -> {
+            // Read the version before calculating, so an entry is never newer than the version it claims
+            long version = availabilityVersionTracker.currentVersion(key.garageId, key.date);
+            Entry entry = new Entry(new AvailabilitySnapshot(version, availabilityCalculator.calculateAvailableSlots(
+                    key.garageId, key.date, key.durationInMinutes)), System.nanoTime());
+            store(key, entry);
+            return entry;
+        });
+    }
+
+    private Map<Key, Entry> loadAll(long garageId, LocalDate date, Set<Key> keys) {
+        Set<Integer> durationsInMinutes = new HashSet<>();
+        keys.forEach(key -> durationsInMinutes.add(key.durationInMinutes));
+
+        long version = availabilityVersionTracker.currentVersion(garageId, date);
+        Map<Integer, List<AvailableSlot>> slotsByDuration =
+                availabilityCalculator.calculateAvailableSlots(garageId, date, durationsInMinutes);
+        long computedAtNanos = System.nanoTime();
+
+        Map<Key, Entry> loaded = new HashMap<>();
+        slotsByDuration.forEach((durationInMinutes, slots) -> {
+            Key key = new Key(garageId, date, durationInMinutes);
+            Entry entry = new Entry(new AvailabilitySnapshot(version, slots), computedAtNanos);
+            store(key, entry);
+            loaded.put(key, entry);
+        });
+        return loaded;
+    }
+
+    private void store(Key key, Entry entry) {
+        if (!entries.containsKey(key) && entries.size() >= availabilityCacheProperties.getMaxEntries()) {
+            evictNotRecentlyRead();
+        }
+        if (entries.putIfAbsent(key, entry) == null) {
+            evictionOrder.add(key);
+            return;
+        }
+        entries.computeIfPresent(key, (existingKey, existing) -> {
+            if (existing.snapshot.getVersion() > entry.snapshot.getVersion()) {
+                return existing;
+            }
+            // A refresh does not count as a read
+            entry.read = existing.read;
+            return entry;
+        });
+    }
+
+    /**
+     * Evicts an entry that has not been read recently, approximating least recently read in amortized constant
+     * time.
+     * <p>
+     * Keys are visited in the order they were stored, like the hand of a clock. An entry read since its last
+     * visit is given a second chance and moved to the back, and the first one that was not read is evicted.
+     * Concurrent stores may briefly overshoot the maximum number of entries by the number of storing threads.
+     * </p>
+     */
+    private void evictNotRecentlyRead() {
+        Key key;
+        while ((key = evictionOrder.poll()) != null) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                continue;
+            }
+            if (entry.read) {
+                entry.read = false;
+                evictionOrder.add(key);
+            } else if (entries.remove(key, entry)) {
+                return;
+            } else if (entries.containsKey(key)) {
+                // Replaced by a refresh meanwhile, so the key stays in the rotation
+                evictionOrder.add(key);
+            }
+        }
+    }
+
+    @Value
+    private static class Key {
+
+        long garageId;
+        LocalDate date;
+        int durationInMinutes;
+    }
+
+    /**
+     * Cached slots, the time they were calculated, the time they were first known to be stale and whether
+     * they were read since eviction last visited them.
+     */
+    private static class Entry {
+
+        private final AvailabilitySnapshot snapshot;
+        private final long computedAtNanos;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile long staleSinceNanos;
+        private volatile boolean read;
+
+        Entry(AvailabilitySnapshot snapshot, long computedAtNanos) {
+            this.snapshot = snapshot;
+            this.computedAtNanos = computedAtNanos;
+            this.staleSinceNanos = computedAtNanos + Long.MAX_VALUE / 2;
+        }
+
+        void markStale(long now) {
+            if (now - staleSinceNanos < 0) {
+                staleSinceNanos = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.model.AvailableSlot;
+import com.bloomreach.garage.reservation.api.schedule.DaySchedule;
+import com.bloomreach.garage.reservation.api.schedule.MechanicSchedule;
+import com.bloomreach.garage.reservation.config.SlotCalculationProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Calculates the available time slots of a date of a garage for a total operation duration.
+ * <p>
+ * Slot feasibility only depends on the total duration of the requested operations, so results are cached
+ * per garage, date and duration by the {@link AvailabilityCache}. Any operation list with the same total duration
+ * shares the same cache entry.
+ * </p>
+ * <p>
+ * The slots of every mechanic are calculated independently. From {@code slot-calculation.parallel-threshold}
+ * mechanics on, they are calculated in parallel on a dedicated fork-join pool, and every mechanic adds its slots
+ * to a concurrent set without locking the others. Below the threshold, and with a parallelism of one, the
+ * fan-out costs more than it saves and the mechanics are calculated on the calling thread.
+ * </p>
+ */
+@Component
+public class AvailabilityCalculator {
+
+    private final DayScheduleLoader dayScheduleLoader;
+    private final SlotCalculator slotCalculator;
+    private final SlotCalculationProperties slotCalculationProperties;
+    private final ForkJoinPool slotCalculationPool;
+
+    public AvailabilityCalculator(DayScheduleLoader dayScheduleLoader, SlotCalculator slotCalculator,
+                                  SlotCalculationProperties slotCalculationProperties) {
+        this.dayScheduleLoader = dayScheduleLoader;
+        this.slotCalculator = slotCalculator;
+        this.slotCalculationProperties = slotCalculationProperties;
+
+        int parallelism = slotCalculationProperties.getParallelism() > 0
+                ? slotCalculationProperties.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.slotCalculationPool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Calculates the time slots of the specified date in which any mechanic of a garage can perform operations
+     * of the given total duration.
+     *
+     * @param garageId          The ID of the garage.
+     * @param date              The date for which to calculate available slots.
+     * @param durationInMinutes The total duration of the operations, in minutes.
+     * @return A list of available time slots sorted by start time.
+     */
+    public List<AvailableSlot> calculateAvailableSlots(long garageId, LocalDate date, int durationInMinutes) {
+        return calculateAvailableSlots(dayScheduleLoader.load(garageId, date), durationInMinutes);
+    }
+
+    /**
+     * Calculates the available time slots of the specified date of a garage for several total operation
+     * durations, loading the schedule of the date only once.
+     *
+     * @param garageId           The ID of the garage.
+     * @param date               The date for which to calculate available slots.
+     * @param durationsInMinutes The total durations of the operations, in minutes.
+     * @return The available time slots sorted by start time, keyed by duration.
+     */
+    public Map<Integer, List<AvailableSlot>> calculateAvailableSlots(long garageId, LocalDate date,
+                                                                     Collection<Integer> durationsInMinutes) {
+        DaySchedule daySchedule = dayScheduleLoader.load(garageId, date);
+        Map<Integer, List<AvailableSlot>> availableSlotsByDuration = new HashMap<>();
+        for (int durationInMinutes : durationsInMinutes) {
+            availableSlotsByDuration.put(durationInMinutes, calculateAvailableSlots(daySchedule, durationInMinutes));
+        }
+
+        return availableSlotsByDuration;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        slotCalculationPool.shutdownNow();
+    }
+
+    /**
+     * Calculates the available time slots of a loaded day schedule, package-private for the slot calculation
+     * benchmark.
+     */
+    List<AvailableSlot> calculateAvailableSlots(DaySchedule daySchedule, int durationInMinutes) {
+        List<MechanicSchedule> mechanics = daySchedule.getMechanics();
+        Set<AvailableSlot> availableSlotsSet;
+
+        if (slotCalculationPool.getParallelism() > 1
+                && mechanics.size() >= slotCalculationProperties.getParallelThreshold()) {
+            Set<AvailableSlot> concurrentSlotsSet = ConcurrentHashMap.newKeySet();
+            // A parallel stream started within a fork-join pool runs in that pool instead of the common pool
+            slotCalculationPool.submit(() -> mechanics.parallelStream()
+                    .forEach(mechanic -> concurrentSlotsSet.addAll(slotCalculator.calculateSlots(mechanic, durationInMinutes))))
+                    .join();
+            availableSlotsSet = concurrentSlotsSet;
+        } else {
+            availableSlotsSet = new HashSet<>();
+            for (MechanicSchedule mechanic : mechanics) {
+                availableSlotsSet.addAll(slotCalculator.calculateSlots(mechanic, durationInMinutes));
+            }
+        }
+
+        return availableSlotsSet.stream()
+                .sorted(Comparator.comparing(AvailableSlot::getStartTime))
+                .toList();
+    }
+}
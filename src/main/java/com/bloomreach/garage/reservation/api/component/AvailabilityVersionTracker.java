@@ -0,0 +1,190 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.event.AvailabilityChangedEvent;
+import com.bloomreach.garage.reservation.api.schedule.GarageDate;
+import com.bloomreach.garage.reservation.config.ReservationProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks a monotonically increasing availability version per date of every garage.
+ * <p>
+ * The version of a garage's date is bumped whenever a committed change can affect its available slots
+ * (a booking or a hold). Closures apply to every garage, so they bump a date of all garages at once, and
+ * changes such as working hours bump every date. The version is exposed to clients as an {@code ETag},
+ * so that unchanged availability can be answered with {@code 304 Not Modified} without computing slots.
+ * Every bump is also published as an {@link AvailabilityChangedEvent}, and changes committed on other
+ * instances are applied as they arrive through the invalidation bus.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Component
+public class AvailabilityVersionTracker {
+
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    private final ReservationProperties reservationProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+
+    // Versions of all dates are drawn from one sequence, so a version is never reused for a date
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong globalVersion = new AtomicLong();
+    private final ConcurrentMap<LocalDate, Long> dateVersions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<GarageDate, Long> garageDateVersions = new ConcurrentHashMap<>();
+
+    // Distinguishes tags issued by different application runs, as versions restart from zero
+    private final String instanceId = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    /**
+     * Returns the current availability version of the specified date of a garage.
+     *
+     * @param garageId The ID of the garage.
+     * @param date     The date to get the version for.
+     * @return The current version of the date.
+     */
+    public long currentVersion(long garageId, LocalDate date) {
+        return Math.max(Math.max(globalVersion.get(), dateVersions.getOrDefault(date, 0L)),
+                garageDateVersions.getOrDefault(new GarageDate(garageId, date), 0L));
+    }
+
+    /**
+     * Bumps the version of the specified date of a garage once the current transaction commits,
+     * or immediately if no transaction is active.
+     *
+     * @param garageId The ID of the garage.
+     * @param date     The date whose availability has changed.
+     */
+    public void bump(long garageId, LocalDate date) {
+        afterCommit(() -> {
+            long version = advance(garageId, date, 0);
+            eventPublisher.publishEvent(AvailabilityChangedEvent.forDate(garageId, date, version));
+        });
+    }
+
+    /**
+     * Bumps the version of the specified date of every garage once the current transaction commits,
+     * or immediately if no transaction is active.
+     *
+     * @param date The date whose availability has changed.
+     */
+    public void bumpAllGarages(LocalDate date) {
+        afterCommit(() -> {
+            long version = advance(null, date, 0);
+            eventPublisher.publishEvent(AvailabilityChangedEvent.forDateOfAllGarages(date, version));
+        });
+    }
+
+    /**
+     * Bumps the version of every date once the current transaction commits, or immediately
+     * if no transaction is active. Used for changes that cannot be attributed to a single date,
+     * such as working hours that apply to a day of the week.
+     */
+    public void bumpAll() {
+        afterCommit(() -> {
+            long version = advance(null, null, 0);
+            eventPublisher.publishEvent(AvailabilityChangedEvent.forAllDates(version));
+        });
+    }
+
+    /**
+     * Applies a change committed on another instance.
+     * <p>
+     * The sequence acts as a Lamport clock: it first catches up with the version the change had on its instance,
+     * so every version issued here afterwards is greater than the versions of all changes received so far.
+     * The change is bumped to a new local version, so slots calculated before it arrived become stale even if
+     * the other instance's clock is behind this one.
+     * </p>
+     *
+     * @param garageId      The ID of the garage, or {@code null} if every garage is affected.
+     * @param date          The date, or {@code null} if every date is affected.
+     * @param remoteVersion The version of the change on the instance that made it.
+     */
+    public void applyRemote(Long garageId, LocalDate date, long remoteVersion) {
+        long version = advance(garageId, date, remoteVersion);
+        eventPublisher.publishEvent(AvailabilityChangedEvent.remote(garageId, date, version));
+    }
+
+    private long advance(Long garageId, LocalDate date, long observedVersion) {
+        long version = sequence.updateAndGet(current -> Math.max(current, observedVersion) + 1);
+        if (date == null) {
+            globalVersion.accumulateAndGet(version, Math::max);
+        } else if (garageId == null) {
+            dateVersions.merge(date, version, Math::max);
+            dateVersions.keySet().removeIf(trackedDate -> trackedDate.isBefore(LocalDate.now(clock)));
+        } else {
+            garageDateVersions.merge(new GarageDate(garageId, date), version, Math::max);
+            garageDateVersions.keySet().removeIf(garageDate -> garageDate.getDate().isBefore(LocalDate.now(clock)));
+        }
+        return version;
+    }
+
+    /**
+     * Builds a strong entity tag describing the availability of the specified date of a garage.
+     * <p>
+     * Slots for today also depend on the minimum advance time, so today's tag additionally changes
+     * every minute in which the earliest bookable start time moves. The same slots are served in several
+     * representations, which must not share a strong tag, so the representation is part of the tag.
+     * </p>
+     *
+     * @param garageId       The ID of the garage.
+     * @param date           The date to build the tag for.
+     * @param representation The name of the representation the tag describes, e.g. {@code json}.
+     * @return The quoted entity tag.
+     */
+    public String eTag(long garageId, LocalDate date, String representation) {
+        return eTag(date, currentVersion(garageId, date), representation);
+    }
+
+    /**
+     * Builds a strong entity tag describing the availability of the specified date at a given version.
+     *
+     * @param date           The date to build the tag for.
+     * @param version        The availability version of the slots the tag describes.
+     * @param representation The name of the representation the tag describes, e.g. {@code json}.
+     * @return The quoted entity tag.
+     */
+    public String eTag(LocalDate date, long version, String representation) {
+        StringBuilder tag = new StringBuilder()
+                .append(instanceId)
+                .append('-')
+                .append(version)
+                .append('-')
+                .append(representation);
+
+        LocalDateTime earliestStart = LocalDateTime.now(clock).plusMinutes(reservationProperties.getMinAdvanceMinutes());
+        if (!earliestStart.toLocalDate().isBefore(date)) {
+            long earliestStartMinute = earliestStart.toLocalDate().isAfter(date)
+                    ? MINUTES_PER_DAY
+                    : (earliestStart.toLocalTime().toNanoOfDay() + NANOS_PER_MINUTE - 1) / NANOS_PER_MINUTE;
+            tag.append('-').append(earliestStartMinute);
+        }
+
+        return "\"" + tag + "\"";
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
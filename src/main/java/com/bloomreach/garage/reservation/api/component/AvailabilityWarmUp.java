@@ -0,0 +1,181 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.entity.Customer;
+import com.bloomreach.garage.reservation.api.entity.Garage;
+import com.bloomreach.garage.reservation.api.entity.GarageOperation;
+import com.bloomreach.garage.reservation.api.model.AvailableSlot;
+import com.bloomreach.garage.reservation.api.model.BookingRequest;
+import com.bloomreach.garage.reservation.api.repository.CustomerRepository;
+import com.bloomreach.garage.reservation.api.repository.GarageOperationRepository;
+import com.bloomreach.garage.reservation.api.repository.GarageRepository;
+import com.bloomreach.garage.reservation.api.service.AvailabilityService;
+import com.bloomreach.garage.reservation.api.service.BookingService;
+import com.bloomreach.garage.reservation.config.ReservationProperties;
+import com.bloomreach.garage.reservation.config.WarmUpProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Warms up availability and the booking path at startup.
+ * <p>
+ * Application runners complete before the application reports that it accepts traffic, so the readiness
+ * probe only turns green once the warm-up has finished. The warm-up first books an appointment in a
+ * transaction that is rolled back, which loads the booking classes, JIT-compiles the hot paths and fills
+ * the database buffers, and then precomputes the available slots of every bookable date for every
+ * operation duration in every garage served by this node. Its duration is logged and recorded as the {@code garage.warmup} timer.
+ * </p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(prefix = "garage.reservation.warm-up", name = "enabled", havingValue = "true")
+public class AvailabilityWarmUp implements ApplicationRunner {
+
+    private final AvailabilityService availabilityService;
+    private final BookingService bookingService;
+    private final CustomerRepository customerRepository;
+    private final GarageOperationRepository garageOperationRepository;
+    private final GarageRepository garageRepository;
+    private final GarageShardRouter garageShardRouter;
+    private final PlatformTransactionManager transactionManager;
+    private final ReservationProperties reservationProperties;
+    private final WarmUpProperties warmUpProperties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long startNanos = System.nanoTime();
+        List<GarageOperation> operations = garageOperationRepository.findAll();
+        List<Long> garageIds = garageRepository.findAll().stream()
+                .map(Garage::getId)
+                .filter(garageShardRouter::isLocal)
+                .toList();
+
+        // Versions are only bumped on commit, so the rolled back booking leaves the precomputed slots current
+        if (warmUpProperties.isDryRunBooking() && !garageIds.isEmpty()) {
+            dryRunBooking(garageIds.get(0), operations);
+        }
+
+        int precomputedEntries = 0;
+        for (long garageId : garageIds) {
+            precomputedEntries += precomputeAvailability(garageId, operations);
+        }
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - startNanos);
+        Timer.builder("garage.warmup")
+                .description("Time spent warming up availability and the booking path at startup")
+                .register(meterRegistry)
+                .record(duration);
+        log.info("Warm-up finished in {} ms, precomputed {} availability entries", duration.toMillis(), precomputedEntries);
+    }
+
+    /**
+     * Books the first available slot of the shortest operation in a garage and rolls the booking back.
+     *
+     * @param garageId   The ID of the garage to book in.
+     * @param operations All garage operations.
+     */
+    private void dryRunBooking(long garageId, List<GarageOperation> operations) {
+        List<Customer> customers = customerRepository.findAll(PageRequest.of(0, 1)).getContent();
+        GarageOperation operation = operations.stream()
+                .min(Comparator.comparing(GarageOperation::getDurationInMinutes))
+                .orElse(null);
+        if (customers.isEmpty() || operation == null) {
+            log.info("Skipping dry-run booking, no customer or operation exists");
+            return;
+        }
+
+        BookingRequest request;
+        try {
+            request = findBookableRequest(garageId, customers.get(0), operation);
+        } catch (RuntimeException e) {
+            log.warn("Skipping dry-run booking, finding a slot failed: {}", e.getMessage());
+            return;
+        }
+        if (request == null) {
+            log.info("Skipping dry-run booking, no slot is available");
+            return;
+        }
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                bookingService.bookAppointment(request);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Dry-run booking failed: {}", e.getMessage());
+        }
+    }
+
+    private BookingRequest findBookableRequest(long garageId, Customer customer, GarageOperation operation) {
+        LocalDate today = LocalDate.now(clock);
+        List<Long> operationIds = List.of(operation.getId());
+
+        // Start tomorrow, as slots of today may already be too close to book
+        for (int day = 1; day <= reservationProperties.getMaxAdvanceDays(); day++) {
+            LocalDate date = today.plusDays(day);
+            List<AvailableSlot> slots = availabilityService.findAvailableSlots(garageId, date, operationIds);
+            if (!slots.isEmpty()) {
+                BookingRequest request = new BookingRequest();
+                request.setGarageId(garageId);
+                request.setCustomerId(customer.getId());
+                request.setOperationIds(operationIds);
+                request.setDate(date);
+                request.setStartTime(slots.get(0).getStartTime());
+                request.setEndTime(slots.get(0).getEndTime());
+                return request;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Calculates the available slots of every bookable date of a garage for the duration of every operation.
+     *
+     * @param garageId   The ID of the garage.
+     * @param operations All garage operations.
+     * @return The number of calculated availability entries.
+     */
+    private int precomputeAvailability(long garageId, List<GarageOperation> operations) {
+        // Operations with the same duration share cache entries, so one of each is enough
+        Collection<GarageOperation> operationsByDuration = operations.stream()
+                .collect(Collectors.toMap(GarageOperation::getDurationInMinutes, Function.identity(), (first, second) -> first))
+                .values();
+
+        LocalDate today = LocalDate.now(clock);
+        int precomputedEntries = 0;
+        for (int day = 0; day <= reservationProperties.getMaxAdvanceDays(); day++) {
+            for (GarageOperation operation : operationsByDuration) {
+                try {
+                    availabilityService.findAvailableSlots(garageId, today.plusDays(day), List.of(operation.getId()));
+                    precomputedEntries++;
+                } catch (RuntimeException e) {
+                    log.warn("Precomputing availability of garage {} on {} failed: {}",
+                            garageId, today.plusDays(day), e.getMessage());
+                }
+            }
+        }
+
+        return precomputedEntries;
+    }
+}
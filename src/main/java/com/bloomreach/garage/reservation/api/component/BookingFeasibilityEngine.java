@@ -0,0 +1,159 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.entity.Employee;
+import com.bloomreach.garage.reservation.api.entity.GarageBox;
+import com.bloomreach.garage.reservation.api.entity.GarageOperation;
+import com.bloomreach.garage.reservation.api.error.ErrorMessage;
+import com.bloomreach.garage.reservation.api.error.ProcessingError;
+import com.bloomreach.garage.reservation.api.error.ValidationError;
+import com.bloomreach.garage.reservation.api.recording.MechanicSearchEvent;
+import com.bloomreach.garage.reservation.api.schedule.BookingResources;
+import com.bloomreach.garage.reservation.api.schedule.MechanicSchedule;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Checks whether an appointment can be booked and chooses the garage box and mechanics for it.
+ * <p>
+ * The working hours and bookings of all mechanics of the garage's date are loaded once with the
+ * {@link DayScheduleLoader}, and every operation of the appointment is checked against them in memory, so a check
+ * takes the same three queries however many mechanics the garage has: the working hours, the booked operations and
+ * the garage box. A mechanic has to work during the whole operation and be free during it. Operations go to a single
+ * mechanic who is free for the whole appointment where possible, and to the first free mechanic of each operation
+ * otherwise.
+ * </p>
+ * <p>
+ * The check reads committed bookings only. A concurrent booking of the chosen resources is detected when the
+ * reservation cells are claimed.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Component
+public class BookingFeasibilityEngine {
+
+    private final DayScheduleLoader dayScheduleLoader;
+    private final GarageBoxAllocator garageBoxAllocator;
+
+    /**
+     * Chooses the garage box and the mechanics of each operation of an appointment.
+     *
+     * @param garageId            The ID of the garage.
+     * @param date                The date of the appointment.
+     * @param startTime           The start time of the appointment.
+     * @param endTime             The end time of the appointment.
+     * @param operations          The operations of the appointment, performed one after the other from the start time.
+     * @param excludedBoxIds      The IDs of garage boxes that must not be chosen, e.g. because they are held.
+     * @param excludedMechanicIds The IDs of mechanics that must not be chosen, e.g. because they are held.
+     * @return The chosen garage box and one mechanic per operation.
+     * @throws ValidationError if there are no operations.
+     * @throws ProcessingError if an operation has no available mechanic or no garage box is available.
+     */
+    public BookingResources findBookingResources(long garageId, LocalDate date, LocalTime startTime, LocalTime endTime,
+                                                 List<GarageOperation> operations, Set<Long> excludedBoxIds,
+                                                 Set<Long> excludedMechanicIds) {
+        return findResources(garageId, date, startTime, endTime, operations, excludedBoxIds, excludedMechanicIds, true);
+    }
+
+    /**
+     * Chooses the garage box and a single mechanic free for all operations of an appointment, as a hold sets aside
+     * one mechanic only.
+     *
+     * @param garageId            The ID of the garage.
+     * @param date                The date of the appointment.
+     * @param startTime           The start time of the appointment.
+     * @param endTime             The end time of the appointment.
+     * @param operations          The operations of the appointment, performed one after the other from the start time.
+     * @param excludedBoxIds      The IDs of garage boxes that must not be chosen.
+     * @param excludedMechanicIds The IDs of mechanics that must not be chosen.
+     * @return The chosen garage box and the chosen mechanic for every operation.
+     * @throws ValidationError if there are no operations.
+     * @throws ProcessingError if no mechanic is available for all operations or no garage box is available.
+     */
+    public BookingResources findHoldResources(long garageId, LocalDate date, LocalTime startTime, LocalTime endTime,
+                                              List<GarageOperation> operations, Set<Long> excludedBoxIds,
+                                              Set<Long> excludedMechanicIds) {
+        return findResources(garageId, date, startTime, endTime, operations, excludedBoxIds, excludedMechanicIds, false);
+    }
+
+    private BookingResources findResources(long garageId, LocalDate date, LocalTime startTime, LocalTime endTime,
+                                           List<GarageOperation> operations, Set<Long> excludedBoxIds,
+                                           Set<Long> excludedMechanicIds, boolean splitOperations) {
+        if (operations.isEmpty()) {
+            throw new ValidationError(ErrorMessage.OPERATION_ID_IS_REQUIRED);
+        }
+
+        MechanicSearchEvent event = new MechanicSearchEvent();
+        event.begin();
+
+        // The operations follow each other from the start of the appointment
+        List<LocalTime> operationStartTimes = new ArrayList<>(operations.size() + 1);
+        LocalTime operationStartTime = startTime;
+        for (GarageOperation operation : operations) {
+            operationStartTimes.add(operationStartTime);
+            operationStartTime = operationStartTime.plusMinutes(operation.getDurationInMinutes());
+        }
+        LocalTime operationsEndTime = operationStartTime;
+
+        List<MechanicSchedule> candidates = dayScheduleLoader.load(garageId, date).getMechanics().stream()
+                .filter(mechanic -> !excludedMechanicIds.contains(mechanic.getEmployee().getId()))
+                .toList();
+
+        Optional<Employee> singleMechanic = findFreeMechanic(candidates, startTime, operationsEndTime);
+        if (event.shouldCommit()) {
+            event.garageId = garageId;
+            event.date = date.toString();
+            event.startTime = startTime.toString();
+            event.endTime = operationsEndTime.toString();
+            event.mechanicsScanned = candidates.size();
+            event.mechanicsAvailable = (int) candidates.stream()
+                    .filter(mechanic -> isFree(mechanic, startTime, operationsEndTime))
+                    .count();
+            event.commit();
+        }
+
+        List<Employee> mechanics;
+        if (singleMechanic.isPresent()) {
+            mechanics = Collections.nCopies(operations.size(), singleMechanic.get());
+        } else if (splitOperations) {
+            mechanics = new ArrayList<>(operations.size());
+            for (int index = 0; index < operations.size(); index++) {
+                LocalTime start = operationStartTimes.get(index);
+                LocalTime end = start.plusMinutes(operations.get(index).getDurationInMinutes());
+                mechanics.add(findFreeMechanic(candidates, start, end)
+                        .orElseThrow(() -> new ProcessingError(ErrorMessage.NO_AVAILABLE_MECHANICS_FOR_THIS_OPERATION)));
+            }
+        } else {
+            throw new ProcessingError(ErrorMessage.NO_AVAILABLE_MECHANICS_FOR_THIS_TIME_SLOT);
+        }
+
+        // The box is needed for the requested slot and for as long as the operations take
+        GarageBox garageBox = garageBoxAllocator.allocateGarageBox(garageId, date, startTime,
+                operationsEndTime.isAfter(endTime) ? operationsEndTime : endTime, excludedBoxIds);
+
+        return new BookingResources(garageBox, mechanics);
+    }
+
+    private static Optional<Employee> findFreeMechanic(List<MechanicSchedule> candidates, LocalTime start, LocalTime end) {
+        return candidates.stream()
+                .filter(mechanic -> isFree(mechanic, start, end))
+                .map(MechanicSchedule::getEmployee)
+                .findFirst();
+    }
+
+    /**
+     * Checks if a mechanic works during the whole time window and has no booking in it.
+     */
+    private static boolean isFree(MechanicSchedule mechanic, LocalTime start, LocalTime end) {
+        return !start.isBefore(mechanic.getStartTime())
+                && !end.isAfter(mechanic.getEndTime())
+                && mechanic.isFree(start, end);
+    }
+}
@@ -0,0 +1,84 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.event.AvailabilityChangedEvent;
+import com.bloomreach.garage.reservation.api.schedule.DaySchedule;
+import com.bloomreach.garage.reservation.api.schedule.GarageDate;
+import com.bloomreach.garage.reservation.api.schedule.MechanicSchedule;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps a capacity summary per date of every garage: the longest window in which any mechanic has no booking.
+ * <p>
+ * No slot of a date can be longer than its longest free window, so a search for the earliest slot can skip
+ * dates that are fully booked for the requested duration without calculating their slots. A summary is
+ * recalculated from the date's schedule once the availability version of the date has changed.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Component
+public class DayCapacityIndex {
+
+    private final DayScheduleLoader dayScheduleLoader;
+    private final AvailabilityVersionTracker availabilityVersionTracker;
+    private final Clock clock;
+
+    private final ConcurrentMap<GarageDate, DayCapacity> capacities = new ConcurrentHashMap<>();
+
+    /**
+     * Checks if operations of the given total duration may fit into the schedule of a date of a garage.
+     *
+     * @param garageId          The ID of the garage.
+     * @param date              The date to check.
+     * @param durationInMinutes The total duration of the operations, in minutes.
+     * @return False if no mechanic has a free window of the duration on the date, true if a slot may exist.
+     */
+    public boolean mayFit(long garageId, LocalDate date, int durationInMinutes) {
+        return summarize(new GarageDate(garageId, date)).getLongestFreeMinutes() >= durationInMinutes;
+    }
+
+    /**
+     * Drops the summaries of past dates.
+     *
+     * @param event The availability change.
+     */
+    @EventListener
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        LocalDate today = LocalDate.now(clock);
+        capacities.keySet().removeIf(garageDate -> garageDate.getDate().isBefore(today));
+    }
+
+    private DayCapacity summarize(GarageDate garageDate) {
+        // Read the version before loading, so a summary is never newer than the version it claims
+        long version = availabilityVersionTracker.currentVersion(garageDate.getGarageId(), garageDate.getDate());
+        DayCapacity capacity = capacities.get(garageDate);
+        if (capacity != null && capacity.getVersion() == version) {
+            return capacity;
+        }
+
+        DaySchedule daySchedule = dayScheduleLoader.load(garageDate.getGarageId(), garageDate.getDate());
+        long longestFreeMinutes = daySchedule.getMechanics().stream()
+                .mapToLong(MechanicSchedule::longestFreeMinutes)
+                .max()
+                .orElse(0);
+
+        DayCapacity summarized = new DayCapacity(version, longestFreeMinutes);
+        capacities.merge(garageDate, summarized, (existing, loaded) ->
+                existing.getVersion() > loaded.getVersion() ? existing : loaded);
+        return summarized;
+    }
+
+    @Value
+    private static class DayCapacity {
+
+        long version;
+        long longestFreeMinutes;
+    }
+}
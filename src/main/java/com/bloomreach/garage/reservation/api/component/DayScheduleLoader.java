@@ -0,0 +1,74 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.entity.EmployeeWorkingHours;
+import com.bloomreach.garage.reservation.api.repository.EmployeeWorkingHoursRepository;
+import com.bloomreach.garage.reservation.api.repository.GarageAppointmentOperationRepository;
+import com.bloomreach.garage.reservation.api.schedule.BookedInterval;
+import com.bloomreach.garage.reservation.api.schedule.DaySchedule;
+import com.bloomreach.garage.reservation.api.schedule.GarageDate;
+import com.bloomreach.garage.reservation.api.schedule.MechanicSchedule;
+import com.bloomreach.garage.reservation.api.support.SingleFlight;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Loads the schedule of all mechanics of a garage working on a date.
+ * <p>
+ * Concurrent loads of the same date of a garage, e.g. cache misses of several operation durations after a booking,
+ * share a single load. Mechanic time set aside by slot holds is treated like booked time, so held slots
+ * are not offered to other customers.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Component
+public class DayScheduleLoader {
+
+    private final EmployeeWorkingHoursRepository employeeWorkingHoursRepository;
+    private final GarageAppointmentOperationRepository garageAppointmentOperationRepository;
+    private final SlotHoldRegistry slotHoldRegistry;
+    private final SingleFlight<GarageDate, DaySchedule> loads = new SingleFlight<>();
+
+    /**
+     * Loads the working hours and booked operations of all mechanics of a garage on the specified date.
+     * <p>
+     * The schedule is loaded with at most two queries, regardless of the number of mechanics.
+     * </p>
+     *
+     * @param garageId The ID of the garage.
+     * @param date     The date to load the schedule for.
+     * @return The schedule of the mechanics working on the date.
+     */
+    public DaySchedule load(long garageId, LocalDate date) {
+        return loads.execute(new GarageDate(garageId, date), () -> loadSchedule(garageId, date));
+    }
+
+    private DaySchedule loadSchedule(long garageId, LocalDate date) {
+        List<EmployeeWorkingHours> workingHoursList = employeeWorkingHoursRepository
+                .findByEmployeeGarageIdAndDayOfWeek(garageId, date.getDayOfWeek());
+        if (workingHoursList.isEmpty()) {
+            return new DaySchedule(garageId, date, List.of());
+        }
+
+        // Group the bookings and holds of the date by mechanic
+        Map<Long, List<BookedInterval>> bookingsByEmployeeId = Stream.concat(
+                        garageAppointmentOperationRepository.findBookedIntervals(garageId, date).stream(),
+                        slotHoldRegistry.findHeldIntervals(garageId, date).stream())
+                .collect(Collectors.groupingBy(BookedInterval::getEmployeeId));
+
+        List<MechanicSchedule> mechanics = workingHoursList.stream()
+                .map(workingHours -> new MechanicSchedule(
+                        workingHours.getEmployee(),
+                        workingHours.getStartTime(),
+                        workingHours.getEndTime(),
+                        bookingsByEmployeeId.getOrDefault(workingHours.getEmployee().getId(), List.of())))
+                .toList();
+
+        return new DaySchedule(garageId, date, mechanics);
+    }
+}
@@ -3,6 +3,7 @@ package com.bloomreach.garage.reservation.api.component;
 import com.bloomreach.garage.reservation.api.entity.GarageBox;
 import com.bloomreach.garage.reservation.api.error.ErrorMessage;
 import com.bloomreach.garage.reservation.api.error.ProcessingError;
+import com.bloomreach.garage.reservation.api.recording.GarageBoxAllocationEvent;
 import com.bloomreach.garage.reservation.api.repository.GarageBoxRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -11,9 +12,11 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Optional;
+import java.util.Set;
 
 /**
- * Allocates an available garage box for an appointment.
+ * Allocates an available garage box of a garage for an appointment.
  */
 @RequiredArgsConstructor
 @Component
@@ -22,20 +25,55 @@ public class GarageBoxAllocator {
     private final GarageBoxRepository garageBoxRepository;
 
     /**
-     * Fetches an available garage box for the specified date and time slot.
+     * Fetches an available garage box of a garage for the specified date and time slot.
      *
+     * @param garageId  The ID of the garage.
      * @param date      The date of the appointment.
      * @param startTime The start time of the appointment.
      * @param endTime   The end time of the appointment.
      * @return The allocated garage box.
      * @throws ProcessingError if no garage boxes are available.
      */
-    public GarageBox allocateGarageBox(LocalDate date, LocalTime startTime, LocalTime endTime) {
+    public GarageBox allocateGarageBox(long garageId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        return allocateGarageBox(garageId, date, startTime, endTime, Set.of());
+    }
+
+    /**
+     * Fetches an available garage box of a garage for the specified date and time slot, skipping the given boxes.
+     *
+     * @param garageId       The ID of the garage.
+     * @param date           The date of the appointment.
+     * @param startTime      The start time of the appointment.
+     * @param endTime        The end time of the appointment.
+     * @param excludedBoxIds The IDs of garage boxes that must not be allocated, e.g. because a concurrent
+     *                       booking has just claimed them.
+     * @return The allocated garage box.
+     * @throws ProcessingError if no garage boxes are available.
+     */
+    public GarageBox allocateGarageBox(long garageId, LocalDate date, LocalTime startTime, LocalTime endTime,
+                                       Set<Long> excludedBoxIds) {
+        GarageBoxAllocationEvent event = new GarageBoxAllocationEvent();
+        event.begin();
+
+        // Fetch just enough candidates to have one left after skipping the excluded boxes
         Page<GarageBox> page = garageBoxRepository.findAvailableBox(
-                date, startTime, endTime, PageRequest.of(0, 1));
+                garageId, date, startTime, endTime, PageRequest.of(0, excludedBoxIds.size() + 1));
+
+        Optional<GarageBox> allocatedBox = page.getContent().stream()
+                .filter(garageBox -> !excludedBoxIds.contains(garageBox.getId()))
+                .findFirst();
+
+        if (event.shouldCommit()) {
+            event.garageId = garageId;
+            event.date = date.toString();
+            event.startTime = startTime.toString();
+            event.endTime = endTime.toString();
+            event.excludedBoxes = excludedBoxIds.size();
+            event.candidatesReturned = page.getNumberOfElements();
+            event.allocatedBoxId = allocatedBox.map(GarageBox::getId).orElse(0L);
+            event.commit();
+        }
 
-        return page.getContent().stream()
-                .findFirst()
-                .orElseThrow(() -> new ProcessingError(ErrorMessage.NO_AVAILABLE_GARAGE_BOXES));
+        return allocatedBox.orElseThrow(() -> new ProcessingError(ErrorMessage.NO_AVAILABLE_GARAGE_BOXES));
     }
 }
@@ -0,0 +1,102 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.error.ErrorMessage;
+import com.bloomreach.garage.reservation.api.error.GarageNotOwnedError;
+import com.bloomreach.garage.reservation.api.error.ValidationError;
+import com.bloomreach.garage.reservation.api.repository.GarageRepository;
+import com.bloomreach.garage.reservation.api.support.ConsistentHashRing;
+import com.bloomreach.garage.reservation.config.ShardingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides which node serves the schedule of a garage.
+ * <p>
+ * The schedule state of a garage (cached slots, capacity summaries, holds and feed subscriptions) lives only
+ * on the node owning the garage, so it never has to be kept consistent across nodes. Garages are assigned to
+ * the configured nodes by a {@link ConsistentHashRing}, so every node computes the same assignment on its own
+ * and a change of the node list only moves a share of the garages. Without a node list, this node serves every
+ * garage. The router keeps no static state, so several application contexts can act as different nodes in one JVM.
+ * </p>
+ * <p>
+ * Requests for garages that do not exist are rejected. Only the IDs of garages found in the database are
+ * remembered, so the check costs one primary key lookup per garage and arbitrary IDs cannot grow the router's
+ * memory.
+ * </p>
+ */
+@Slf4j
+@Component
+public class GarageShardRouter {
+
+    private final String nodeId;
+    private final long defaultGarageId;
+    private final ConsistentHashRing ring;
+    private final GarageRepository garageRepository;
+    private final Set<Long> knownGarageIds = ConcurrentHashMap.newKeySet();
+
+    public GarageShardRouter(ShardingProperties shardingProperties, GarageRepository garageRepository) {
+        this.garageRepository = garageRepository;
+        this.nodeId = shardingProperties.getNodeId();
+        this.defaultGarageId = shardingProperties.getDefaultGarageId();
+
+        List<String> nodes = CollectionUtils.isEmpty(shardingProperties.getNodes())
+                ? List.of(nodeId)
+                : shardingProperties.getNodes();
+        if (!nodes.contains(nodeId)) {
+            throw new IllegalStateException("Node " + nodeId + " is not one of the sharding nodes " + nodes);
+        }
+
+        this.ring = new ConsistentHashRing(nodes, shardingProperties.getVirtualNodes());
+        log.info("Node {} serves its share of the garages of nodes {}", nodeId, ring.nodes());
+    }
+
+    /**
+     * Resolves the garage of a request and checks that this node serves it.
+     *
+     * @param garageId The ID of the requested garage, or {@code null} for the default garage.
+     * @return The ID of the garage.
+     * @throws ValidationError     if the garage does not exist.
+     * @throws GarageNotOwnedError if another node serves the garage.
+     */
+    public long route(Long garageId) {
+        long resolvedGarageId = garageId != null ? garageId : defaultGarageId;
+        if (!knownGarageIds.contains(resolvedGarageId)) {
+            if (!garageRepository.existsById(resolvedGarageId)) {
+                throw new ValidationError(String.format(ErrorMessage.GARAGE_NOT_FOUND, resolvedGarageId));
+            }
+            knownGarageIds.add(resolvedGarageId);
+        }
+
+        String ownerNodeId = ownerOf(resolvedGarageId);
+        if (!ownerNodeId.equals(nodeId)) {
+            throw new GarageNotOwnedError(resolvedGarageId, ownerNodeId);
+        }
+
+        return resolvedGarageId;
+    }
+
+    /**
+     * Checks if this node serves a garage.
+     *
+     * @param garageId The ID of the garage.
+     * @return True if the schedule of the garage is kept on this node, false otherwise.
+     */
+    public boolean isLocal(long garageId) {
+        return ownerOf(garageId).equals(nodeId);
+    }
+
+    /**
+     * Finds the node serving a garage.
+     *
+     * @param garageId The ID of the garage.
+     * @return The ID of the node.
+     */
+    public String ownerOf(long garageId) {
+        return ring.nodeFor(Long.toString(garageId));
+    }
+}
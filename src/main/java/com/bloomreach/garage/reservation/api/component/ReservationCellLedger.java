@@ -0,0 +1,207 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.entity.GarageAppointment;
+import com.bloomreach.garage.reservation.api.error.ReservationConflictError;
+import com.bloomreach.garage.reservation.api.reservation.ReservationCell;
+import com.bloomreach.garage.reservation.api.reservation.ResourceType;
+import com.bloomreach.garage.reservation.api.schedule.BookedInterval;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Claims the reservation cells of appointments in the {@code reservation_cells} table.
+ * <p>
+ * The primary key of the table covers the resource, the date and the index of the cell, so the database
+ * arbitrates concurrent bookings of the same resource atomically: the booking that inserts a cell first wins,
+ * and every other booking fails on the unique index without waiting for locks. Cells are deleted together with
+ * their appointment.
+ * </p>
+ * <p>
+ * Cells are one minute long. Appointments and operations may start at any minute, e.g. an operation following a
+ * 45 minute one or a slot of a shift starting at 08:15, and with minute cells two bookings only share a cell if
+ * they actually overlap, not when one ends in the minute the other starts.
+ * </p>
+ * <p>
+ * Appointments changed through the REST repositories have their cells claimed again by {@link #reclaim(long)},
+ * in the transaction that saves the change.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Component
+public class ReservationCellLedger {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO reservation_cells (resource_type, resource_id, `date`, slot_index, appointment_id) VALUES ";
+
+    /**
+     * Length of a cell. A booking claims one row per minute of its garage box and per minute of every operation,
+     * e.g. 120 rows for an hour with one mechanic, all inserted with a single multi-row statement. Coarser cells
+     * would need fewer rows, but bookings sharing a cell without overlapping would then conflict.
+     */
+    private static final int CELL_MINUTES = 1;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Claims every cell occupied by the garage box and the mechanics of a saved appointment in a single statement.
+     *
+     * @param appointment The saved appointment.
+     * @throws ReservationConflictError if any of the cells has already been claimed.
+     */
+    public void claim(GarageAppointment appointment) {
+        List<BookedInterval> operations = appointment.getOperations() == null ? List.of()
+                : appointment.getOperations().stream()
+                .map(operation -> new BookedInterval(
+                        operation.getEmployee().getId(), operation.getStartTime(), operation.getEndTime()))
+                .toList();
+        claim(appointment.getId(), cellsOf(appointment.getGarageBox().getId(), appointment.getDate(),
+                appointment.getStartTime(), appointment.getEndTime(), operations));
+    }
+
+    /**
+     * Releases the cells of an appointment and claims the cells of its current state, as read from the database.
+     * <p>
+     * Must be called in the transaction that changed the appointment or its operations, after the change has
+     * been flushed, so a change moving the appointment onto claimed cells is rolled back.
+     * </p>
+     *
+     * @param appointmentId The ID of the appointment.
+     * @throws ReservationConflictError if any of the cells has been claimed by another appointment.
+     */
+    public void reclaim(long appointmentId) {
+        jdbcTemplate.update("DELETE FROM reservation_cells WHERE appointment_id = ?", appointmentId);
+
+        List<BookedInterval> operations = jdbcTemplate.query(
+                "SELECT employee_id, start_time, end_time FROM garage_appointment_operations WHERE appointment_id = ?",
+                (resultSet, rowNum) -> new BookedInterval(resultSet.getLong("employee_id"),
+                        resultSet.getTime("start_time").toLocalTime(), resultSet.getTime("end_time").toLocalTime()),
+                appointmentId);
+        Optional<List<ReservationCell>> cells = jdbcTemplate.query(
+                "SELECT garage_box_id, `date`, start_time, end_time FROM garage_appointments WHERE id = ?",
+                (resultSet, rowNum) -> cellsOf(resultSet.getLong("garage_box_id"),
+                        resultSet.getDate("date").toLocalDate(), resultSet.getTime("start_time").toLocalTime(),
+                        resultSet.getTime("end_time").toLocalTime(), operations),
+                appointmentId).stream().findFirst();
+
+        // A deleted appointment keeps no cells
+        cells.ifPresent(appointmentCells -> claim(appointmentId, appointmentCells));
+    }
+
+    private void claim(Long appointmentId, List<ReservationCell> cells) {
+        if (cells.isEmpty()) {
+            return;
+        }
+
+        List<Object> arguments = new ArrayList<>(cells.size() * 5);
+        for (ReservationCell cell : cells) {
+            arguments.add(cell.getResourceType().name());
+            arguments.add(cell.getResourceId());
+            arguments.add(Date.valueOf(cell.getDate()));
+            arguments.add(cell.getSlotIndex());
+            arguments.add(appointmentId);
+        }
+
+        try {
+            jdbcTemplate.update(INSERT_PREFIX + String.join(", ", Collections.nCopies(cells.size(), "(?, ?, ?, ?, ?)")),
+                    arguments.toArray());
+        } catch (DuplicateKeyException e) {
+            throw new ReservationConflictError(cells);
+        }
+    }
+
+    /**
+     * Finds the resources whose cells among the given ones are already claimed.
+     *
+     * @param cells The cells to check.
+     * @return The IDs of the resources with claimed cells, grouped by resource type.
+     */
+    public Map<ResourceType, Set<Long>> findClaimedResources(List<ReservationCell> cells) {
+        Map<ResourceType, Set<Long>> claimedResources = new EnumMap<>(ResourceType.class);
+        if (cells.isEmpty()) {
+            return claimedResources;
+        }
+
+        // All cells of an appointment share its date, one condition per resource covers its cells
+        Map<List<Object>, List<Integer>> slotIndexesByResource = cells.stream()
+                .collect(Collectors.groupingBy(
+                        cell -> List.of(cell.getResourceType().name(), cell.getResourceId()),
+                        LinkedHashMap::new,
+                        Collectors.mapping(ReservationCell::getSlotIndex, Collectors.toList())));
+
+        List<String> conditions = new ArrayList<>();
+        List<Object> arguments = new ArrayList<>();
+        arguments.add(Date.valueOf(cells.get(0).getDate()));
+        slotIndexesByResource.forEach((resource, slotIndexes) -> {
+            conditions.add("(resource_type = ? AND resource_id = ? AND slot_index IN ("
+                    + String.join(", ", Collections.nCopies(slotIndexes.size(), "?")) + "))");
+            arguments.addAll(resource);
+            arguments.addAll(slotIndexes);
+        });
+
+        jdbcTemplate.query("SELECT DISTINCT resource_type, resource_id FROM reservation_cells WHERE `date` = ? AND ("
+                        + String.join(" OR ", conditions) + ")",
+                resultSet -> {
+                    claimedResources.computeIfAbsent(ResourceType.valueOf(resultSet.getString("resource_type")),
+                            type -> new HashSet<>()).add(resultSet.getLong("resource_id"));
+                },
+                arguments.toArray());
+
+        return claimedResources;
+    }
+
+    /**
+     * Lists the cells occupied by an appointment: the cells of its garage box from its start until its end or the
+     * end of its last operation, whichever is later, as the box is allocated for that long, and the cells of each
+     * mechanic for the operations assigned to them.
+     *
+     * @return The distinct cells of the appointment.
+     */
+    private static List<ReservationCell> cellsOf(long garageBoxId, LocalDate date, LocalTime startTime,
+                                                 LocalTime endTime, List<BookedInterval> operations) {
+        LocalTime boxEndTime = endTime;
+        for (BookedInterval operation : operations) {
+            if (operation.getEndTime().isAfter(boxEndTime)) {
+                boxEndTime = operation.getEndTime();
+            }
+        }
+
+        // A cell shared by consecutive operations of the same mechanic is only claimed once
+        Set<ReservationCell> cells = new LinkedHashSet<>();
+        addCells(cells, ResourceType.GARAGE_BOX, garageBoxId, date, startTime, boxEndTime);
+        for (BookedInterval operation : operations) {
+            addCells(cells, ResourceType.MECHANIC, operation.getEmployeeId(), date,
+                    operation.getStartTime(), operation.getEndTime());
+        }
+
+        return new ArrayList<>(cells);
+    }
+
+    /**
+     * Adds every cell overlapping the given time window, including partially covered cells at either end.
+     */
+    private static void addCells(Set<ReservationCell> cells, ResourceType resourceType, Long resourceId, LocalDate date,
+                                 LocalTime startTime, LocalTime endTime) {
+        int firstIndex = startTime.toSecondOfDay() / 60 / CELL_MINUTES;
+        int endIndex = (endTime.toSecondOfDay() / 60 + CELL_MINUTES - 1) / CELL_MINUTES;
+        for (int slotIndex = firstIndex; slotIndex < endIndex; slotIndex++) {
+            cells.add(new ReservationCell(resourceType, resourceId, date, slotIndex));
+        }
+    }
+}
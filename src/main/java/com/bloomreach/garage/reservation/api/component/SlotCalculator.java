@@ -1,8 +1,8 @@
 package com.bloomreach.garage.reservation.api.component;
 
-import com.bloomreach.garage.reservation.api.entity.EmployeeWorkingHours;
-import com.bloomreach.garage.reservation.api.entity.GarageOperation;
 import com.bloomreach.garage.reservation.api.model.AvailableSlot;
+import com.bloomreach.garage.reservation.api.recording.SlotCalculationEvent;
+import com.bloomreach.garage.reservation.api.schedule.MechanicSchedule;
 import com.bloomreach.garage.reservation.config.ReservationProperties;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -12,8 +12,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Calculates available time slots for mechanics based on their working hours
- * and the durations of the garage operations to be performed.
+ * Calculates available time slots for mechanics based on their working hours, their existing bookings
+ * and the total duration of the garage operations to be performed.
+ * <p>
+ * The slots do not depend on the time of day, so they can be cached for today as long as for any other date.
+ * Slots starting within the minimum advance time are dropped when they are read from the {@link AvailabilityCache}.
+ * </p>
  */
 @RequiredArgsConstructor
 @Component
@@ -22,43 +26,49 @@ public class SlotCalculator {
     private final ReservationProperties reservationProperties;
 
     /**
-     * Calculates available time slots for a given mechanic's working hours and a list of operations.
+     * Calculates available time slots for a given mechanic's schedule and a total operation duration.
      *
-     * @param workingHours The working hours of the mechanic.
-     * @param operations   The list of operations to accommodate within the time slots.
-     * @return A list of available time slots for the mechanic.
+     * @param schedule          The working hours and bookings of the mechanic.
+     * @param durationInMinutes The total duration of the operations to accommodate within the time slots.
+     * @return A list of time slots in which the mechanic is free for the whole duration.
      */
-    public List<AvailableSlot> calculateSlots(EmployeeWorkingHours workingHours, List<GarageOperation> operations) {
+    public List<AvailableSlot> calculateSlots(MechanicSchedule schedule, int durationInMinutes) {
+        SlotCalculationEvent event = new SlotCalculationEvent();
+        event.begin();
+
         List<AvailableSlot> availableSlots = new ArrayList<>();
-        LocalTime start = workingHours.getStartTime();
-        LocalTime end = workingHours.getEndTime();
+        LocalTime start = schedule.getStartTime();
+        LocalTime end = schedule.getEndTime();
 
         // Minimum slot duration
         int minDuration = reservationProperties.getDefaultSlotDuration();
 
-        // Calculate minimum advance time
-        LocalTime nowPlusMinAdvance = LocalTime.now().plusMinutes(reservationProperties.getMinAdvanceMinutes());
-
         // Calculate possible time slots
+        int startTimesScanned = 0;
         while (start.plusMinutes(minDuration).isBefore(end)) {
-            boolean canAccommodateAll = true;
-            LocalTime slotEnd = start;
-
-            for (GarageOperation operation : operations) {
-                slotEnd = slotEnd.plusMinutes(operation.getDurationInMinutes());
-                if (slotEnd.isAfter(end)) {
-                    canAccommodateAll = false;
-                    break;
-                }
+            startTimesScanned++;
+            LocalTime slotEnd = start.plusMinutes(durationInMinutes);
+            if (slotEnd.isAfter(end)) {
+                // Later slots end even later
+                break;
             }
 
-            if (canAccommodateAll && !start.isBefore(nowPlusMinAdvance)) {
+            if (schedule.isFree(start, slotEnd)) {
                 availableSlots.add(new AvailableSlot(start, slotEnd));
             }
 
             start = start.plusMinutes(minDuration);
         }
 
+        if (event.shouldCommit()) {
+            event.employeeId = schedule.getEmployee().getId();
+            event.durationInMinutes = durationInMinutes;
+            event.bookings = schedule.getBookings().size();
+            event.startTimesScanned = startTimesScanned;
+            event.slotsFound = availableSlots.size();
+            event.commit();
+        }
+
         return availableSlots;
     }
 }
@@ -0,0 +1,175 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.reservation.ResourceType;
+import com.bloomreach.garage.reservation.api.schedule.BookedInterval;
+import com.bloomreach.garage.reservation.api.schedule.GarageDate;
+import com.bloomreach.garage.reservation.api.schedule.SlotHold;
+import com.bloomreach.garage.reservation.api.support.HashedTimerWheel;
+import com.bloomreach.garage.reservation.config.HoldProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the slot holds of this instance in memory until they are confirmed, released or expire.
+ * <p>
+ * Holds are indexed by garage and date, and adding a hold checks atomically per date of its garage that its
+ * garage box and mechanic are not held by an overlapping hold. Expiry is driven by a {@link HashedTimerWheel}, so every hold costs
+ * constant time to schedule and to cancel. Adding, releasing and expiring a hold bumps the availability
+ * version of its garage's date, so cached slots are recalculated with the held mechanic time taken into account.
+ * </p>
+ */
+@Component
+public class SlotHoldRegistry {
+
+    private final AvailabilityVersionTracker availabilityVersionTracker;
+    private final HoldProperties holdProperties;
+    private final HashedTimerWheel expiryWheel;
+
+    private final ConcurrentMap<UUID, ActiveHold> holds = new ConcurrentHashMap<>();
+    private final ConcurrentMap<GarageDate, Set<SlotHold>> holdsByDate = new ConcurrentHashMap<>();
+
+    public SlotHoldRegistry(AvailabilityVersionTracker availabilityVersionTracker, HoldProperties holdProperties) {
+        this.availabilityVersionTracker = availabilityVersionTracker;
+        this.holdProperties = holdProperties;
+        this.expiryWheel = new HashedTimerWheel("slot-hold-expiry",
+                holdProperties.getTickDuration(), holdProperties.getWheelSize());
+    }
+
+    /**
+     * Adds a hold unless its garage box or mechanic is already held for an overlapping time on the same date.
+     *
+     * @param hold The hold to add.
+     * @return True if the hold was added, false if it conflicts with another hold or the maximum number
+     * of holds has been reached.
+     */
+    public boolean tryAdd(SlotHold hold) {
+        if (holds.size() >= holdProperties.getMaxHolds()) {
+            return false;
+        }
+
+        AtomicBoolean added = new AtomicBoolean();
+        holdsByDate.compute(new GarageDate(hold.getGarageId(), hold.getDate()), (garageDate, dateHolds) -> {
+            Set<SlotHold> updatedHolds = dateHolds != null ? dateHolds : ConcurrentHashMap.newKeySet();
+            boolean conflicting = updatedHolds.stream().anyMatch(other ->
+                    other.overlaps(hold.getStartTime(), hold.getEndTime())
+                            && (other.getGarageBoxId().equals(hold.getGarageBoxId())
+                            || other.getEmployeeId().equals(hold.getEmployeeId())));
+            if (!conflicting) {
+                updatedHolds.add(hold);
+                added.set(true);
+            }
+            return updatedHolds.isEmpty() ? null : updatedHolds;
+        });
+
+        if (!added.get()) {
+            return false;
+        }
+
+        // Registered before scheduling the expiry, so even an immediate expiry finds the hold
+        ActiveHold activeHold = new ActiveHold(hold);
+        holds.put(hold.getId(), activeHold);
+        activeHold.expiry = expiryWheel.schedule(() -> release(hold.getId()), holdProperties.getTimeToLive());
+        availabilityVersionTracker.bump(hold.getGarageId(), hold.getDate());
+        return true;
+    }
+
+    /**
+     * Finds an active hold.
+     *
+     * @param holdId The ID of the hold.
+     * @return The hold, or empty if it does not exist or has expired.
+     */
+    public Optional<SlotHold> find(UUID holdId) {
+        return Optional.ofNullable(holds.get(holdId)).map(activeHold -> activeHold.hold);
+    }
+
+    /**
+     * Releases a hold, making its garage box and mechanic available to others again.
+     *
+     * @param holdId The ID of the hold.
+     * @return True if the hold was released, false if it did not exist or had already expired.
+     */
+    public boolean release(UUID holdId) {
+        ActiveHold activeHold = holds.remove(holdId);
+        if (activeHold == null) {
+            return false;
+        }
+
+        if (activeHold.expiry != null) {
+            activeHold.expiry.cancel();
+        }
+        SlotHold hold = activeHold.hold;
+        holdsByDate.computeIfPresent(new GarageDate(hold.getGarageId(), hold.getDate()), (garageDate, dateHolds) -> {
+            dateHolds.remove(hold);
+            return dateHolds.isEmpty() ? null : dateHolds;
+        });
+        availabilityVersionTracker.bump(hold.getGarageId(), hold.getDate());
+        return true;
+    }
+
+    /**
+     * Finds the garage boxes and mechanics of a garage held for a time overlapping the specified window.
+     *
+     * @param garageId      The ID of the garage.
+     * @param date          The date of the window.
+     * @param startTime     The start time of the window.
+     * @param endTime       The end time of the window.
+     * @param ignoredHoldId The ID of a hold to ignore, e.g. the hold being confirmed, or {@code null}.
+     * @return The IDs of the held resources, grouped by resource type.
+     */
+    public Map<ResourceType, Set<Long>> findHeldResources(long garageId, LocalDate date, LocalTime startTime,
+                                                          LocalTime endTime, UUID ignoredHoldId) {
+        Map<ResourceType, Set<Long>> heldResources = new EnumMap<>(ResourceType.class);
+        for (SlotHold hold : holdsByDate.getOrDefault(new GarageDate(garageId, date), Set.of())) {
+            if (!hold.getId().equals(ignoredHoldId) && hold.overlaps(startTime, endTime)) {
+                heldResources.computeIfAbsent(ResourceType.GARAGE_BOX, type -> new HashSet<>()).add(hold.getGarageBoxId());
+                heldResources.computeIfAbsent(ResourceType.MECHANIC, type -> new HashSet<>()).add(hold.getEmployeeId());
+            }
+        }
+        return heldResources;
+    }
+
+    /**
+     * Lists the mechanic time held on a date of a garage, to be treated like booked time when calculating slots.
+     *
+     * @param garageId The ID of the garage.
+     * @param date     The date.
+     * @return The held intervals of the mechanics.
+     */
+    public List<BookedInterval> findHeldIntervals(long garageId, LocalDate date) {
+        return holdsByDate.getOrDefault(new GarageDate(garageId, date), Set.of()).stream()
+                .map(hold -> new BookedInterval(hold.getEmployeeId(), hold.getStartTime(), hold.getEndTime()))
+                .toList();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        expiryWheel.close();
+    }
+
+    /**
+     * A hold and the timeout releasing it.
+     */
+    private static class ActiveHold {
+
+        private final SlotHold hold;
+        private volatile HashedTimerWheel.Timeout expiry;
+
+        ActiveHold(SlotHold hold) {
+            this.hold = hold;
+        }
+    }
+}
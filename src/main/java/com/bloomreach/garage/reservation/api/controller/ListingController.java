@@ -0,0 +1,126 @@
+package com.bloomreach.garage.reservation.api.controller;
+
+import com.bloomreach.garage.reservation.api.error.ValidationError;
+import com.bloomreach.garage.reservation.api.model.AppointmentOperationSummary;
+import com.bloomreach.garage.reservation.api.model.AppointmentSummary;
+import com.bloomreach.garage.reservation.api.model.CustomerSummary;
+import com.bloomreach.garage.reservation.api.model.KeysetPage;
+import com.bloomreach.garage.reservation.api.service.ListingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * Lists appointments, appointment operations and customers page by page.
+ * <p>
+ * Unlike the repository endpoints, which page by offset over full entities, these endpoints return slim
+ * projections and continue from the {@code nextCursor} of the previous page, so deep pages are as fast as
+ * the first one.
+ * </p>
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/listings")
+@Tag(name = "Listing", description = "APIs for listing appointments and customers page by page")
+public class ListingController {
+
+    private final ListingService listingService;
+
+    /**
+     * Lists appointments from a date on, ordered by date, start time and ID.
+     *
+     * @param from   The first date to list.
+     * @param cursor The cursor of the next page, as returned with the previous page.
+     * @param size   The maximum number of appointments per page.
+     * @return A page of appointments.
+     */
+    @GetMapping("/appointments")
+    @Operation(summary = "List appointments", description = "Lists appointments from a date on, ordered by date, start time and ID.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully listed appointments"),
+            @ApiResponse(responseCode = "400", description = "Validation error",
+                    content = @Content(schema = @Schema(implementation = ValidationError.class)))
+    })
+    public KeysetPage<AppointmentSummary> findAppointments(
+            @Parameter(description = "The first date to list, required for the first page")
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return listingService.findAppointments(from, cursor, size);
+    }
+
+    /**
+     * Lists the appointments of a customer, newest first.
+     *
+     * @param customerId The ID of the customer.
+     * @param cursor     The cursor of the next page, as returned with the previous page.
+     * @param size       The maximum number of appointments per page.
+     * @return A page of appointments.
+     */
+    @GetMapping("/customers/{customerId}/appointments")
+    @Operation(summary = "List the appointments of a customer", description = "Lists the appointment history of a customer, newest first.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully listed appointments"),
+            @ApiResponse(responseCode = "400", description = "Validation error",
+                    content = @Content(schema = @Schema(implementation = ValidationError.class)))
+    })
+    public KeysetPage<AppointmentSummary> findCustomerAppointments(@PathVariable Long customerId,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(required = false) Integer size) {
+        return listingService.findCustomerAppointments(customerId, cursor, size);
+    }
+
+    /**
+     * Lists appointment operations from a date on, ordered by date, start time and ID.
+     *
+     * @param from   The first date to list.
+     * @param cursor The cursor of the next page, as returned with the previous page.
+     * @param size   The maximum number of operations per page.
+     * @return A page of appointment operations.
+     */
+    @GetMapping("/appointmentOperations")
+    @Operation(summary = "List appointment operations", description = "Lists appointment operations from a date on, ordered by date, start time and ID.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully listed appointment operations"),
+            @ApiResponse(responseCode = "400", description = "Validation error",
+                    content = @Content(schema = @Schema(implementation = ValidationError.class)))
+    })
+    public KeysetPage<AppointmentOperationSummary> findAppointmentOperations(
+            @Parameter(description = "The first date to list, required for the first page")
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return listingService.findAppointmentOperations(from, cursor, size);
+    }
+
+    /**
+     * Lists customers in ID order.
+     *
+     * @param cursor The cursor of the next page, as returned with the previous page.
+     * @param size   The maximum number of customers per page.
+     * @return A page of customers.
+     */
+    @GetMapping("/customers")
+    @Operation(summary = "List customers", description = "Lists customers in ID order.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully listed customers"),
+            @ApiResponse(responseCode = "400", description = "Validation error",
+                    content = @Content(schema = @Schema(implementation = ValidationError.class)))
+    })
+    public KeysetPage<CustomerSummary> findCustomers(@RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer size) {
+        return listingService.findCustomers(cursor, size);
+    }
+}
@@ -1,13 +1,29 @@
 package com.bloomreach.garage.reservation.api.controller;
 
+import com.bloomreach.garage.reservation.api.component.AvailabilityVersionTracker;
+import com.bloomreach.garage.reservation.api.component.GarageShardRouter;
+import com.bloomreach.garage.reservation.api.error.IdempotencyStoreFullError;
+import com.bloomreach.garage.reservation.api.error.IdempotentRequestInProgressError;
 import com.bloomreach.garage.reservation.api.error.ProcessingError;
 import com.bloomreach.garage.reservation.api.error.ValidationError;
+import com.bloomreach.garage.reservation.api.model.AvailabilityUpdate;
 import com.bloomreach.garage.reservation.api.model.AvailableSlot;
 import com.bloomreach.garage.reservation.api.model.BookingRequest;
 import com.bloomreach.garage.reservation.api.model.BookingResponse;
+import com.bloomreach.garage.reservation.api.model.BulkAvailabilityRequest;
+import com.bloomreach.garage.reservation.api.model.BulkAvailabilityResponse;
+import com.bloomreach.garage.reservation.api.model.EarliestSlot;
+import com.bloomreach.garage.reservation.api.model.HoldRequest;
+import com.bloomreach.garage.reservation.api.model.HoldResponse;
+import com.bloomreach.garage.reservation.api.schedule.AvailabilitySnapshot;
+import com.bloomreach.garage.reservation.api.service.AvailabilityFeedService;
 import com.bloomreach.garage.reservation.api.service.AvailabilityService;
-import com.bloomreach.garage.reservation.api.service.BookingService;
+import com.bloomreach.garage.reservation.api.service.HoldService;
+import com.bloomreach.garage.reservation.api.service.IdempotentBookingService;
+import com.bloomreach.garage.reservation.api.support.SlotListHttpMessageConverter;
+import com.bloomreach.garage.reservation.api.validator.AvailabilityValidator;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,15 +31,31 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.HeaderContentNegotiationStrategy;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Controller for managing reservations and checking available time slots.
@@ -35,34 +67,197 @@ import java.util.List;
 @Tag(name = "Reservation", description = "APIs for making reservations and checking availability")
 public class ReservationController {
 
+    private static final HeaderContentNegotiationStrategy ACCEPT_HEADER_STRATEGY = new HeaderContentNegotiationStrategy();
+
     private final AvailabilityService availabilityService;
-    private final BookingService bookingService;
+    private final IdempotentBookingService idempotentBookingService;
+    private final AvailabilityVersionTracker availabilityVersionTracker;
+    private final AvailabilityFeedService availabilityFeedService;
+    private final HoldService holdService;
+    private final GarageShardRouter garageShardRouter;
+    private final AvailabilityValidator availabilityValidator;
 
     /**
-     * Retrieves available time slots for the specified date and operation IDs.
+     * Retrieves available time slots of a garage for the specified date and operation IDs.
+     * <p>
+     * The response carries an {@code ETag} derived from the availability version of the garage's date.
+     * A valid request whose {@code If-None-Match} header matches it is answered with {@code 304 Not Modified}
+     * without computing the slots. The slots are served as JSON or in the binary format of the
+     * {@link SlotListHttpMessageConverter}, so the tag names the negotiated representation and the response
+     * varies by {@code Accept}.
+     * </p>
      *
+     * @param garageId     The ID of the garage, or {@code null} for the default garage.
      * @param date         The date to check for available slots.
      * @param operationIds The list of operation IDs to check availability.
-     * @return A Set of available time slots.
+     * @param webRequest   The current request, used to evaluate conditional headers.
+     * @return A Set of available time slots, or {@code null} if the client's copy is still current.
      */
-    @GetMapping("/availableSlots")
+    @GetMapping(path = "/availableSlots",
+            produces = {MediaType.APPLICATION_JSON_VALUE, SlotListHttpMessageConverter.MEDIA_TYPE_VALUE})
     @Operation(summary = "Find available time slots", description = "Retrieves available time slots for the given date and operation IDs.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved available time slots",
                     content = @Content(schema = @Schema(implementation = AvailableSlot.class))),
+            @ApiResponse(responseCode = "304", description = "Available time slots have not changed since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Validation error",
+                    content = @Content(schema = @Schema(implementation = ValidationError.class))),
+            @ApiResponse(responseCode = "400", description = "Processing error",
+                    content = @Content(schema = @Schema(implementation = ProcessingError.class)))
+    })
+    public ResponseEntity<List<AvailableSlot>> findAvailableSlots(
+            @Parameter(description = "ID of the garage, the default garage if not given")
+            @RequestParam(required = false) Long garageId,
+            @RequestParam LocalDate date,
+            @RequestParam List<Long> operationIds,
+            NativeWebRequest webRequest) {
+        long resolvedGarageId = garageShardRouter.route(garageId);
+        // Validated first, so an invalid request is rejected rather than answered with 304 Not Modified
+        availabilityValidator.validate(date, operationIds);
+        String representation = slotRepresentation(webRequest);
+        if (webRequest.checkNotModified(availabilityVersionTracker.eTag(resolvedGarageId, date, representation))) {
+            return null;
+        }
+
+        // Slots served from the cache may be older than the current version, so they are tagged with their own
+        AvailabilitySnapshot availability = availabilityService.findAvailability(resolvedGarageId, date, operationIds, true);
+        return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(availabilityVersionTracker.eTag(date, availability.getVersion(), representation))
+                .body(availability.getSlots());
+    }
+
+    /**
+     * Determines the representation content negotiation will pick for a list of slots.
+     * <p>
+     * Mirrors the selection of the message converters: the producible types of the mapping that are compatible
+     * with the accepted ones are ordered by quality and specificity, keeping the client's order on ties, and the
+     * first one is written. JSON is listed first, so it is also picked for wildcards.
+     * </p>
+     *
+     * @param webRequest The current request, carrying the {@code Accept} header and the producible types.
+     * @return {@code slots} for the binary format, {@code json} otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    private static String slotRepresentation(NativeWebRequest webRequest) {
+        List<MediaType> acceptableTypes;
+        try {
+            acceptableTypes = ACCEPT_HEADER_STRATEGY.resolveMediaTypes(webRequest);
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return "json";
+        }
+        Set<MediaType> producibleTypes = (Set<MediaType>) webRequest.getAttribute(
+                HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (producibleTypes == null) {
+            return "json";
+        }
+
+        List<MediaType> compatibleTypes = new ArrayList<>();
+        for (MediaType acceptableType : acceptableTypes) {
+            for (MediaType producibleType : producibleTypes) {
+                if (acceptableType.isCompatibleWith(producibleType)) {
+                    compatibleTypes.add(producibleType.copyQualityValue(acceptableType));
+                }
+            }
+        }
+        MimeTypeUtils.sortBySpecificity(compatibleTypes);
+
+        return !compatibleTypes.isEmpty() && compatibleTypes.get(0).equalsTypeAndSubtype(SlotListHttpMessageConverter.MEDIA_TYPE)
+                ? "slots" : "json";
+    }
+
+    /**
+     * Retrieves available time slots of one date for several lists of operation IDs, e.g. the service
+     * packages shown on a quote page.
+     * <p>
+     * The schedule of the date is loaded once and the slots of every operation list are derived from it.
+     * </p>
+     *
+     * @param bulkAvailabilityRequest The date and the lists of operation IDs.
+     * @return The available time slots of every operation list, in the requested order.
+     */
+    @PostMapping("/availableSlots/bulk")
+    @Operation(summary = "Find available time slots for several operation lists",
+            description = "Retrieves the available time slots of one date for several lists of operation IDs in one call.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved available time slots",
+                    content = @Content(schema = @Schema(implementation = BulkAvailabilityResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error",
+                    content = @Content(schema = @Schema(implementation = ValidationError.class))),
+            @ApiResponse(responseCode = "400", description = "Processing error",
+                    content = @Content(schema = @Schema(implementation = ProcessingError.class)))
+    })
+    public BulkAvailabilityResponse findBulkAvailableSlots(@RequestBody BulkAvailabilityRequest bulkAvailabilityRequest) {
+        return availabilityService.findAvailableSlots(bulkAvailabilityRequest);
+    }
+
+    /**
+     * Finds the earliest available time slots of a garage for the specified operation IDs, starting today.
+     *
+     * @param garageId     The ID of the garage, or {@code null} for the default garage.
+     * @param operationIds The list of operation IDs to find slots for.
+     * @param limit        The number of slots to find.
+     * @return Up to {@code limit} available time slots, ordered by date and start time.
+     */
+    @GetMapping("/availableSlots/earliest")
+    @Operation(summary = "Find the earliest available time slots",
+            description = "Searches the booking window from today for the first available time slots of the given operation IDs.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully found the earliest available time slots",
+                    content = @Content(schema = @Schema(implementation = EarliestSlot.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error",
+                    content = @Content(schema = @Schema(implementation = ValidationError.class))),
+            @ApiResponse(responseCode = "400", description = "Processing error",
+                    content = @Content(schema = @Schema(implementation = ProcessingError.class)))
+    })
+    public List<EarliestSlot> findEarliestSlots(
+            @Parameter(description = "ID of the garage, the default garage if not given")
+            @RequestParam(required = false) Long garageId,
+            @RequestParam List<Long> operationIds,
+            @Parameter(description = "Number of slots to find")
+            @RequestParam(defaultValue = "1") int limit) {
+        return availabilityService.findEarliestSlots(garageId, operationIds, limit);
+    }
+
+    /**
+     * Subscribes to changes of the available time slots of a garage for the specified dates and operation IDs.
+     * <p>
+     * The current slots of every date are pushed first, after which an {@code availability} event is only
+     * pushed when the availability of a subscribed date changes.
+     * </p>
+     *
+     * @param garageId     The ID of the garage, or {@code null} for the default garage.
+     * @param dates        The dates to receive available slot updates for.
+     * @param operationIds The list of operation IDs to calculate the slots for.
+     * @return An emitter streaming the available slot updates as Server-Sent Events.
+     */
+    @GetMapping(path = "/availableSlots/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to available time slot changes",
+            description = "Streams the available time slots of the given dates as Server-Sent Events whenever they change.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully subscribed to available time slot changes",
+                    content = @Content(schema = @Schema(implementation = AvailabilityUpdate.class))),
             @ApiResponse(responseCode = "400", description = "Validation error",
                     content = @Content(schema = @Schema(implementation = ValidationError.class))),
             @ApiResponse(responseCode = "400", description = "Processing error",
                     content = @Content(schema = @Schema(implementation = ProcessingError.class)))
     })
-    public List<AvailableSlot> findAvailableSlots(@RequestParam LocalDate date,
-                                                  @RequestParam List<Long> operationIds) {
-        return availabilityService.findAvailableSlots(date, operationIds);
+    public SseEmitter subscribeToAvailableSlots(
+            @Parameter(description = "ID of the garage, the default garage if not given")
+            @RequestParam(required = false) Long garageId,
+            @RequestParam Set<LocalDate> dates,
+            @RequestParam List<Long> operationIds) {
+        return availabilityFeedService.subscribe(garageId, dates, operationIds);
     }
 
     /**
      * Books appointments based on the provided booking request.
+     * <p>
+     * Clients that retry should send the same {@code Idempotency-Key} header with every attempt. Only the first
+     * request with a key is booked, and retries receive its response.
+     * </p>
      *
+     * @param idempotencyKey The optional key identifying retries of the same booking.
      * @param bookingRequest The booking request containing details for the appointment.
      * @return ResponseEntity containing the booking details or error message.
      */
@@ -73,10 +268,59 @@ public class ReservationController {
                     content = @Content(schema = @Schema(implementation = AvailableSlot.class))),
             @ApiResponse(responseCode = "400", description = "Validation error",
                     content = @Content(schema = @Schema(implementation = ValidationError.class))),
+            @ApiResponse(responseCode = "400", description = "Processing error",
+                    content = @Content(schema = @Schema(implementation = ProcessingError.class))),
+            @ApiResponse(responseCode = "409", description = "A booking with the same idempotency key is still in progress",
+                    content = @Content(schema = @Schema(implementation = IdempotentRequestInProgressError.class))),
+            @ApiResponse(responseCode = "503", description = "Too many bookings with an idempotency key are in progress",
+                    content = @Content(schema = @Schema(implementation = IdempotencyStoreFullError.class)))
+    })
+    public BookingResponse bookAppointments(
+            @Parameter(description = "Key identifying retries of the same booking, whose response is replayed")
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody BookingRequest bookingRequest) {
+        return idempotentBookingService.bookAppointment(idempotencyKey, bookingRequest);
+    }
+
+    /**
+     * Holds a time slot while the customer completes the booking.
+     * <p>
+     * The held garage box and mechanic are not offered to anyone else until the hold expires, is released
+     * or is booked by sending its ID with the booking request.
+     * </p>
+     *
+     * @param holdRequest The time slot and operations to hold.
+     * @return The ID of the hold and the moment it expires.
+     */
+    @PostMapping("/holds")
+    @Operation(summary = "Hold a time slot", description = "Tentatively reserves a time slot until the hold expires.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully held the time slot",
+                    content = @Content(schema = @Schema(implementation = HoldResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error",
+                    content = @Content(schema = @Schema(implementation = ValidationError.class))),
+            @ApiResponse(responseCode = "400", description = "Processing error",
+                    content = @Content(schema = @Schema(implementation = ProcessingError.class)))
+    })
+    public HoldResponse holdSlot(@RequestBody HoldRequest holdRequest) {
+        return holdService.hold(holdRequest);
+    }
+
+    /**
+     * Releases a hold before it expires.
+     *
+     * @param holdId The ID of the hold.
+     * @return An empty response once the hold is released.
+     */
+    @DeleteMapping("/holds/{holdId}")
+    @Operation(summary = "Release a held time slot", description = "Makes a held time slot available again.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Successfully released the hold"),
             @ApiResponse(responseCode = "400", description = "Processing error",
                     content = @Content(schema = @Schema(implementation = ProcessingError.class)))
     })
-    public BookingResponse bookAppointments(@RequestBody BookingRequest bookingRequest) {
-        return bookingService.bookAppointment(bookingRequest);
+    public ResponseEntity<Void> releaseHold(@PathVariable UUID holdId) {
+        holdService.release(holdId);
+        return ResponseEntity.noContent().build();
     }
 }
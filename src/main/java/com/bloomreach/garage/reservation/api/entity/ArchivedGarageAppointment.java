@@ -0,0 +1,60 @@
+package com.bloomreach.garage.reservation.api.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "garage_appointments_archive")
+@Schema(description = "Represents a past appointment that has been moved to the archive.")
+public class ArchivedGarageAppointment {
+
+    @Id
+    @Schema(description = "Identifier the appointment had before it was archived", example = "1")
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "customer_id", nullable = false)
+    @NotNull
+    @Schema(description = "The customer associated with the appointment")
+    private Customer customer;
+
+    @ManyToOne
+    @JoinColumn(name = "garage_box_id", nullable = false)
+    @NotNull
+    @Schema(description = "The garage box where the appointment was held")
+    private GarageBox garageBox;
+
+    @Column(name = "garage_id", nullable = false)
+    @NotNull
+    @Schema(description = "The ID of the garage of the appointment", example = "1")
+    private Long garageId;
+
+    @Column(name = "date", nullable = false)
+    @NotNull
+    @Schema(description = "The date of the appointment", example = "2024-08-22")
+    private LocalDate date;
+
+    @Column(name = "start_time", nullable = false)
+    @NotNull
+    @Schema(description = "The start time of the appointment", example = "09:00:00")
+    private LocalTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    @NotNull
+    @Schema(description = "The end time of the appointment", example = "17:00:00")
+    private LocalTime endTime;
+
+    @Column(name = "archived_at", nullable = false)
+    @NotNull
+    @Schema(description = "The moment the appointment was archived", example = "2024-09-22T03:00:00")
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,60 @@
+package com.bloomreach.garage.reservation.api.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "garage_appointment_operations_archive")
+@Schema(description = "Details of an operation associated with an archived garage appointment.")
+public class ArchivedGarageAppointmentOperation {
+
+    @Id
+    @Schema(description = "Identifier the operation record had before it was archived", example = "1")
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "appointment_id", nullable = false)
+    @NotNull
+    @Schema(description = "The archived garage appointment associated with this operation")
+    private ArchivedGarageAppointment appointment;
+
+    @ManyToOne
+    @JoinColumn(name = "operation_id", nullable = false)
+    @NotNull
+    @Schema(description = "The operation that was performed")
+    private GarageOperation operation;
+
+    @ManyToOne
+    @JoinColumn(name = "employee_id", nullable = false)
+    @NotNull
+    @Schema(description = "The employee who performed the operation")
+    private Employee employee;
+
+    @Column(name = "date", nullable = false)
+    @NotNull
+    @Schema(description = "Date of the operation", example = "2024-08-22")
+    private LocalDate date;
+
+    @Column(name = "start_time", nullable = false)
+    @NotNull
+    @Schema(description = "Start time of the operation")
+    private LocalTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    @NotNull
+    @Schema(description = "End time of the operation")
+    private LocalTime endTime;
+}
@@ -26,4 +26,7 @@ public class Employee {
 
     @Schema(description = "Type of the employee", example = "Mechanic")
     private String employeeTypeId;
+
+    @Schema(description = "The ID of the garage the employee works at", example = "1")
+    private Long garageId;
 }
@@ -38,6 +38,11 @@ public class GarageAppointment {
     @Schema(description = "The garage box where the appointment will be held")
     private GarageBox garageBox;
 
+    @Column(name = "garage_id", nullable = false)
+    @Schema(description = "The ID of the garage of the appointment, copied from its garage box", example = "1",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    private Long garageId;
+
     @Column(name = "date", nullable = false)
     @NotNull
     @Schema(description = "The date of the appointment", example = "2024-08-22")
@@ -56,4 +61,16 @@ public class GarageAppointment {
     @OneToMany(mappedBy = "appointment", cascade = CascadeType.ALL, orphanRemoval = true)
     @Schema(description = "Operations associated with the appointment")
     private List<GarageAppointmentOperation> operations;
+
+    /**
+     * Keeps the denormalized garage in sync with the garage box, so the appointment can be attributed
+     * to its shard without loading the box.
+     */
+    @PrePersist
+    @PreUpdate
+    void copyGarageId() {
+        if (garageBox != null) {
+            garageId = garageBox.getGarageId();
+        }
+    }
 }
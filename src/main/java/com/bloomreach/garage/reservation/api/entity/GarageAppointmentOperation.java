@@ -8,6 +8,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -15,6 +17,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Data
@@ -49,6 +52,11 @@ public class GarageAppointmentOperation {
     @Schema(description = "The employee performing the operation")
     private Employee employee;
 
+    @Column(name = "date", nullable = false)
+    @Schema(description = "Date of the operation, copied from the appointment", example = "2024-08-22",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDate date;
+
     @Column(name = "start_time", nullable = false)
     @NotNull
     @Schema(description = "Start time of the operation")
@@ -58,4 +66,16 @@ public class GarageAppointmentOperation {
     @NotNull
     @Schema(description = "End time of the operation")
     private LocalTime endTime;
+
+    /**
+     * Keeps the denormalized date in sync with the date of the appointment, so overlap queries
+     * can filter on this table alone.
+     */
+    @PrePersist
+    @PreUpdate
+    void copyAppointmentDate() {
+        if (appointment != null) {
+            date = appointment.getDate();
+        }
+    }
 }
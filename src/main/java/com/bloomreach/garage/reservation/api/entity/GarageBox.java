@@ -2,6 +2,7 @@ package com.bloomreach.garage.reservation.api.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -17,4 +18,7 @@ public class GarageBox {
 
     @NotBlank
     private String name; // Name or identifier of the garage box
+
+    @NotNull
+    private Long garageId; // Garage the box belongs to
 }
@@ -6,10 +6,26 @@ public final class ErrorMessage {
     public static final String OPERATION_NOT_FOUND = "One or more operations not found";
     public static final String DATE_CANNOT_BE_IN_THE_PAST = "Date cannot be in the past";
     public static final String DATE_CANNOT_BE_MORE_THAN = "Date cannot be more than %s days in advance";
+    public static final String DATE_IS_REQUIRED = "At least one date is required";
+    public static final String TOO_MANY_DATES = "Cannot subscribe to more than %s dates";
+    public static final String PAGE_SIZE_OUT_OF_RANGE = "Page size must be between 1 and %s";
+    public static final String INVALID_CURSOR = "Invalid cursor";
+    public static final String SLOT_LIMIT_OUT_OF_RANGE = "Number of slots must be between 1 and %s";
+    public static final String TOO_MANY_OPERATION_SETS = "Cannot request available slots for more than %s operation lists";
     public static final String INVALID_CUSTOMER_ID = "Invalid customer ID";
+    public static final String GARAGE_NOT_FOUND = "Garage %s not found";
+    public static final String GARAGE_SERVED_BY_OTHER_NODE = "Garage %s is served by node %s";
     public static final String NO_AVAILABLE_GARAGE_BOXES = "No available garage boxes";
     public static final String NO_AVAILABLE_MECHANICS_FOR_THIS_TIME_SLOT = "No available mechanics for this time slot";
     public static final String NO_AVAILABLE_MECHANICS_FOR_THIS_OPERATION = "No available mechanics for this operation";
+    public static final String IDEMPOTENCY_KEY_REUSED = "Idempotency key has already been used for a different request";
+    public static final String IDEMPOTENCY_KEY_TOO_LONG = "Idempotency key cannot be longer than %s characters";
+    public static final String IDEMPOTENT_REQUEST_IN_PROGRESS = "A request with this idempotency key is still in progress";
+    public static final String IDEMPOTENCY_STORE_FULL = "Too many bookings with an idempotency key are in progress, retry later";
+    public static final String HOLD_NOT_FOUND = "Hold not found or expired";
+    public static final String HOLD_DOES_NOT_MATCH = "Booking does not match the held slot";
+    public static final String TIME_SLOT_ALREADY_HELD = "The requested time slot is held by another customer";
+    public static final String TIME_SLOT_ALREADY_BOOKED = "The requested time slot has already been booked";
     public static final String BOOKING_CANNOT_BE_MADE_MORE_THAN = "Booking cannot be made more than %s days in advance.";
     public static final String BOOKING_MUST_BE_MADE_AT_LEAST = "Booking must be made at least %s minutes in advance.";
     public static final String BOOKING_CANNOT_BE_MADE_FOR_A_PAST_DATE = "Booking cannot be made for a past date.";
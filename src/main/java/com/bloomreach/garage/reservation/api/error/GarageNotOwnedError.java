@@ -0,0 +1,32 @@
+package com.bloomreach.garage.reservation.api.error;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when a request concerns a garage whose schedule is served by another node.
+ * <p>
+ * The message names the owning node, so a client or gateway can send the request there instead.
+ * </p>
+ *
+ * <p>
+ * The HTTP status code for this exception is {@code 400 Bad Request}.
+ * </p>
+ */
+@Getter
+public class GarageNotOwnedError extends ProcessingError {
+
+    private final long garageId;
+    private final String ownerNodeId;
+
+    /**
+     * Constructs a new {@code GarageNotOwnedError} for a garage and the node owning it.
+     *
+     * @param garageId    the ID of the garage.
+     * @param ownerNodeId the ID of the node serving the garage.
+     */
+    public GarageNotOwnedError(long garageId, String ownerNodeId) {
+        super(String.format(ErrorMessage.GARAGE_SERVED_BY_OTHER_NODE, garageId, ownerNodeId));
+        this.garageId = garageId;
+        this.ownerNodeId = ownerNodeId;
+    }
+}
@@ -0,0 +1,29 @@
+package com.bloomreach.garage.reservation.api.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a new idempotency key cannot be stored because every stored key belongs to a booking
+ * that is still in progress.
+ * <p>
+ * Evicting such a key would let a retry book a second time, so the new booking is turned away until one of them
+ * has finished.
+ * </p>
+ *
+ * <p>
+ * The HTTP status code for this exception is {@code 503 Service Unavailable}.
+ * </p>
+ *
+ * @see org.springframework.http.HttpStatus#SERVICE_UNAVAILABLE
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class IdempotencyStoreFullError extends ProcessingError {
+
+    /**
+     * Constructs a new {@code IdempotencyStoreFullError}.
+     */
+    public IdempotencyStoreFullError() {
+        super(ErrorMessage.IDEMPOTENCY_STORE_FULL);
+    }
+}
@@ -0,0 +1,28 @@
+package com.bloomreach.garage.reservation.api.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a booking with the same idempotency key is still in progress after the wait timeout.
+ * <p>
+ * The request itself is valid and can be retried with the same key once the booking in progress has finished,
+ * so it is answered with a conflict rather than a bad request.
+ * </p>
+ *
+ * <p>
+ * The HTTP status code for this exception is {@code 409 Conflict}.
+ * </p>
+ *
+ * @see org.springframework.http.HttpStatus#CONFLICT
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class IdempotentRequestInProgressError extends ProcessingError {
+
+    /**
+     * Constructs a new {@code IdempotentRequestInProgressError}.
+     */
+    public IdempotentRequestInProgressError() {
+        super(ErrorMessage.IDEMPOTENT_REQUEST_IN_PROGRESS);
+    }
+}
@@ -0,0 +1,33 @@
+package com.bloomreach.garage.reservation.api.error;
+
+import com.bloomreach.garage.reservation.api.reservation.ReservationCell;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Exception thrown when some of the cells a booking tries to claim have already been claimed by another booking.
+ * <p>
+ * It is raised by the database's unique index, so it also detects bookings that were committed after the
+ * availability of the resources had been checked.
+ * </p>
+ *
+ * <p>
+ * The HTTP status code for this exception is {@code 400 Bad Request}.
+ * </p>
+ */
+@Getter
+public class ReservationConflictError extends ProcessingError {
+
+    private final transient List<ReservationCell> cells;
+
+    /**
+     * Constructs a new {@code ReservationConflictError} for the cells that could not be claimed.
+     *
+     * @param cells the cells the booking tried to claim.
+     */
+    public ReservationConflictError(List<ReservationCell> cells) {
+        super(ErrorMessage.TIME_SLOT_ALREADY_BOOKED);
+        this.cells = cells;
+    }
+}
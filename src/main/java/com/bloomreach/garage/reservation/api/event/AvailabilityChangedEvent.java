@@ -0,0 +1,56 @@
+package com.bloomreach.garage.reservation.api.event;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Published after a committed change has bumped the availability version of one date of a garage,
+ * of one date of every garage or of all dates.
+ * <p>
+ * Changes made on another instance and received through the invalidation bus are published as remote events,
+ * so they are applied locally without being broadcast again.
+ * </p>
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class AvailabilityChangedEvent {
+
+    private final Long garageId; // Null when every garage is affected
+    private final LocalDate date; // Null when every date is affected
+    private final long version;
+    private final boolean remote;
+
+    public static AvailabilityChangedEvent forDate(long garageId, LocalDate date, long version) {
+        return new AvailabilityChangedEvent(garageId, date, version, false);
+    }
+
+    public static AvailabilityChangedEvent forDateOfAllGarages(LocalDate date, long version) {
+        return new AvailabilityChangedEvent(null, date, version, false);
+    }
+
+    public static AvailabilityChangedEvent forAllDates(long version) {
+        return new AvailabilityChangedEvent(null, null, version, false);
+    }
+
+    public static AvailabilityChangedEvent remote(Long garageId, LocalDate date, long version) {
+        return new AvailabilityChangedEvent(garageId, date, version, true);
+    }
+
+    public boolean isAllDates() {
+        return date == null;
+    }
+
+    /**
+     * Checks if the change affects the availability of a date of a garage.
+     *
+     * @param garageId The ID of the garage.
+     * @param date     The date.
+     * @return True if the availability of the date may have changed, false otherwise.
+     */
+    public boolean affects(long garageId, LocalDate date) {
+        return isAllDates() || (date.equals(this.date) && (this.garageId == null || this.garageId == garageId));
+    }
+}
@@ -0,0 +1,97 @@
+package com.bloomreach.garage.reservation.api.event;
+
+import com.bloomreach.garage.reservation.api.component.AvailabilityVersionTracker;
+import com.bloomreach.garage.reservation.api.entity.EmployeeWorkingHours;
+import com.bloomreach.garage.reservation.api.entity.GarageAppointment;
+import com.bloomreach.garage.reservation.api.entity.GarageAppointmentOperation;
+import com.bloomreach.garage.reservation.api.entity.GarageClosure;
+import com.bloomreach.garage.reservation.api.entity.GarageOperation;
+import com.bloomreach.garage.reservation.api.journal.BookingJournal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.rest.core.annotation.HandleAfterCreate;
+import org.springframework.data.rest.core.annotation.HandleAfterDelete;
+import org.springframework.data.rest.core.annotation.HandleAfterSave;
+import org.springframework.data.rest.core.annotation.RepositoryEventHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps availability consistent with schedule changes made through the REST repositories.
+ * <p>
+ * Creating or deleting a record bumps the availability version of its date, in the garage of an appointment
+ * or in every garage for a closure. Updates bump every date, since the previous state of the record
+ * (e.g. the date a closure was moved from) is no longer known. The reservation cells of a changed appointment,
+ * and the date copied onto its operations, are updated by the repositories in the transaction of the change.
+ * </p>
+ * <p>
+ * With the booking journal enabled, every change of an appointment or of its operations is journaled too, so a
+ * replay at startup restores the appointment as it was last changed.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Component
+@RepositoryEventHandler
+public class ScheduleChangeEventHandler {
+
+    private final AvailabilityVersionTracker availabilityVersionTracker;
+    private final ObjectProvider<BookingJournal> bookingJournalProvider;
+
+    @HandleAfterCreate
+    @HandleAfterDelete
+    public void handleClosureCreateOrDelete(GarageClosure closure) {
+        availabilityVersionTracker.bumpAllGarages(closure.getClosureDate());
+    }
+
+    @HandleAfterSave
+    public void handleClosureSave(GarageClosure closure) {
+        onScheduleChanged();
+    }
+
+    @HandleAfterCreate
+    @HandleAfterDelete
+    public void handleAppointmentCreateOrDelete(GarageAppointment appointment) {
+        availabilityVersionTracker.bump(appointment.getGarageId(), appointment.getDate());
+        journalChange(appointment);
+    }
+
+    @HandleAfterSave
+    public void handleAppointmentSave(GarageAppointment appointment) {
+        onScheduleChanged();
+        journalChange(appointment);
+    }
+
+    @HandleAfterCreate
+    @HandleAfterDelete
+    public void handleAppointmentOperationCreateOrDelete(GarageAppointmentOperation appointmentOperation) {
+        GarageAppointment appointment = appointmentOperation.getAppointment();
+        availabilityVersionTracker.bump(appointment.getGarageId(), appointment.getDate());
+        journalChange(appointment);
+    }
+
+    @HandleAfterSave
+    public void handleAppointmentOperationSave(GarageAppointmentOperation appointmentOperation) {
+        onScheduleChanged();
+        journalChange(appointmentOperation.getAppointment());
+    }
+
+    @HandleAfterCreate
+    @HandleAfterSave
+    @HandleAfterDelete
+    public void handleWorkingHoursChange(EmployeeWorkingHours workingHours) {
+        onScheduleChanged();
+    }
+
+    @HandleAfterSave
+    @HandleAfterDelete
+    public void handleOperationChange(GarageOperation operation) {
+        onScheduleChanged();
+    }
+
+    private void onScheduleChanged() {
+        availabilityVersionTracker.bumpAll();
+    }
+
+    private void journalChange(GarageAppointment appointment) {
+        bookingJournalProvider.ifAvailable(bookingJournal -> bookingJournal.appendChange(appointment.getId()));
+    }
+}
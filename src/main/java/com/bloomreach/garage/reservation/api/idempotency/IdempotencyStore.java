@@ -0,0 +1,39 @@
+package com.bloomreach.garage.reservation.api.idempotency;
+
+import com.bloomreach.garage.reservation.api.error.IdempotencyStoreFullError;
+import com.bloomreach.garage.reservation.api.error.IdempotentRequestInProgressError;
+import com.bloomreach.garage.reservation.api.error.ValidationError;
+import com.bloomreach.garage.reservation.api.model.BookingResponse;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Stores the responses of bookings made with an {@code Idempotency-Key}, so retries of a booking are answered
+ * with the original response instead of booking again.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Returns the response of the booking made with the given key, or makes the booking if the key is new.
+     * <p>
+     * While a booking with the key is in progress, duplicates wait for its outcome. A failed booking is not
+     * stored, so a retry with the same key books again.
+     * </p>
+     * <p>
+     * The booking is given a callback to pass its response to inside its own transaction, before it commits, so a
+     * store can persist the response atomically with the appointment.
+     * </p>
+     *
+     * @param key                The idempotency key sent by the client.
+     * @param requestFingerprint A fingerprint of the booking request, used to reject a key reused for another request.
+     * @param booking            Makes the booking if the key is new, passing its response to the given callback
+     *                           before its transaction commits.
+     * @return The response of the booking made with the key.
+     * @throws ValidationError if the key was used for a different request.
+     * @throws IdempotentRequestInProgressError if the booking with the key is still in progress after the wait timeout.
+     * @throws IdempotencyStoreFullError        if the key is new and the store cannot take another key.
+     */
+    BookingResponse execute(String key, String requestFingerprint,
+                            Function<Consumer<BookingResponse>, BookingResponse> booking);
+}
@@ -0,0 +1,140 @@
+package com.bloomreach.garage.reservation.api.idempotency;
+
+import com.bloomreach.garage.reservation.api.error.ErrorMessage;
+import com.bloomreach.garage.reservation.api.error.IdempotencyStoreFullError;
+import com.bloomreach.garage.reservation.api.error.IdempotentRequestInProgressError;
+import com.bloomreach.garage.reservation.api.error.ValidationError;
+import com.bloomreach.garage.reservation.api.model.BookingResponse;
+import com.bloomreach.garage.reservation.config.IdempotencyProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Keeps booking responses in memory for the configured time to live, up to a maximum number of keys.
+ * <p>
+ * Every key maps to a future completed by the booking, so concurrent duplicates wait on the in-flight
+ * booking. Keys are evicted in the order they were first used, which is also the order in which they expire.
+ * The key of a booking in progress is never evicted, neither on expiry nor to make room, so eviction waits for it;
+ * a new key arriving while the store is full is rejected instead. Responses are only visible to the instance
+ * that made the booking.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(prefix = "garage.reservation.idempotency", name = "store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotencyProperties idempotencyProperties;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<String> keysInInsertionOrder = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public BookingResponse execute(String key, String requestFingerprint,
+                                   Function<Consumer<BookingResponse>, BookingResponse> booking) {
+        evictEntries(false);
+
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            evictEntries(true);
+            if (entries.size() >= idempotencyProperties.getMaxEntries()) {
+                // Eviction stopped at a booking in progress
+                throw new IdempotencyStoreFullError();
+            }
+
+            Entry newEntry = new Entry(requestFingerprint,
+                    System.nanoTime() + idempotencyProperties.getTimeToLive().toNanos());
+            entry = entries.putIfAbsent(key, newEntry);
+            if (entry == null) {
+                keysInInsertionOrder.add(key);
+                return book(key, newEntry, booking);
+            }
+        }
+
+        if (!entry.requestFingerprint.equals(requestFingerprint)) {
+            throw new ValidationError(ErrorMessage.IDEMPOTENCY_KEY_REUSED);
+        }
+
+        return await(entry);
+    }
+
+    private BookingResponse book(String key, Entry entry, Function<Consumer<BookingResponse>, BookingResponse> booking) {
+        try {
+            // The entry is only completed once the booking has committed
+            BookingResponse response = booking.apply(uncommittedResponse -> {
+            });
+            entry.response.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            // Waiting duplicates fail the same way, later retries book again
+            entries.remove(key, entry);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private BookingResponse await(Entry entry) {
+        try {
+            return entry.response.get(idempotencyProperties.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotentRequestInProgressError();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotentRequestInProgressError();
+        }
+    }
+
+    /**
+     * Evicts the expired keys, and if requested the oldest keys until there is room for a new one, stopping at the
+     * first key whose booking is still in progress.
+     */
+    private void evictEntries(boolean makeRoom) {
+        long now = System.nanoTime();
+        String key;
+        while ((key = keysInInsertionOrder.peek()) != null) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                boolean expired = entry.expiresAtNanos - now <= 0;
+                if (!expired && (!makeRoom || entries.size() < idempotencyProperties.getMaxEntries())) {
+                    return;
+                }
+                if (!entry.response.isDone()) {
+                    // Evicting the key of a booking in progress would let a duplicate book again
+                    return;
+                }
+            }
+
+            if (keysInInsertionOrder.remove(key) && entry != null) {
+                entries.remove(key, entry);
+            }
+        }
+    }
+
+    /**
+     * The fingerprint of the request a key was first used with, and the outcome of its booking.
+     */
+    @RequiredArgsConstructor
+    private static class Entry {
+
+        private final String requestFingerprint;
+        private final long expiresAtNanos;
+        private final CompletableFuture<BookingResponse> response = new CompletableFuture<>();
+    }
+}
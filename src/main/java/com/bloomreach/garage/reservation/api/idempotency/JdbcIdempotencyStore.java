@@ -0,0 +1,153 @@
+package com.bloomreach.garage.reservation.api.idempotency;
+
+import com.bloomreach.garage.reservation.api.error.ErrorMessage;
+import com.bloomreach.garage.reservation.api.error.IdempotentRequestInProgressError;
+import com.bloomreach.garage.reservation.api.error.ValidationError;
+import com.bloomreach.garage.reservation.api.model.BookingResponse;
+import com.bloomreach.garage.reservation.config.IdempotencyProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Keeps booking responses in the {@code idempotency_keys} table, so retries are recognized by every instance.
+ * <p>
+ * A booking first claims its key by inserting a row without a response; the primary key lets only one
+ * request claim it. The response is stored in the transaction of the booking itself, so an appointment is never
+ * committed without its response, even if the process stops right after. Duplicates poll the row until the
+ * response is stored, or claim the key themselves if the booking failed and its row was deleted. Expired rows
+ * are deleted periodically.
+ * </p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(prefix = "garage.reservation.idempotency", name = "store", havingValue = "jdbc")
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties idempotencyProperties;
+
+    @Override
+    public BookingResponse execute(String key, String requestFingerprint,
+                                   Function<Consumer<BookingResponse>, BookingResponse> booking) {
+        long deadline = System.currentTimeMillis() + idempotencyProperties.getWaitTimeout().toMillis();
+        while (true) {
+            if (claim(key, requestFingerprint)) {
+                return book(key, booking);
+            }
+
+            List<StoredEntry> storedEntries = jdbcTemplate.query(
+                    "SELECT request_fingerprint, response FROM idempotency_keys WHERE idempotency_key = ? AND expires_at > ?",
+                    (resultSet, rowNum) -> new StoredEntry(resultSet.getString("request_fingerprint"), resultSet.getString("response")),
+                    key, Timestamp.from(Instant.now()));
+            if (!storedEntries.isEmpty()) {
+                StoredEntry storedEntry = storedEntries.get(0);
+                if (!storedEntry.getRequestFingerprint().equals(requestFingerprint)) {
+                    throw new ValidationError(ErrorMessage.IDEMPOTENCY_KEY_REUSED);
+                }
+                if (storedEntry.getResponse() != null) {
+                    return deserialize(storedEntry.getResponse());
+                }
+            }
+
+            if (System.currentTimeMillis() >= deadline) {
+                throw new IdempotentRequestInProgressError();
+            }
+            sleep();
+        }
+    }
+
+    /**
+     * Deletes the keys whose time to live has passed.
+     */
+    @Scheduled(fixedDelayString = "${garage.reservation.idempotency.time-to-live}")
+    public void deleteExpiredKeys() {
+        int deleted = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at <= ?", Timestamp.from(Instant.now()));
+        log.debug("Deleted {} expired idempotency keys", deleted);
+    }
+
+    private boolean claim(String key, String requestFingerprint) {
+        Instant now = Instant.now();
+        // An expired row that has not been cleaned up yet must not block the key
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ? AND expires_at <= ?", key, Timestamp.from(now));
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO idempotency_keys (idempotency_key, request_fingerprint, expires_at) VALUES (?, ?, ?)",
+                    key, requestFingerprint, Timestamp.from(now.plus(idempotencyProperties.getTimeToLive())));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private BookingResponse book(String key, Function<Consumer<BookingResponse>, BookingResponse> booking) {
+        try {
+            return booking.apply(response -> storeResponse(key, response));
+        } catch (RuntimeException e) {
+            // Release the key, so waiting duplicates and later retries book again
+            jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ?", key);
+            throw e;
+        }
+    }
+
+    /**
+     * Stores the response of a booking, called within the booking's transaction.
+     */
+    private void storeResponse(String key, BookingResponse response) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Booking response cannot be serialized", e);
+        }
+
+        // Without the claimed row, e.g. deleted as expired, the booking is rolled back rather than left unprotected
+        if (jdbcTemplate.update("UPDATE idempotency_keys SET response = ? WHERE idempotency_key = ?", json, key) != 1) {
+            throw new IdempotentRequestInProgressError();
+        }
+    }
+
+    private BookingResponse deserialize(String response) {
+        try {
+            return objectMapper.readValue(response, BookingResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored booking response cannot be deserialized", e);
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotentRequestInProgressError();
+        }
+    }
+
+    /**
+     * The fingerprint of the request a key was claimed with, and the response once the booking has been made.
+     */
+    @Value
+    private static class StoredEntry {
+
+        String requestFingerprint;
+        String response;
+    }
+}
@@ -0,0 +1,16 @@
+package com.bloomreach.garage.reservation.api.invalidation;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * A committed availability change, as broadcast to other instances.
+ */
+@Value
+public class AvailabilityInvalidation {
+
+    Long garageId; // Null when every garage is affected
+    LocalDate date; // Null when every date is affected
+    long version; // Version of the change on the instance that made it
+}
@@ -0,0 +1,181 @@
+package com.bloomreach.garage.reservation.api.invalidation;
+
+import com.bloomreach.garage.reservation.api.component.AvailabilityVersionTracker;
+import com.bloomreach.garage.reservation.api.event.AvailabilityChangedEvent;
+import com.bloomreach.garage.reservation.config.InvalidationProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Broadcasts the availability changes of this instance to the other instances of a deployment, and applies theirs.
+ * <p>
+ * Every committed change (a booking, a hold, a closure or a schedule edit) bumps an availability version, which
+ * is collected here and sent in batches on a fixed interval. Changes of the same dates within an interval are
+ * coalesced, keeping the highest version. Received changes bump the local version of their dates, so cached slots
+ * are refreshed on every instance instead of only on the one that made the change.
+ * </p>
+ * <p>
+ * Every change carries the version it had on its instance. A change is only applied if its version is higher
+ * than that of every change already applied from the same instance covering its dates, so late, duplicated or
+ * reordered deliveries are dropped instead of invalidating fresh slots again. Without a configured transport
+ * the bus does nothing.
+ * </p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class AvailabilityInvalidationBus {
+
+    private final AvailabilityVersionTracker availabilityVersionTracker;
+    private final ObjectProvider<InvalidationTransport> transportProvider;
+    private final InvalidationProperties invalidationProperties;
+    private final TaskScheduler taskScheduler;
+    private final Clock clock;
+
+    private final String originId = UUID.randomUUID().toString();
+    private final ConcurrentMap<Scope, Long> pending = new ConcurrentHashMap<>();
+    private final ConcurrentMap<OriginScope, Long> appliedVersions = new ConcurrentHashMap<>();
+    private InvalidationTransport transport;
+
+    @PostConstruct
+    void start() {
+        transport = transportProvider.getIfAvailable();
+        if (transport == null) {
+            return;
+        }
+
+        transport.subscribe(this::receive);
+        taskScheduler.scheduleWithFixedDelay(this::flush, invalidationProperties.getFlushInterval());
+        log.info("Broadcasting availability changes as {} with {}", originId, transport.getClass().getSimpleName());
+    }
+
+    /**
+     * Queues a change committed on this instance for the next batch.
+     *
+     * @param event The availability change.
+     */
+    @EventListener
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        if (transport == null || event.isRemote()) {
+            return;
+        }
+
+        pending.merge(new Scope(event.getGarageId(), event.getDate()), event.getVersion(), Math::max);
+    }
+
+    /**
+     * Sends the queued changes, split into batches of the maximum batch size.
+     */
+    void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<AvailabilityInvalidation> invalidations = new ArrayList<>();
+        for (Scope scope : List.copyOf(pending.keySet())) {
+            Long version = pending.remove(scope);
+            if (version != null) {
+                invalidations.add(new AvailabilityInvalidation(scope.getGarageId(), scope.getDate(), version));
+            }
+        }
+
+        int maxBatchSize = invalidationProperties.getMaxBatchSize();
+        for (int from = 0; from < invalidations.size(); from += maxBatchSize) {
+            List<AvailabilityInvalidation> chunk = invalidations.subList(from, Math.min(from + maxBatchSize, invalidations.size()));
+            try {
+                transport.publish(new InvalidationBatch(originId, List.copyOf(chunk)));
+            } catch (RuntimeException e) {
+                // Queued again for the next flush, merged with changes made meanwhile
+                log.warn("Broadcasting {} availability changes failed: {}", chunk.size(), e.getMessage());
+                chunk.forEach(invalidation -> pending.merge(
+                        new Scope(invalidation.getGarageId(), invalidation.getDate()), invalidation.getVersion(), Math::max));
+            }
+        }
+    }
+
+    /**
+     * Applies the changes of another instance that have not been applied yet.
+     *
+     * @param batch The changes of an instance.
+     */
+    void receive(InvalidationBatch batch) {
+        if (originId.equals(batch.getOriginId())) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now(clock);
+        for (AvailabilityInvalidation invalidation : batch.getInvalidations()) {
+            if (invalidation.getDate() != null && invalidation.getDate().isBefore(today)) {
+                continue;
+            }
+
+            if (invalidation.getVersion() <= coveringVersion(batch.getOriginId(), invalidation)) {
+                continue;
+            }
+
+            OriginScope originScope = new OriginScope(batch.getOriginId(),
+                    new Scope(invalidation.getGarageId(), invalidation.getDate()));
+            appliedVersions.merge(originScope, invalidation.getVersion(), Math::max);
+            availabilityVersionTracker.applyRemote(invalidation.getGarageId(), invalidation.getDate(), invalidation.getVersion());
+        }
+
+        appliedVersions.keySet().removeIf(originScope ->
+                originScope.getScope().getDate() != null && originScope.getScope().getDate().isBefore(today));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (transport != null) {
+            flush();
+        }
+    }
+
+    /**
+     * Finds the highest version applied from an instance for a change covering the dates of an invalidation:
+     * the same scope, the same date of every garage or every date.
+     */
+    private long coveringVersion(String origin, AvailabilityInvalidation invalidation) {
+        long version = appliedVersions.getOrDefault(new OriginScope(origin, new Scope(null, null)), 0L);
+        if (invalidation.getDate() != null) {
+            version = Math.max(version, appliedVersions.getOrDefault(
+                    new OriginScope(origin, new Scope(null, invalidation.getDate())), 0L));
+        }
+        if (invalidation.getGarageId() != null) {
+            version = Math.max(version, appliedVersions.getOrDefault(
+                    new OriginScope(origin, new Scope(invalidation.getGarageId(), invalidation.getDate())), 0L));
+        }
+        return version;
+    }
+
+    /**
+     * The dates a change applies to.
+     */
+    @Value
+    private static class Scope {
+
+        Long garageId; // Null when every garage is affected
+        LocalDate date; // Null when every date is affected
+    }
+
+    @Value
+    private static class OriginScope {
+
+        String originId;
+        Scope scope;
+    }
+}
@@ -0,0 +1,15 @@
+package com.bloomreach.garage.reservation.api.invalidation;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Availability changes of one instance, broadcast together.
+ */
+@Value
+public class InvalidationBatch {
+
+    String originId;
+    List<AvailabilityInvalidation> invalidations;
+}
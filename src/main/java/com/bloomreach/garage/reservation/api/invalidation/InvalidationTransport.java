@@ -0,0 +1,27 @@
+package com.bloomreach.garage.reservation.api.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries availability invalidations between the instances of a deployment.
+ * <p>
+ * Delivery may be late, duplicated or out of order, as every invalidation carries a version that lets
+ * the receiver discard the ones it has already applied.
+ * </p>
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Sends a batch of invalidations to the other instances.
+     *
+     * @param batch The invalidations of this instance.
+     */
+    void publish(InvalidationBatch batch);
+
+    /**
+     * Registers the receiver of batches sent by any instance, including this one.
+     *
+     * @param listener Receives every batch.
+     */
+    void subscribe(Consumer<InvalidationBatch> listener);
+}
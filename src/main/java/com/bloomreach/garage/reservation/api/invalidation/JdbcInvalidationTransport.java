@@ -0,0 +1,95 @@
+package com.bloomreach.garage.reservation.api.invalidation;
+
+import com.bloomreach.garage.reservation.config.InvalidationProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Exchanges invalidations through the {@code availability_invalidations} table of the shared database.
+ * <p>
+ * Batches are inserted as rows stamped with the database time, and every instance polls for rows newer than
+ * the newest one it has seen. Rows of transactions that commit out of order can become visible after newer
+ * rows, so every poll reads again the configured look-back window before that point; the versions of the
+ * invalidations make those repeated deliveries harmless. Rows older than the retention are deleted.
+ * </p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(prefix = "garage.reservation.invalidation", name = "transport", havingValue = "jdbc")
+public class JdbcInvalidationTransport implements InvalidationTransport {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskScheduler taskScheduler;
+    private final InvalidationProperties invalidationProperties;
+
+    private final List<Consumer<InvalidationBatch>> listeners = new CopyOnWriteArrayList<>();
+    private volatile Timestamp newestSeen;
+
+    @Override
+    public void publish(InvalidationBatch batch) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO availability_invalidations (origin_id, garage_id, `date`, version) VALUES (?, ?, ?, ?)",
+                batch.getInvalidations(), batch.getInvalidations().size(), (statement, invalidation) -> {
+                    statement.setString(1, batch.getOriginId());
+                    statement.setObject(2, invalidation.getGarageId(), Types.BIGINT);
+                    statement.setObject(3, invalidation.getDate() != null ? Date.valueOf(invalidation.getDate()) : null, Types.DATE);
+                    statement.setLong(4, invalidation.getVersion());
+                });
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationBatch> listener) {
+        if (listeners.isEmpty()) {
+            // Changes made before this instance started are already reflected in the database
+            newestSeen = jdbcTemplate.queryForObject("SELECT CURRENT_TIMESTAMP", Timestamp.class);
+            taskScheduler.scheduleWithFixedDelay(this::poll, invalidationProperties.getPollInterval());
+        }
+        listeners.add(listener);
+    }
+
+    void poll() {
+        try {
+            Timestamp from = new Timestamp(newestSeen.getTime() - invalidationProperties.getLookback().toMillis());
+            Map<String, List<AvailabilityInvalidation>> invalidationsByOrigin = new LinkedHashMap<>();
+            jdbcTemplate.query(
+                    "SELECT origin_id, garage_id, `date`, version, published_at FROM availability_invalidations "
+                            + "WHERE published_at >= ? ORDER BY id",
+                    resultSet -> {
+                        Date date = resultSet.getDate("date");
+                        invalidationsByOrigin.computeIfAbsent(resultSet.getString("origin_id"), origin -> new ArrayList<>())
+                                .add(new AvailabilityInvalidation(resultSet.getObject("garage_id", Long.class),
+                                        date != null ? date.toLocalDate() : null, resultSet.getLong("version")));
+                        Timestamp publishedAt = resultSet.getTimestamp("published_at");
+                        if (publishedAt.after(newestSeen)) {
+                            newestSeen = publishedAt;
+                        }
+                    },
+                    from);
+
+            invalidationsByOrigin.forEach((originId, invalidations) -> {
+                InvalidationBatch batch = new InvalidationBatch(originId, invalidations);
+                listeners.forEach(listener -> listener.accept(batch));
+            });
+
+            jdbcTemplate.update("DELETE FROM availability_invalidations WHERE published_at < ?",
+                    new Timestamp(newestSeen.getTime() - invalidationProperties.getRetention().toMillis()));
+        } catch (RuntimeException e) {
+            log.warn("Polling availability invalidations failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.bloomreach.garage.reservation.api.invalidation;
+
+import com.bloomreach.garage.reservation.config.InvalidationProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+/**
+ * Delivers invalidations between application contexts running in the same JVM, e.g. the instances of an
+ * integration test.
+ * <p>
+ * Contexts configured with the same channel name share a static registry of listeners, and batches are
+ * delivered synchronously on the publishing thread, so a test can assert on the receivers right after a flush.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(prefix = "garage.reservation.invalidation", name = "transport", havingValue = "loopback")
+public class LoopbackInvalidationTransport implements InvalidationTransport {
+
+    private static final ConcurrentMap<String, Set<Consumer<InvalidationBatch>>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final InvalidationProperties invalidationProperties;
+    private final Set<Consumer<InvalidationBatch>> listeners = new CopyOnWriteArraySet<>();
+
+    @Override
+    public void publish(InvalidationBatch batch) {
+        CHANNELS.getOrDefault(invalidationProperties.getChannel(), Set.of())
+                .forEach(listener -> listener.accept(batch));
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationBatch> listener) {
+        listeners.add(listener);
+        CHANNELS.computeIfAbsent(invalidationProperties.getChannel(), channel -> new CopyOnWriteArraySet<>())
+                .add(listener);
+    }
+
+    @PreDestroy
+    void unsubscribe() {
+        CHANNELS.computeIfPresent(invalidationProperties.getChannel(), (channel, channelListeners) -> {
+            channelListeners.removeAll(listeners);
+            return channelListeners.isEmpty() ? null : channelListeners;
+        });
+    }
+}
@@ -0,0 +1,387 @@
+package com.bloomreach.garage.reservation.api.journal;
+
+import com.bloomreach.garage.reservation.api.entity.GarageAppointment;
+import com.bloomreach.garage.reservation.config.JournalProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Appends every committed booking to a binary journal on disk, from which the bookings can be replayed at startup.
+ * <p>
+ * Appointments created, changed or deleted through the REST repositories are journaled as well: the appointment
+ * is read again once the change has committed and appended as a change, or as a deletion if it no longer exists,
+ * so a replay neither restores deleted appointments nor moved ones at their previous time.
+ * </p>
+ * <p>
+ * The journal is a sequence of segment files of a fixed size, each memory-mapped while it is written, so an append
+ * is a copy into the page cache without a system call. Every segment starts with a header, followed by records made
+ * of the length of the event, the CRC32 of the event and the event encoded by {@link BookingJournalCodec}. The length
+ * is written last and a zero length marks the end of the written records, so a record torn by a crash is never read.
+ * When the next record does not fit, the journal rolls over to a new segment.
+ * </p>
+ * <p>
+ * Appended records survive a crash of the process. They only survive a crash of the machine once the operating
+ * system has written them back, unless every append is forced to disk with {@code journal.force-on-append}.
+ * </p>
+ * <p>
+ * A snapshot holds every appointment at a position of the journal, so a replay reads the latest snapshot and only
+ * the records after its position. The segments before it are deleted once the snapshot is written.
+ * </p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(prefix = "garage.reservation.journal", name = "enabled", havingValue = "true")
+public class BookingJournal {
+
+    private static final int SEGMENT_MAGIC = 0x47524A31; // "GRJ1"
+    private static final int SNAPSHOT_MAGIC = 0x47525331; // "GRS1"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 8; // Magic and format version
+    private static final int RECORD_HEADER_SIZE = 8; // Length and CRC32 of the event
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d{20})\\.journal");
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d{20})-(\\d{10})\\.snapshot");
+
+    private final JournalProperties journalProperties;
+    private final JournalAppointmentReader journalAppointmentReader;
+
+    private Path directory;
+    private MappedByteBuffer segmentBuffer;
+    private long segment;
+    private int position;
+
+    @PostConstruct
+    synchronized void open() throws IOException {
+        directory = Paths.get(journalProperties.getDirectory());
+        Files.createDirectories(directory);
+
+        List<Long> segments = listSegments();
+        if (segments.isEmpty()) {
+            openNewSegment(1);
+            return;
+        }
+
+        // Appends continue after the last complete record of the last segment
+        segment = segments.get(segments.size() - 1);
+        segmentBuffer = map(segmentPath(segment), FileChannel.MapMode.READ_WRITE, Files.size(segmentPath(segment)));
+        checkHeader(segmentBuffer, SEGMENT_MAGIC, segmentPath(segment));
+        position = scan(segmentBuffer, HEADER_SIZE, segmentBuffer.capacity(), event -> {
+        });
+        if (position + Integer.BYTES <= segmentBuffer.capacity()) {
+            // Hides a torn record, which would otherwise be found again behind the next record written over it
+            segmentBuffer.putInt(position, 0);
+        }
+
+        log.info("Opened booking journal {} at segment {}, offset {}", directory, segment, position);
+    }
+
+    /**
+     * Appends a saved appointment to the journal once the current transaction commits, or immediately if no
+     * transaction is active. A failed append is logged, as the booking itself has already been committed.
+     *
+     * @param appointment The saved appointment, with its operations.
+     */
+    public void append(GarageAppointment appointment) {
+        BookingJournalEvent event = BookingJournalEvent.of(appointment);
+        afterCommit(() -> {
+            try {
+                write(BookingJournalCodec.encode(event));
+            } catch (IOException | RuntimeException e) {
+                log.error("Journaling the booking of appointment {} failed", event.getAppointmentId(), e);
+            }
+        });
+    }
+
+    /**
+     * Appends the current state of an appointment changed outside the booking path once the current transaction
+     * commits, or immediately if no transaction is active: the whole appointment if it exists, or its deletion.
+     * A failed append is logged, as the change itself has already been committed.
+     *
+     * @param appointmentId The ID of the created, changed or deleted appointment.
+     */
+    public void appendChange(long appointmentId) {
+        afterCommit(() -> {
+            try {
+                // Reading under the lock keeps concurrent changes of an appointment in the order they committed
+                synchronized (this) {
+                    BookingJournalEvent event = journalAppointmentReader.read(appointmentId)
+                            .map(BookingJournalEvent::asChanged)
+                            .orElseGet(() -> BookingJournalEvent.deleted(appointmentId));
+                    write(BookingJournalCodec.encode(event));
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("Journaling the change of appointment {} failed", appointmentId, e);
+            }
+        });
+    }
+
+    /**
+     * Returns the position after the last appended record.
+     *
+     * @return The current end of the journal.
+     */
+    public synchronized JournalPosition currentPosition() {
+        return new JournalPosition(segment, position);
+    }
+
+    /**
+     * Replays the latest snapshot and every record appended after it, up to the current end of the journal.
+     * <p>
+     * Records after the snapshot position can repeat appointments of the snapshot, and the consumer has to
+     * skip appointments it has already seen. Changes and deletions follow the events they replace.
+     * </p>
+     *
+     * @param consumer The consumer of the events, called in journal order.
+     * @return The number of replayed events and bytes.
+     * @throws IOException if a segment or the snapshot cannot be read.
+     */
+    public ReplayResult replay(Consumer<BookingJournalEvent> consumer) throws IOException {
+        JournalPosition end = currentPosition();
+        long[] events = {0};
+        Consumer<BookingJournalEvent> countingConsumer = event -> {
+            events[0]++;
+            consumer.accept(event);
+        };
+
+        long bytes = 0;
+        JournalPosition from = new JournalPosition(0, HEADER_SIZE);
+        Optional<Path> snapshot = latestSnapshot();
+        if (snapshot.isPresent()) {
+            MappedByteBuffer buffer = map(snapshot.get(), FileChannel.MapMode.READ_ONLY, Files.size(snapshot.get()));
+            checkHeader(buffer, SNAPSHOT_MAGIC, snapshot.get());
+            from = new JournalPosition(buffer.getLong(HEADER_SIZE), buffer.getInt(HEADER_SIZE + Long.BYTES));
+            int offset = HEADER_SIZE + Long.BYTES + Integer.BYTES;
+            bytes += scan(buffer, offset, buffer.capacity(), countingConsumer) - offset;
+        }
+
+        for (long segmentNumber : listSegments()) {
+            if (segmentNumber < from.getSegment() || segmentNumber > end.getSegment()) {
+                continue;
+            }
+
+            Path path = segmentPath(segmentNumber);
+            MappedByteBuffer buffer = map(path, FileChannel.MapMode.READ_ONLY, Files.size(path));
+            checkHeader(buffer, SEGMENT_MAGIC, path);
+            int offset = segmentNumber == from.getSegment() ? from.getOffset() : HEADER_SIZE;
+            int limit = segmentNumber == end.getSegment() ? end.getOffset() : buffer.capacity();
+            bytes += scan(buffer, offset, limit, countingConsumer) - offset;
+        }
+
+        return new ReplayResult(events[0], bytes);
+    }
+
+    /**
+     * Writes a snapshot of every appointment at a position of the journal, and deletes the snapshots and segments
+     * it replaces.
+     *
+     * @param position The position of the journal the appointments reflect, taken before they were read.
+     * @param events   The appointments.
+     * @throws IOException if the snapshot cannot be written.
+     */
+    public void writeSnapshot(JournalPosition position, List<BookingJournalEvent> events) throws IOException {
+        Path snapshot = directory.resolve(String.format("snapshot-%020d-%010d.snapshot",
+                position.getSegment(), position.getOffset()));
+        Path temporary = directory.resolve(snapshot.getFileName() + ".tmp");
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            output.writeInt(SNAPSHOT_MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            output.writeLong(position.getSegment());
+            output.writeInt(position.getOffset());
+            CRC32 crc = new CRC32();
+            for (BookingJournalEvent event : events) {
+                byte[] payload = BookingJournalCodec.encode(event);
+                crc.reset();
+                crc.update(payload);
+                output.writeInt(payload.length);
+                output.writeInt((int) crc.getValue());
+                output.write(payload);
+            }
+            output.writeInt(0);
+        }
+
+        // A replay never sees a partially written snapshot
+        Files.move(temporary, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        for (Path path : listFiles(SNAPSHOT_NAME)) {
+            if (!path.equals(snapshot)) {
+                Files.deleteIfExists(path);
+            }
+        }
+        for (long segmentNumber : listSegments()) {
+            if (segmentNumber < position.getSegment()) {
+                Files.deleteIfExists(segmentPath(segmentNumber));
+            }
+        }
+
+        log.info("Wrote journal snapshot of {} appointments at segment {}, offset {}",
+                events.size(), position.getSegment(), position.getOffset());
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        if (segmentBuffer != null) {
+            segmentBuffer.force();
+        }
+    }
+
+    /**
+     * Writes an encoded event after the last record, rolling over to a new segment if it does not fit.
+     */
+    synchronized void write(byte[] payload) throws IOException {
+        int recordSize = RECORD_HEADER_SIZE + payload.length;
+        if (HEADER_SIZE + recordSize + Integer.BYTES > segmentBuffer.capacity()) {
+            throw new IllegalArgumentException("Journal event of " + payload.length + " bytes exceeds the segment size");
+        }
+
+        if (position + recordSize + Integer.BYTES > segmentBuffer.capacity()) {
+            segmentBuffer.force();
+            openNewSegment(segment + 1);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        segmentBuffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+        segmentBuffer.put(position + RECORD_HEADER_SIZE, payload);
+        segmentBuffer.putInt(position + recordSize, 0);
+        // The length makes the record visible, so it is written last
+        segmentBuffer.putInt(position, payload.length);
+        if (journalProperties.isForceOnAppend()) {
+            segmentBuffer.force(position, recordSize);
+        }
+
+        position += recordSize;
+    }
+
+    private void openNewSegment(long segmentNumber) throws IOException {
+        segmentBuffer = map(segmentPath(segmentNumber), FileChannel.MapMode.READ_WRITE,
+                journalProperties.getSegmentSize().toBytes());
+        segmentBuffer.putInt(0, SEGMENT_MAGIC);
+        segmentBuffer.putInt(Integer.BYTES, FORMAT_VERSION);
+        segment = segmentNumber;
+        position = HEADER_SIZE;
+    }
+
+    /**
+     * Reads the records of a buffer from an offset until a zero length, an incomplete or corrupt record, or the limit.
+     *
+     * @return The offset after the last complete record.
+     */
+    private static int scan(ByteBuffer buffer, int offset, int limit, Consumer<BookingJournalEvent> consumer) {
+        CRC32 crc = new CRC32();
+        while (offset + RECORD_HEADER_SIZE <= limit) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + RECORD_HEADER_SIZE + length > limit) {
+                break;
+            }
+
+            ByteBuffer payload = buffer.slice(offset + RECORD_HEADER_SIZE, length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(offset + Integer.BYTES)) {
+                break;
+            }
+
+            consumer.accept(BookingJournalCodec.decode(payload));
+            offset += RECORD_HEADER_SIZE + length;
+        }
+        return offset;
+    }
+
+    private static MappedByteBuffer map(Path path, FileChannel.MapMode mode, long size) throws IOException {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[]{StandardOpenOption.READ}
+                : new StandardOpenOption[]{StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE};
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            return channel.map(mode, 0, size);
+        }
+    }
+
+    private static void checkHeader(ByteBuffer buffer, int magic, Path path) {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != magic) {
+            throw new IllegalStateException("Not a booking journal file: " + path);
+        }
+        if (buffer.getInt(Integer.BYTES) != FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported booking journal format version " + buffer.getInt(Integer.BYTES)
+                    + " of " + path);
+        }
+    }
+
+    private Path segmentPath(long segmentNumber) {
+        return directory.resolve(String.format("segment-%020d.journal", segmentNumber));
+    }
+
+    private List<Long> listSegments() throws IOException {
+        return listFiles(SEGMENT_NAME).stream()
+                .map(path -> {
+                    Matcher matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+                    matcher.matches();
+                    return Long.parseLong(matcher.group(1));
+                })
+                .sorted()
+                .toList();
+    }
+
+    private Optional<Path> latestSnapshot() throws IOException {
+        // Zero-padded positions sort by name
+        return listFiles(SNAPSHOT_NAME).stream()
+                .max((first, second) -> first.getFileName().toString().compareTo(second.getFileName().toString()));
+    }
+
+    private List<Path> listFiles(Pattern namePattern) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> namePattern.matcher(path.getFileName().toString()).matches()).toList();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * The amount of data read by a replay.
+     */
+    @Value
+    public static class ReplayResult {
+
+        long events;
+        long bytes;
+    }
+}
@@ -0,0 +1,153 @@
+package com.bloomreach.garage.reservation.api.journal;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes booking journal events in a compact binary format.
+ * <p>
+ * An event starts with its type byte and the identifier of the appointment. A deletion ends there. A booking or a
+ * change continues with the identifiers of the customer, the garage and
+ * the garage box, the date as its epoch day (zigzag-encoded), and the start and end of the appointment as seconds of
+ * the day. Then come the number of operations and, per operation, the identifiers of the operation record, the
+ * operation and the mechanic, and its start and end. All numbers are unsigned LEB128 varints, so a booking with one
+ * operation takes about 30 bytes.
+ * </p>
+ */
+public final class BookingJournalCodec {
+
+    public static final byte BOOKED = 1;
+    public static final byte CHANGED = 2;
+    public static final byte DELETED = 3;
+
+    private BookingJournalCodec() {
+        // empty constructor
+    }
+
+    /**
+     * Encodes a journal event.
+     *
+     * @param event The event to encode.
+     * @return The encoded event.
+     */
+    public static byte[] encode(BookingJournalEvent event) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(16 + event.getOperations().size() * 12);
+        output.write(switch (event.getType()) {
+            case BOOKED -> BOOKED;
+            case CHANGED -> CHANGED;
+            case DELETED -> DELETED;
+        });
+        writeVarint(output, event.getAppointmentId());
+        if (event.getType() == BookingJournalEvent.Type.DELETED) {
+            return output.toByteArray();
+        }
+
+        writeVarint(output, event.getCustomerId());
+        writeVarint(output, event.getGarageId());
+        writeVarint(output, event.getGarageBoxId());
+        long epochDay = event.getDate().toEpochDay();
+        writeVarint(output, (epochDay << 1) ^ (epochDay >> 63));
+        writeVarint(output, event.getStartTime().toSecondOfDay());
+        writeVarint(output, event.getEndTime().toSecondOfDay());
+
+        writeVarint(output, event.getOperations().size());
+        for (BookingJournalEvent.Operation operation : event.getOperations()) {
+            writeVarint(output, operation.getId());
+            writeVarint(output, operation.getOperationId());
+            writeVarint(output, operation.getEmployeeId());
+            writeVarint(output, operation.getStartTime().toSecondOfDay());
+            writeVarint(output, operation.getEndTime().toSecondOfDay());
+        }
+
+        return output.toByteArray();
+    }
+
+    /**
+     * Decodes a journal event encoded by {@link #encode(BookingJournalEvent)}, reading the remaining bytes of a buffer.
+     *
+     * @param buffer The encoded event.
+     * @return The decoded event.
+     * @throws IllegalArgumentException if the bytes are not a valid encoding.
+     */
+    public static BookingJournalEvent decode(ByteBuffer buffer) {
+        try {
+            int typeByte = buffer.get();
+            BookingJournalEvent.Type type = switch (typeByte) {
+                case BOOKED -> BookingJournalEvent.Type.BOOKED;
+                case CHANGED -> BookingJournalEvent.Type.CHANGED;
+                case DELETED -> BookingJournalEvent.Type.DELETED;
+                default -> throw new IllegalArgumentException("Unknown journal event type: " + typeByte);
+            };
+
+            long appointmentId = readVarint(buffer);
+            if (type == BookingJournalEvent.Type.DELETED) {
+                if (buffer.hasRemaining()) {
+                    throw new IllegalArgumentException("Trailing bytes after journal event " + appointmentId);
+                }
+                return BookingJournalEvent.deleted(appointmentId);
+            }
+
+            long customerId = readVarint(buffer);
+            long garageId = readVarint(buffer);
+            long garageBoxId = readVarint(buffer);
+            long zigzagEpochDay = readVarint(buffer);
+            LocalDate date = LocalDate.ofEpochDay((zigzagEpochDay >>> 1) ^ -(zigzagEpochDay & 1));
+            LocalTime startTime = readTime(buffer);
+            LocalTime endTime = readTime(buffer);
+
+            long count = readVarint(buffer);
+            // Every operation takes at least five bytes, which bounds the list before allocating it
+            if (count > buffer.remaining() / 5) {
+                throw new IllegalArgumentException("Operation count exceeds the encoded length: " + count);
+            }
+
+            List<BookingJournalEvent.Operation> operations = new ArrayList<>((int) count);
+            for (int i = 0; i < count; i++) {
+                operations.add(new BookingJournalEvent.Operation(
+                        readVarint(buffer), readVarint(buffer), readVarint(buffer), readTime(buffer), readTime(buffer)));
+            }
+
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Trailing bytes after journal event " + appointmentId);
+            }
+
+            return new BookingJournalEvent(type, appointmentId, customerId, garageId, garageBoxId, date, startTime, endTime,
+                    operations);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Unexpected end of journal event", e);
+        }
+    }
+
+    private static LocalTime readTime(ByteBuffer buffer) {
+        long secondOfDay = readVarint(buffer);
+        if (secondOfDay >= 24 * 60 * 60) {
+            throw new IllegalArgumentException("Second of day out of range: " + secondOfDay);
+        }
+        return LocalTime.ofSecondOfDay(secondOfDay);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream output, long value) {
+        while ((value & ~0x7FL) != 0) {
+            output.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        output.write((int) value);
+    }
+
+    private static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = buffer.get() & 0xFF;
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint is longer than 10 bytes");
+    }
+}
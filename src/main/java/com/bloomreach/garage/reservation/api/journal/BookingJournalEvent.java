@@ -0,0 +1,104 @@
+package com.bloomreach.garage.reservation.api.journal;
+
+import com.bloomreach.garage.reservation.api.entity.GarageAppointment;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * A committed change of an appointment as recorded in the booking journal: the appointment with the identifiers it
+ * was saved with, so that replaying the journal restores the same rows, or only its identifier if it was deleted.
+ */
+@Value
+public class BookingJournalEvent {
+
+    Type type;
+    long appointmentId;
+    long customerId;
+    long garageId;
+    long garageBoxId;
+    LocalDate date;
+    LocalTime startTime;
+    LocalTime endTime;
+    List<Operation> operations;
+
+    /**
+     * Records a saved appointment.
+     *
+     * @param appointment The saved appointment, with its operations.
+     * @return The journal event of the appointment.
+     */
+    public static BookingJournalEvent of(GarageAppointment appointment) {
+        return new BookingJournalEvent(
+                Type.BOOKED,
+                appointment.getId(),
+                appointment.getCustomer().getId(),
+                appointment.getGarageId(),
+                appointment.getGarageBox().getId(),
+                appointment.getDate(),
+                appointment.getStartTime(),
+                appointment.getEndTime(),
+                appointment.getOperations().stream()
+                        .map(operation -> new Operation(
+                                operation.getId(),
+                                operation.getOperation().getId(),
+                                operation.getEmployee().getId(),
+                                operation.getStartTime(),
+                                operation.getEndTime()))
+                        .toList());
+    }
+
+    /**
+     * Records the deletion of an appointment.
+     *
+     * @param appointmentId The ID of the deleted appointment.
+     * @return The journal event of the deletion.
+     */
+    public static BookingJournalEvent deleted(long appointmentId) {
+        return new BookingJournalEvent(Type.DELETED, appointmentId, 0, 0, 0, null, null, null, List.of());
+    }
+
+    /**
+     * Returns this appointment as the state it was changed to.
+     *
+     * @return The journal event of the change.
+     */
+    public BookingJournalEvent asChanged() {
+        return new BookingJournalEvent(Type.CHANGED, appointmentId, customerId, garageId, garageBoxId, date, startTime,
+                endTime, operations);
+    }
+
+    /**
+     * The kind of a journal event.
+     */
+    public enum Type {
+        /**
+         * An appointment was booked.
+         */
+        BOOKED,
+        /**
+         * An appointment, or one of its operations, was changed through the REST repositories, e.g. moved to
+         * another date. The event holds the complete appointment after the change.
+         */
+        CHANGED,
+        /**
+         * An appointment was deleted. The event only holds its identifier.
+         */
+        DELETED
+    }
+
+    /**
+     * An operation of a journaled appointment and the mechanic assigned to it.
+     */
+    @Value
+    public static class Operation {
+
+        long id;
+        long operationId;
+        long employeeId;
+        LocalTime startTime;
+        LocalTime endTime;
+    }
+}
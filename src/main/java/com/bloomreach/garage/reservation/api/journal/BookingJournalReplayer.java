@@ -0,0 +1,270 @@
+package com.bloomreach.garage.reservation.api.journal;
+
+import com.bloomreach.garage.reservation.api.component.AvailabilityVersionTracker;
+import com.bloomreach.garage.reservation.api.component.ReservationCellLedger;
+import com.bloomreach.garage.reservation.api.entity.Employee;
+import com.bloomreach.garage.reservation.api.entity.GarageAppointment;
+import com.bloomreach.garage.reservation.api.entity.GarageAppointmentOperation;
+import com.bloomreach.garage.reservation.api.entity.GarageBox;
+import com.bloomreach.garage.reservation.config.JournalProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Replays the booking journal at startup and writes its snapshots.
+ * <p>
+ * With {@code journal.restore-database} the appointments of the journal that are missing from the database, e.g.
+ * after a restart with the in-memory database, are inserted again with their original identifiers, their reservation
+ * cells are claimed and the availability of every date is refreshed. Otherwise the replay only reports how many
+ * journaled appointments the database is missing. Appointments are restored in batches, and a batch containing an
+ * appointment that can no longer be inserted, e.g. because its customer no longer exists, is retried one appointment
+ * at a time to skip it.
+ * </p>
+ * <p>
+ * Appointments changed or deleted through the REST repositories are only known at the end of the replay, by their
+ * last change. Once the bookings have been restored, each of them is deleted from the database and, unless its last
+ * change is a deletion, inserted again as it was last changed. Only these appointments are kept in memory.
+ * </p>
+ * <p>
+ * The replay runs before any other application runner, so the warm-up and the readiness probe see the restored
+ * appointments. Its duration is logged together with the read throughput of the journal and recorded as the
+ * {@code garage.journal.replay} timer. Snapshots are only written once the replay has finished, as a snapshot of
+ * a database that is still missing appointments would drop them from the journal.
+ * </p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "garage.reservation.journal", name = "enabled", havingValue = "true")
+public class BookingJournalReplayer implements ApplicationRunner {
+
+    private static final String INSERT_APPOINTMENT = "INSERT INTO garage_appointments "
+            + "(id, customer_id, garage_box_id, garage_id, `date`, start_time, end_time) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_OPERATION = "INSERT INTO garage_appointment_operations "
+            + "(id, appointment_id, operation_id, employee_id, `date`, start_time, end_time) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final BookingJournal bookingJournal;
+    private final JournalAppointmentReader journalAppointmentReader;
+    private final ReservationCellLedger reservationCellLedger;
+    private final AvailabilityVersionTracker availabilityVersionTracker;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final TaskScheduler taskScheduler;
+    private final JournalProperties journalProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        long startNanos = System.nanoTime();
+
+        // Archived appointments are in the journal too, and must not come back to the hot tables
+        Set<Long> archivedIds = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT id FROM garage_appointments_archive", Long.class));
+        Set<Long> knownIds = new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM garage_appointments", Long.class));
+        knownIds.addAll(archivedIds);
+        List<BookingJournalEvent> missing = new ArrayList<>();
+        Map<Long, BookingJournalEvent> lastChanges = new LinkedHashMap<>();
+        long[] missingCount = {0};
+        long[] restored = {0};
+        long[] restoreNanos = {0};
+
+        BookingJournal.ReplayResult result = bookingJournal.replay(event -> {
+            if (event.getType() != BookingJournalEvent.Type.BOOKED) {
+                if (!archivedIds.contains(event.getAppointmentId())) {
+                    lastChanges.put(event.getAppointmentId(), event);
+                }
+                return;
+            }
+            if (!knownIds.add(event.getAppointmentId())) {
+                return;
+            }
+
+            missingCount[0]++;
+            if (journalProperties.isRestoreDatabase()) {
+                missing.add(event);
+                if (missing.size() >= journalProperties.getRestoreBatchSize()) {
+                    long restoreStartNanos = System.nanoTime();
+                    restored[0] += restore(missing);
+                    restoreNanos[0] += System.nanoTime() - restoreStartNanos;
+                    missing.clear();
+                }
+            }
+        });
+
+        long restoreStartNanos = System.nanoTime();
+        restored[0] += restore(missing);
+        int changed = journalProperties.isRestoreDatabase() ? applyChanges(lastChanges.values()) : 0;
+        if (restored[0] > 0 || changed > 0) {
+            restartIdentities();
+            availabilityVersionTracker.bumpAll();
+        }
+        restoreNanos[0] += System.nanoTime() - restoreStartNanos;
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - startNanos);
+        Timer.builder("garage.journal.replay").register(meterRegistry).record(duration);
+        long readNanos = Math.max(duration.toNanos() - restoreNanos[0], 1);
+        log.info("Replayed {} booking events ({} KB) from the journal in {} ms, reading {} events/s; "
+                        + "{} appointments missing from the database, {} restored; {} changed or deleted, {} applied",
+                result.getEvents(), result.getBytes() / 1024, duration.toMillis(),
+                result.getEvents() * 1_000_000_000L / readNanos, missingCount[0], restored[0],
+                lastChanges.size(), changed);
+
+        Duration snapshotInterval = journalProperties.getSnapshotInterval();
+        taskScheduler.scheduleWithFixedDelay(this::writeSnapshot, Instant.now().plus(snapshotInterval), snapshotInterval);
+    }
+
+    /**
+     * Writes a snapshot of every appointment of the database, compacting the journal.
+     */
+    void writeSnapshot() {
+        // Taken before reading the appointments, so appointments journaled meanwhile are replayed after the snapshot
+        JournalPosition position = bookingJournal.currentPosition();
+        List<BookingJournalEvent> appointments = journalAppointmentReader.readAll();
+
+        try {
+            bookingJournal.writeSnapshot(position, appointments);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Writing a journal snapshot failed, the journal is replayed from the previous one", e);
+        }
+    }
+
+    /**
+     * Inserts a batch of appointments in one transaction, or one by one if the batch fails.
+     *
+     * @return The number of inserted appointments.
+     */
+    private int restore(List<BookingJournalEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(events));
+            return events.size();
+        } catch (RuntimeException e) {
+            int inserted = 0;
+            for (BookingJournalEvent event : events) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(event)));
+                    inserted++;
+                } catch (RuntimeException eventException) {
+                    log.warn("Skipping journaled appointment {}: {}", event.getAppointmentId(), eventException.getMessage());
+                }
+            }
+            return inserted;
+        }
+    }
+
+    /**
+     * Replaces the appointments changed or deleted after their booking by their last change, one transaction each.
+     *
+     * @return The number of applied changes.
+     */
+    private int applyChanges(Collection<BookingJournalEvent> lastChanges) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int applied = 0;
+        for (BookingJournalEvent event : lastChanges) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    // The reservation cells are deleted together with the appointment
+                    jdbcTemplate.update("DELETE FROM garage_appointment_operations WHERE appointment_id = ?",
+                            event.getAppointmentId());
+                    jdbcTemplate.update("DELETE FROM garage_appointments WHERE id = ?", event.getAppointmentId());
+                    if (event.getType() == BookingJournalEvent.Type.CHANGED) {
+                        insert(List.of(event));
+                    }
+                });
+                applied++;
+            } catch (RuntimeException e) {
+                log.warn("Skipping journaled change of appointment {}: {}", event.getAppointmentId(), e.getMessage());
+            }
+        }
+        return applied;
+    }
+
+    private void insert(List<BookingJournalEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_APPOINTMENT, events.stream()
+                .map(event -> new Object[]{event.getAppointmentId(), event.getCustomerId(), event.getGarageBoxId(),
+                        event.getGarageId(), Date.valueOf(event.getDate()), Time.valueOf(event.getStartTime()),
+                        Time.valueOf(event.getEndTime())})
+                .toList());
+        jdbcTemplate.batchUpdate(INSERT_OPERATION, events.stream()
+                .flatMap(event -> event.getOperations().stream()
+                        .map(operation -> new Object[]{operation.getId(), event.getAppointmentId(),
+                                operation.getOperationId(), operation.getEmployeeId(), Date.valueOf(event.getDate()),
+                                Time.valueOf(operation.getStartTime()), Time.valueOf(operation.getEndTime())}))
+                .toList());
+
+        for (BookingJournalEvent event : events) {
+            reservationCellLedger.claim(toAppointment(event));
+        }
+    }
+
+    /**
+     * Builds the appointment of an event with only the identifiers the reservation cell ledger reads.
+     */
+    private static GarageAppointment toAppointment(BookingJournalEvent event) {
+        GarageBox garageBox = new GarageBox();
+        garageBox.setId(event.getGarageBoxId());
+
+        return GarageAppointment.builder()
+                .id(event.getAppointmentId())
+                .garageBox(garageBox)
+                .garageId(event.getGarageId())
+                .date(event.getDate())
+                .startTime(event.getStartTime())
+                .endTime(event.getEndTime())
+                .operations(event.getOperations().stream()
+                        .map(operation -> {
+                            Employee employee = new Employee();
+                            employee.setId(operation.getEmployeeId());
+                            return GarageAppointmentOperation.builder()
+                                    .employee(employee)
+                                    .startTime(operation.getStartTime())
+                                    .endTime(operation.getEndTime())
+                                    .build();
+                        })
+                        .toList())
+                .build();
+    }
+
+    /**
+     * Moves the identity columns past the restored identifiers, so new bookings do not collide with them.
+     * The statements use the H2 syntax of the schema.
+     */
+    private void restartIdentities() {
+        for (String table : List.of("garage_appointments", "garage_appointment_operations")) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+            if (maxId != null) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (maxId + 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.bloomreach.garage.reservation.api.journal;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads appointments of the database with their operations as journal events, for snapshots and for journaling
+ * changes made outside the booking path.
+ */
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(prefix = "garage.reservation.journal", name = "enabled", havingValue = "true")
+public class JournalAppointmentReader {
+
+    private static final String SELECT_APPOINTMENTS = "SELECT a.id, a.customer_id, a.garage_id, a.garage_box_id, "
+            + "a.`date`, a.start_time, a.end_time, o.id AS operation_record_id, o.operation_id, o.employee_id, "
+            + "o.start_time AS operation_start_time, o.end_time AS operation_end_time "
+            + "FROM garage_appointments a LEFT JOIN garage_appointment_operations o ON o.appointment_id = a.id ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reads every appointment of the database.
+     *
+     * @return The appointments as booking events, ordered by ID.
+     */
+    public List<BookingJournalEvent> readAll() {
+        return read(SELECT_APPOINTMENTS + "ORDER BY a.id, o.id");
+    }
+
+    /**
+     * Reads an appointment of the database.
+     *
+     * @param appointmentId The ID of the appointment.
+     * @return The appointment as a booking event, or empty if it does not exist.
+     */
+    public Optional<BookingJournalEvent> read(long appointmentId) {
+        return read(SELECT_APPOINTMENTS + "WHERE a.id = ? ORDER BY o.id", appointmentId).stream().findFirst();
+    }
+
+    private List<BookingJournalEvent> read(String sql, Object... arguments) {
+        Map<Long, BookingJournalEvent> appointments = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, resultSet -> {
+            long id = resultSet.getLong("id");
+            BookingJournalEvent appointment = appointments.get(id);
+            if (appointment == null) {
+                appointment = new BookingJournalEvent(BookingJournalEvent.Type.BOOKED, id,
+                        resultSet.getLong("customer_id"), resultSet.getLong("garage_id"),
+                        resultSet.getLong("garage_box_id"), resultSet.getDate("date").toLocalDate(),
+                        resultSet.getTime("start_time").toLocalTime(), resultSet.getTime("end_time").toLocalTime(),
+                        new ArrayList<>());
+                appointments.put(id, appointment);
+            }
+
+            Long operationRecordId = resultSet.getObject("operation_record_id", Long.class);
+            if (operationRecordId != null) {
+                appointment.getOperations().add(new BookingJournalEvent.Operation(operationRecordId,
+                        resultSet.getLong("operation_id"), resultSet.getLong("employee_id"),
+                        resultSet.getTime("operation_start_time").toLocalTime(),
+                        resultSet.getTime("operation_end_time").toLocalTime()));
+            }
+        }, arguments);
+
+        return List.copyOf(appointments.values());
+    }
+}
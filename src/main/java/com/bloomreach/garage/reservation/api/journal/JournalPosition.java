@@ -0,0 +1,24 @@
+package com.bloomreach.garage.reservation.api.journal;
+
+import lombok.Value;
+
+import java.util.Comparator;
+
+/**
+ * A position in the booking journal: the number of a segment and a byte offset within it.
+ */
+@Value
+public class JournalPosition implements Comparable<JournalPosition> {
+
+    private static final Comparator<JournalPosition> ORDER = Comparator
+            .comparingLong(JournalPosition::getSegment)
+            .thenComparingInt(JournalPosition::getOffset);
+
+    long segment;
+    int offset;
+
+    @Override
+    public int compareTo(JournalPosition other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -0,0 +1,40 @@
+package com.bloomreach.garage.reservation.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A slim view of an appointment operation, referencing its appointment, operation and mechanic by ID only.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A slim view of an appointment operation.")
+public class AppointmentOperationSummary {
+
+    @Schema(description = "Unique identifier of the appointment operation", example = "1")
+    private Long id;
+
+    @Schema(description = "The ID of the appointment the operation belongs to", example = "1")
+    private Long appointmentId;
+
+    @Schema(description = "The ID of the performed operation", example = "1")
+    private Long operationId;
+
+    @Schema(description = "The ID of the mechanic performing the operation", example = "1")
+    private Long employeeId;
+
+    @Schema(description = "The date of the operation", example = "2024-08-22")
+    private LocalDate date;
+
+    @Schema(description = "The start time of the operation", example = "09:00:00", pattern = "HH:mm:ss", type = "string")
+    private LocalTime startTime;
+
+    @Schema(description = "The end time of the operation", example = "10:00:00", pattern = "HH:mm:ss", type = "string")
+    private LocalTime endTime;
+}
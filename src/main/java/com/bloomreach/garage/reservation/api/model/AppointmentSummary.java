@@ -0,0 +1,37 @@
+package com.bloomreach.garage.reservation.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A slim view of an appointment, referencing its customer and garage box by ID only.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A slim view of an appointment.")
+public class AppointmentSummary {
+
+    @Schema(description = "Unique identifier of the appointment", example = "1")
+    private Long id;
+
+    @Schema(description = "The ID of the customer of the appointment", example = "1")
+    private Long customerId;
+
+    @Schema(description = "The ID of the garage box of the appointment", example = "1")
+    private Long garageBoxId;
+
+    @Schema(description = "The date of the appointment", example = "2024-08-22")
+    private LocalDate date;
+
+    @Schema(description = "The start time of the appointment", example = "09:00:00", pattern = "HH:mm:ss", type = "string")
+    private LocalTime startTime;
+
+    @Schema(description = "The end time of the appointment", example = "17:00:00", pattern = "HH:mm:ss", type = "string")
+    private LocalTime endTime;
+}
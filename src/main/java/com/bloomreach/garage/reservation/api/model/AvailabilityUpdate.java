@@ -0,0 +1,28 @@
+package com.bloomreach.garage.reservation.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Represents the available time slots of a date, pushed to subscribers when the availability of the date changes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Available time slots of a date, pushed when its availability changes.")
+public class AvailabilityUpdate {
+
+    @Schema(description = "The date the time slots belong to.", example = "2024-09-01")
+    private LocalDate date;
+
+    @Schema(description = "The operation IDs the time slots were calculated for.", example = "[1, 2]")
+    private List<Long> operationIds;
+
+    @Schema(description = "The currently available time slots.")
+    private List<AvailableSlot> slots;
+}
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Represents a request to book an appointment.
@@ -26,6 +27,9 @@ public class BookingRequest {
     @Schema(description = "ID of the customer making the booking.", example = "123")
     private Long customerId;
 
+    @Schema(description = "ID of the garage, the default garage if not given.", example = "1")
+    private Long garageId;
+
     @Schema(description = "Date of the appointment.", example = "2024-09-01")
     private LocalDate date;
 
@@ -34,5 +38,9 @@ public class BookingRequest {
 
     @Schema(description = "End time of the appointment.", example = "10:00:00")
     private LocalTime endTime;
+
+    @Schema(description = "Identifier of a hold on this slot, whose garage box and mechanic are booked.",
+            example = "3f2b8c1e-6a4d-4f3e-9b1a-2c5d7e8f9a0b")
+    private UUID holdId;
 }
 
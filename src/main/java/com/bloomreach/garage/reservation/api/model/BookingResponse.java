@@ -7,6 +7,7 @@ import com.bloomreach.garage.reservation.api.entity.GarageOperation;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -21,6 +22,7 @@ import java.util.List;
  */
 @Data
 @Builder
+@Jacksonized
 @Schema(description = "Response payload containing details of the booking.")
 public class BookingResponse {
 
@@ -38,6 +40,7 @@ public class BookingResponse {
      */
     @Data
     @Builder
+    @Jacksonized
     @Schema(description = "Details of a garage appointment.")
     public static class GarageAppointment {
 
@@ -62,6 +65,7 @@ public class BookingResponse {
      */
     @Data
     @Builder
+    @Jacksonized
     @Schema(description = "Details of an operation performed during the garage appointment.")
     public static class GarageAppointmentOperation {
 
@@ -0,0 +1,25 @@
+package com.bloomreach.garage.reservation.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Represents a request for the available time slots of several operation lists on the same date.
+ */
+@Data
+@Schema(description = "Request for the available time slots of several operation lists on the same date.")
+public class BulkAvailabilityRequest {
+
+    @Schema(description = "The ID of the garage, the default garage if not given.", example = "1")
+    private Long garageId;
+
+    @Schema(description = "The date to find available time slots for.", example = "2024-09-01")
+    private LocalDate date;
+
+    @Schema(description = "The operation lists to find available time slots for, e.g. one per service package.",
+            example = "[[1], [1, 2], [1, 2, 3]]")
+    private List<List<Long>> operationSets;
+}
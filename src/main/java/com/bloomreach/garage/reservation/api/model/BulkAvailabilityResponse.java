@@ -0,0 +1,44 @@
+package com.bloomreach.garage.reservation.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Represents the available time slots of several operation lists on the same date.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Available time slots of several operation lists on the same date.")
+public class BulkAvailabilityResponse {
+
+    @Schema(description = "The ID of the garage the time slots belong to.", example = "1")
+    private long garageId;
+
+    @Schema(description = "The date the time slots belong to.", example = "2024-09-01")
+    private LocalDate date;
+
+    @Schema(description = "The available time slots of every requested operation list, in the requested order.")
+    private List<OperationSetAvailability> operationSets;
+
+    /**
+     * The available time slots of one operation list.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Available time slots of one operation list.")
+    public static class OperationSetAvailability {
+
+        @Schema(description = "The operation IDs the time slots were calculated for.", example = "[1, 2]")
+        private List<Long> operationIds;
+
+        @Schema(description = "The available time slots.")
+        private List<AvailableSlot> slots;
+    }
+}
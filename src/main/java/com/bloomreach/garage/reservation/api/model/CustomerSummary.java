@@ -0,0 +1,28 @@
+package com.bloomreach.garage.reservation.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A slim view of a customer.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A slim view of a customer.")
+public class CustomerSummary {
+
+    @Schema(description = "Unique identifier of the customer", example = "1")
+    private Long id;
+
+    @Schema(description = "Full name of the customer", example = "John Doe")
+    private String fullName;
+
+    @Schema(description = "Phone number of the customer", example = "+31 6 12345678")
+    private String phoneNumber;
+
+    @Schema(description = "Email address of the customer", example = "john.doe@example.com")
+    private String email;
+}
@@ -0,0 +1,30 @@
+package com.bloomreach.garage.reservation.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Represents an available time slot on a specific date, as found by the earliest slot search.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "An available time slot on a specific date.")
+public class EarliestSlot {
+
+    @Schema(description = "The date of the time slot.", example = "2024-09-01")
+    private LocalDate date;
+
+    @Schema(description = "The start time of the time slot.",
+            example = "09:00:00", pattern = "HH:mm:ss", type = "string")
+    private LocalTime startTime;
+
+    @Schema(description = "The end time of the time slot.",
+            example = "10:00:00", pattern = "HH:mm:ss", type = "string")
+    private LocalTime endTime;
+}
@@ -0,0 +1,33 @@
+package com.bloomreach.garage.reservation.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Represents a request to tentatively reserve a slot while the customer completes the booking.
+ */
+@Data
+@NoArgsConstructor
+@Schema(description = "Request payload for holding a slot.")
+public class HoldRequest {
+
+    @Schema(description = "List of operation IDs to be performed during the appointment.", example = "[1, 2, 3]")
+    private List<Long> operationIds;
+
+    @Schema(description = "ID of the garage, the default garage if not given.", example = "1")
+    private Long garageId;
+
+    @Schema(description = "Date of the appointment.", example = "2024-09-01")
+    private LocalDate date;
+
+    @Schema(description = "Start time of the appointment.", example = "09:00:00")
+    private LocalTime startTime;
+
+    @Schema(description = "End time of the appointment.", example = "10:00:00")
+    private LocalTime endTime;
+}
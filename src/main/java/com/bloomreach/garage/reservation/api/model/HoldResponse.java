@@ -0,0 +1,27 @@
+package com.bloomreach.garage.reservation.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Represents a slot held for a customer.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Response payload containing details of the held slot.")
+public class HoldResponse {
+
+    @Schema(description = "Identifier of the hold, to be sent with the booking request.",
+            example = "3f2b8c1e-6a4d-4f3e-9b1a-2c5d7e8f9a0b")
+    private UUID holdId;
+
+    @Schema(description = "Moment after which the hold is released if it has not been booked.",
+            example = "2024-09-01T08:05:00Z")
+    private Instant expiresAt;
+}
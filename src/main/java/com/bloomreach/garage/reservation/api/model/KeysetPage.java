@@ -0,0 +1,26 @@
+package com.bloomreach.garage.reservation.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of a keyset-paginated listing.
+ *
+ * @param <T> The type of the listed items.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A page of a listing, continued by passing the next cursor.")
+public class KeysetPage<T> {
+
+    @Schema(description = "The items of the page.")
+    private List<T> items;
+
+    @Schema(description = "The cursor of the next page, or null if this is the last page.", example = "MjAyNC0wOC0yMnwwOTowMHwxMg")
+    private String nextCursor;
+}
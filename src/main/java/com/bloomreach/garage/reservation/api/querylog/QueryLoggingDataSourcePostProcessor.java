@@ -0,0 +1,144 @@
+package com.bloomreach.garage.reservation.api.querylog;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Wraps the data source in a proxy that times every statement execution and records it in the {@link QueryStatistics}.
+ * <p>
+ * Connections and statements handed out by the data source are proxies as well. Prepared statements remember their
+ * SQL and the values of their bind parameters, so slow executions can be logged and explained with them. Only the
+ * execution is timed, not the reading of the result set. Statements are recorded once the application context has
+ * been initialized, which leaves out the schema and data scripts.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(prefix = "garage.reservation.query-log", name = "enabled", havingValue = "true")
+public class QueryLoggingDataSourcePostProcessor implements BeanPostProcessor, SmartInitializingSingleton {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final ObjectProvider<QueryStatistics> queryStatisticsProvider;
+
+    private volatile QueryStatistics queryStatistics;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !Proxy.isProxyClass(bean.getClass())) {
+            return proxy(DataSource.class, new DataSourceHandler(dataSource));
+        }
+        return bean;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        queryStatistics = queryStatisticsProvider.getIfAvailable();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(QueryLoggingDataSourcePostProcessor.class.getClassLoader(),
+                new Class<?>[]{type}, handler);
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @RequiredArgsConstructor
+    private class DataSourceHandler implements InvocationHandler {
+
+        private final DataSource dataSource;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(dataSource, method, args);
+            if (result instanceof Connection connection && method.getName().equals("getConnection")) {
+                return proxy(Connection.class, new ConnectionHandler(connection, dataSource));
+            }
+            return result;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+        private final DataSource dataSource;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(connection, method, args);
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            if (result instanceof CallableStatement statement) {
+                return proxy(CallableStatement.class, new StatementHandler(statement, sql, dataSource));
+            }
+            if (result instanceof PreparedStatement statement) {
+                return proxy(PreparedStatement.class, new StatementHandler(statement, sql, dataSource));
+            }
+            if (result instanceof Statement statement) {
+                return proxy(Statement.class, new StatementHandler(statement, null, dataSource));
+            }
+            return result;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final String preparedSql; // Null for a plain statement, whose SQL is passed on execution
+        private final DataSource dataSource;
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!EXECUTE_METHODS.contains(name)) {
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    // setNull passes the SQL type as its second argument
+                    parameters.put(index, name.equals("setNull") ? null : args[1]);
+                } else if (name.equals("clearParameters")) {
+                    parameters.clear();
+                }
+                return invokeTarget(statement, method, args);
+            }
+
+            QueryStatistics statistics = queryStatistics;
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            if (statistics == null || sql == null) {
+                return invokeTarget(statement, method, args);
+            }
+
+            long startNanos = System.nanoTime();
+            try {
+                return invokeTarget(statement, method, args);
+            } finally {
+                statistics.record(sql, parameters, System.nanoTime() - startNanos, dataSource);
+            }
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.bloomreach.garage.reservation.api.querylog;
+
+import com.bloomreach.garage.reservation.config.QueryLogProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Collects the latencies of the SQL statements executed by the application, per statement shape.
+ * <p>
+ * Every shape has a {@code garage.sql.statement} timer, tagged with a short hash of the shape and publishing a
+ * histogram and percentiles. Executions slower than the threshold are logged with their bind parameters, and for
+ * queries the H2 {@code EXPLAIN ANALYZE} plan is captured in the background with the same parameters, at most once
+ * per shape and interval, as it runs the query again. The number of shapes is bounded, further shapes are counted
+ * together.
+ * </p>
+ * <p>
+ * Bind parameters hold customer data, so only their types are logged and exposed unless showing their values
+ * is enabled. The plan is always captured with the actual values, which never leave the database.
+ * </p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(prefix = "garage.reservation.query-log", name = "enabled", havingValue = "true")
+public class QueryStatistics {
+
+    private static final String OTHER_SHAPE = "(other statements)";
+    private static final String EXPLAIN_PREFIX = "EXPLAIN ANALYZE ";
+
+    private final QueryLogProperties queryLogProperties;
+    private final MeterRegistry meterRegistry;
+    private final TaskScheduler taskScheduler;
+
+    private final ConcurrentMap<String, ShapeStatistics> statisticsByShape = new ConcurrentHashMap<>();
+
+    /**
+     * Records an execution of a statement.
+     *
+     * @param sql        The SQL statement.
+     * @param parameters The bind parameters by index, of the last row for a batch.
+     * @param nanos      The execution time, in nanoseconds.
+     * @param dataSource The data source to capture the plan with.
+     */
+    public void record(String sql, Map<Integer, Object> parameters, long nanos, DataSource dataSource) {
+        if (sql.regionMatches(true, 0, EXPLAIN_PREFIX, 0, EXPLAIN_PREFIX.length())) {
+            return;
+        }
+
+        String shape = StatementShapes.normalize(sql);
+        ShapeStatistics statistics = statisticsByShape.get(shape);
+        if (statistics == null) {
+            statistics = statisticsByShape.computeIfAbsent(
+                    statisticsByShape.size() < queryLogProperties.getMaxShapes() ? shape : OTHER_SHAPE, this::newStatistics);
+        }
+
+        statistics.getTimer().record(nanos, TimeUnit.NANOSECONDS);
+        if (nanos < queryLogProperties.getSlowThreshold().toNanos()) {
+            return;
+        }
+
+        statistics.getSlowExecutions().increment();
+        String formattedParameters = formatParameters(parameters);
+        log.warn("Slow statement ({} ms): {} with parameters {}", TimeUnit.NANOSECONDS.toMillis(nanos),
+                sql, formattedParameters);
+        SlowExecution slowExecution = new SlowExecution(sql, formattedParameters, nanos / 1_000_000.0, Instant.now(), null);
+        statistics.getLastSlowExecution().set(slowExecution);
+
+        if (queryLogProperties.isExplain() && isQuery(sql) && claimExplain(statistics)) {
+            // Not Map.copyOf, which rejects the values of parameters set to NULL
+            Map<Integer, Object> parametersCopy = new HashMap<>(parameters);
+            ShapeStatistics explainedStatistics = statistics;
+            taskScheduler.schedule(() -> explain(explainedStatistics, slowExecution, parametersCopy, dataSource), Instant.now());
+        }
+    }
+
+    /**
+     * Lists the statement shapes with the highest mean latency.
+     *
+     * @param top The maximum number of shapes.
+     * @return The statistics of the slowest shapes, slowest first.
+     */
+    public List<StatementShapeStatistics> findSlowest(int top) {
+        return statisticsByShape.values().stream()
+                .map(ShapeStatistics::toStatementShapeStatistics)
+                .sorted(Comparator.comparingDouble(StatementShapeStatistics::getMeanMillis).reversed())
+                .limit(top)
+                .toList();
+    }
+
+    private ShapeStatistics newStatistics(String shape) {
+        Timer timer = Timer.builder("garage.sql.statement")
+                .tag("shape", shapeId(shape))
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        return new ShapeStatistics(shape, shapeId(shape), timer, new LongAdder(), new AtomicReference<>(), new AtomicLong());
+    }
+
+    /**
+     * Runs a slow query again with {@code EXPLAIN ANALYZE} and attaches the plan to its slow execution.
+     */
+    private void explain(ShapeStatistics statistics, SlowExecution slowExecution, Map<Integer, Object> parameters,
+                         DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(EXPLAIN_PREFIX + slowExecution.getSql())) {
+            for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+                statement.setObject(parameter.getKey(), parameter.getValue());
+            }
+
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1));
+                }
+            }
+
+            log.warn("Plan of slow statement {}:\n{}", statistics.getShapeId(), plan);
+            statistics.getLastSlowExecution().compareAndSet(slowExecution, slowExecution.withPlan(plan.toString()));
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Capturing the plan of slow statement {} failed: {}", statistics.getShapeId(), e.getMessage());
+        }
+    }
+
+    private boolean claimExplain(ShapeStatistics statistics) {
+        long now = System.nanoTime();
+        long last = statistics.getLastExplainNanos().get();
+        return (last == 0 || now - last >= queryLogProperties.getExplainInterval().toNanos())
+                && statistics.getLastExplainNanos().compareAndSet(last, now);
+    }
+
+    /**
+     * Only queries are explained, as {@code EXPLAIN ANALYZE} executes the statement.
+     */
+    private static boolean isQuery(String sql) {
+        String trimmed = sql.stripLeading().toUpperCase(Locale.ROOT);
+        return trimmed.startsWith("SELECT") || trimmed.startsWith("WITH");
+    }
+
+    private String formatParameters(Map<Integer, Object> parameters) {
+        return parameters.entrySet().stream()
+                .map(parameter -> parameter.getKey() + "=" + formatValue(parameter.getValue()))
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private String formatValue(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (!queryLogProperties.isShowParameterValues()) {
+            return "<" + value.getClass().getSimpleName() + ">";
+        }
+
+        int maxLength = queryLogProperties.getMaxParameterLength();
+        String formatted = value instanceof CharSequence text ? "'" + text + "'" : String.valueOf(value);
+        return formatted.length() > maxLength ? formatted.substring(0, maxLength) + "..." : formatted;
+    }
+
+    private static String shapeId(String shape) {
+        return String.format("%08x", shape.hashCode());
+    }
+
+    /**
+     * The latencies of a statement shape.
+     */
+    @Value
+    private static class ShapeStatistics {
+
+        String shape;
+        String shapeId;
+        Timer timer;
+        LongAdder slowExecutions;
+        AtomicReference<SlowExecution> lastSlowExecution;
+        AtomicLong lastExplainNanos;
+
+        StatementShapeStatistics toStatementShapeStatistics() {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            List<Double> percentiles = new ArrayList<>();
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                percentiles.add(percentile.value(TimeUnit.MILLISECONDS));
+            }
+
+            return new StatementShapeStatistics(
+                    shapeId,
+                    shape,
+                    snapshot.count(),
+                    snapshot.mean(TimeUnit.MILLISECONDS),
+                    snapshot.max(TimeUnit.MILLISECONDS),
+                    percentiles.size() > 1 ? percentiles.get(1) : 0,
+                    percentiles.size() > 2 ? percentiles.get(2) : 0,
+                    snapshot.total(TimeUnit.MILLISECONDS),
+                    slowExecutions.sum(),
+                    lastSlowExecution.get());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.bloomreach.garage.reservation.api.querylog;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * An execution of a statement that took longer than the slow statement threshold.
+ */
+@Value
+public class SlowExecution {
+
+    String sql;
+    String parameters;
+    double durationMillis;
+    Instant executedAt;
+    String plan; // EXPLAIN ANALYZE output, null until captured or for statements that are not queries
+
+    SlowExecution withPlan(String plan) {
+        return new SlowExecution(sql, parameters, durationMillis, executedAt, plan);
+    }
+}
@@ -0,0 +1,35 @@
+package com.bloomreach.garage.reservation.api.querylog;
+
+import com.bloomreach.garage.reservation.config.QueryLogProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint listing the statement shapes with the highest mean latency, at {@code /actuator/slowqueries}.
+ */
+@RequiredArgsConstructor
+@Component
+@Endpoint(id = "slowqueries")
+@ConditionalOnProperty(prefix = "garage.reservation.query-log", name = "enabled", havingValue = "true")
+public class SlowQueryEndpoint {
+
+    private final QueryStatistics queryStatistics;
+    private final QueryLogProperties queryLogProperties;
+
+    /**
+     * Lists the slowest statement shapes.
+     *
+     * @param top The maximum number of shapes, by default {@code query-log.default-top}.
+     * @return The statistics of the slowest shapes, slowest first.
+     */
+    @ReadOperation
+    public List<StatementShapeStatistics> slowestStatements(@Nullable Integer top) {
+        return queryStatistics.findSlowest(top != null ? top : queryLogProperties.getDefaultTop());
+    }
+}
@@ -0,0 +1,21 @@
+package com.bloomreach.garage.reservation.api.querylog;
+
+import lombok.Value;
+
+/**
+ * The latencies of the executions of a statement shape.
+ */
+@Value
+public class StatementShapeStatistics {
+
+    String shapeId; // Value of the shape tag of the garage.sql.statement timer
+    String shape;
+    long count;
+    double meanMillis;
+    double maxMillis;
+    double p95Millis;
+    double p99Millis;
+    double totalMillis;
+    long slowExecutions;
+    SlowExecution lastSlowExecution;
+}
@@ -0,0 +1,40 @@
+package com.bloomreach.garage.reservation.api.querylog;
+
+import java.util.regex.Pattern;
+
+/**
+ * Reduces SQL statements to their shape, so that executions differing only in literals or in the length of
+ * parameter lists are counted together.
+ * <p>
+ * Whitespace is collapsed, string and numeric literals become {@code ?}, lists of parameters such as
+ * {@code IN (?, ?, ?)} become {@code (?, ...)} and repeated rows of a multi-row {@code VALUES} clause are
+ * collapsed into one.
+ * </p>
+ */
+public final class StatementShapes {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    // Digits within identifiers, such as the alias ga1_0, are kept
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w.])\\d+(?:\\.\\d+)?(?!\\w)");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern REPEATED_ROWS = Pattern.compile("(\\(\\?, \\.\\.\\.\\))(?:\\s*,\\s*\\(\\?, \\.\\.\\.\\))+");
+
+    private StatementShapes() {
+        // empty constructor
+    }
+
+    /**
+     * Reduces a statement to its shape.
+     *
+     * @param sql The SQL statement.
+     * @return The shape of the statement.
+     */
+    public static String normalize(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMERIC_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?, ...)");
+        return REPEATED_ROWS.matcher(shape).replaceAll("$1, ...");
+    }
+}
@@ -0,0 +1,35 @@
+package com.bloomreach.garage.reservation.api.recording;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of an available slot lookup of a date, served from the cache or calculated.
+ */
+@Name("com.bloomreach.garage.reservation.AvailableSlots")
+@Label("Available Slots")
+@Category({"Garage Reservation", "Availability"})
+@Description("Lookup of the available slots of a date for a list of operations")
+@StackTrace(false)
+public class AvailableSlotsEvent extends Event {
+
+    @Label("Garage ID")
+    public long garageId;
+
+    @Label("Date")
+    public String date;
+
+    @Label("Operation Count")
+    public int operationCount;
+
+    @Label("Duration In Minutes")
+    @Description("Total duration of the operations")
+    public int durationInMinutes;
+
+    @Label("Slots Returned")
+    public int slotsReturned;
+}
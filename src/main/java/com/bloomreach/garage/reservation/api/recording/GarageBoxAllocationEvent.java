@@ -0,0 +1,42 @@
+package com.bloomreach.garage.reservation.api.recording;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of the allocation of a garage box for a booking.
+ */
+@Name("com.bloomreach.garage.reservation.GarageBoxAllocation")
+@Label("Garage Box Allocation")
+@Category({"Garage Reservation", "Booking"})
+@Description("Allocation of a garage box that is free in a time slot")
+@StackTrace(false)
+public class GarageBoxAllocationEvent extends Event {
+
+    @Label("Garage ID")
+    public long garageId;
+
+    @Label("Date")
+    public String date;
+
+    @Label("Start Time")
+    public String startTime;
+
+    @Label("End Time")
+    public String endTime;
+
+    @Label("Excluded Boxes")
+    @Description("Number of boxes skipped after losing them to concurrent bookings")
+    public int excludedBoxes;
+
+    @Label("Candidates Returned")
+    public int candidatesReturned;
+
+    @Label("Allocated Box ID")
+    @Description("ID of the allocated box, 0 if none was free")
+    public long allocatedBoxId;
+}
@@ -0,0 +1,39 @@
+package com.bloomreach.garage.reservation.api.recording;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of a search for the mechanics available for the operations of a booking or hold.
+ */
+@Name("com.bloomreach.garage.reservation.MechanicSearch")
+@Label("Mechanic Search")
+@Category({"Garage Reservation", "Booking"})
+@Description("Search for the mechanics of a garage that are free for the operations of an appointment")
+@StackTrace(false)
+public class MechanicSearchEvent extends Event {
+
+    @Label("Garage ID")
+    public long garageId;
+
+    @Label("Date")
+    public String date;
+
+    @Label("Start Time")
+    public String startTime;
+
+    @Label("End Time")
+    public String endTime;
+
+    @Label("Mechanics Scanned")
+    @Description("Number of working-hour periods of mechanics on the date, without mechanics held by other requests")
+    public int mechanicsScanned;
+
+    @Label("Mechanics Available")
+    @Description("Number of working-hour periods in which a mechanic is free for all operations of the appointment")
+    public int mechanicsAvailable;
+}
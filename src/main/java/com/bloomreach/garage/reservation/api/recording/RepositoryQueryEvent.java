@@ -0,0 +1,31 @@
+package com.bloomreach.garage.reservation.api.recording;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event of a call of a Spring Data repository method. Its stack trace shows the code that ran
+ * the query.
+ */
+@Name("com.bloomreach.garage.reservation.RepositoryQuery")
+@Label("Repository Query")
+@Category({"Garage Reservation", "Database"})
+@Description("Call of a Spring Data repository method")
+public class RepositoryQueryEvent extends Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Rows Returned")
+    @Description("Number of returned entities or rows, -1 if the method returns a value that is not a result set")
+    public int rowsReturned;
+
+    @Label("Failed")
+    public boolean failed;
+}
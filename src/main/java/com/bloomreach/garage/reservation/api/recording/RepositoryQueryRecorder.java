@@ -0,0 +1,88 @@
+package com.bloomreach.garage.reservation.api.recording;
+
+import lombok.RequiredArgsConstructor;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Records every call of a Spring Data repository as a {@link RepositoryQueryEvent}.
+ * <p>
+ * Repositories are already proxies, so the recording is added as the first advice of each proxy instead of
+ * wrapping it in another one. While no Flight Recorder recording enables the event, a call only pays for
+ * checking that it is disabled.
+ * </p>
+ */
+@Component
+public class RepositoryQueryRecorder implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof Repository<?, ?> && bean instanceof Advised advised && !advised.isFrozen()) {
+            // The repository interface is the first interface of the proxy
+            advised.addAdvice(0, new RecordingInterceptor(advised.getProxiedInterfaces()[0].getSimpleName()));
+        }
+        return bean;
+    }
+
+    /**
+     * Counts the rows of a repository result, or returns -1 for a result that is not a result set, such as a count.
+     */
+    private static int countRows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number || result instanceof Boolean) {
+            return -1;
+        }
+        return 1;
+    }
+
+    @RequiredArgsConstructor
+    private static class RecordingInterceptor implements MethodInterceptor {
+
+        private final String repository;
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            RepositoryQueryEvent event = new RepositoryQueryEvent();
+            if (!event.isEnabled()) {
+                return invocation.proceed();
+            }
+
+            event.begin();
+            Object result = null;
+            boolean failed = true;
+            try {
+                result = invocation.proceed();
+                failed = false;
+                return result;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.repository = repository;
+                    event.method = invocation.getMethod().getName();
+                    event.rowsReturned = failed ? 0 : countRows(result);
+                    event.failed = failed;
+                    event.commit();
+                }
+            }
+        }
+    }
+}
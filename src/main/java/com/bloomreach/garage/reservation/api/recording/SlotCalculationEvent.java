@@ -0,0 +1,35 @@
+package com.bloomreach.garage.reservation.api.recording;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of the slot calculation of one mechanic.
+ */
+@Name("com.bloomreach.garage.reservation.SlotCalculation")
+@Label("Slot Calculation")
+@Category({"Garage Reservation", "Availability"})
+@Description("Calculation of the slots in which a mechanic is free for a total operation duration")
+@StackTrace(false)
+public class SlotCalculationEvent extends Event {
+
+    @Label("Employee ID")
+    public long employeeId;
+
+    @Label("Duration In Minutes")
+    public int durationInMinutes;
+
+    @Label("Bookings")
+    @Description("Number of operations already booked for the mechanic")
+    public int bookings;
+
+    @Label("Start Times Scanned")
+    public int startTimesScanned;
+
+    @Label("Slots Found")
+    public int slotsFound;
+}
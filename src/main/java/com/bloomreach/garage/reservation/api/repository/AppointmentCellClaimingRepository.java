@@ -0,0 +1,25 @@
+package com.bloomreach.garage.reservation.api.repository;
+
+import com.bloomreach.garage.reservation.api.entity.GarageAppointment;
+
+/**
+ * Saves appointments changed through the REST repositories together with their reservation cells.
+ * <p>
+ * The method overrides the {@code save} of {@link GarageAppointmentRepository}, which Spring Data REST calls for
+ * creates and updates. Bookings save with {@code saveAndFlush} and claim their cells themselves.
+ * </p>
+ */
+public interface AppointmentCellClaimingRepository<T extends GarageAppointment> {
+
+    /**
+     * Saves an appointment, copies its date onto its operations and claims the cells of its new state,
+     * all in one transaction.
+     *
+     * @param appointment The appointment to save.
+     * @param <S>         The type of the appointment.
+     * @return The saved appointment.
+     * @throws com.bloomreach.garage.reservation.api.error.ReservationConflictError if the appointment was moved
+     *                                                                               onto claimed cells.
+     */
+    <S extends T> S save(S appointment);
+}
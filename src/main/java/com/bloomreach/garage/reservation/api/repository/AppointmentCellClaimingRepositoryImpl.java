@@ -0,0 +1,43 @@
+package com.bloomreach.garage.reservation.api.repository;
+
+import com.bloomreach.garage.reservation.api.component.ReservationCellLedger;
+import com.bloomreach.garage.reservation.api.entity.GarageAppointment;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of {@link AppointmentCellClaimingRepository}.
+ */
+@RequiredArgsConstructor
+public class AppointmentCellClaimingRepositoryImpl implements AppointmentCellClaimingRepository<GarageAppointment> {
+
+    private final ReservationCellLedger reservationCellLedger;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public <S extends GarageAppointment> S save(S appointment) {
+        S savedAppointment;
+        if (appointment.getId() == null) {
+            entityManager.persist(appointment);
+            savedAppointment = appointment;
+        } else {
+            savedAppointment = entityManager.merge(appointment);
+        }
+
+        // The operations carry a copy of the appointment date, which has to follow a moved appointment
+        entityManager.flush();
+        entityManager.createQuery("UPDATE GarageAppointmentOperation gao SET gao.date = :date "
+                        + "WHERE gao.appointment.id = :appointmentId")
+                .setParameter("date", savedAppointment.getDate())
+                .setParameter("appointmentId", savedAppointment.getId())
+                .executeUpdate();
+
+        reservationCellLedger.reclaim(savedAppointment.getId());
+        return savedAppointment;
+    }
+}
@@ -0,0 +1,32 @@
+package com.bloomreach.garage.reservation.api.repository;
+
+import com.bloomreach.garage.reservation.api.entity.GarageAppointmentOperation;
+
+/**
+ * Saves and deletes appointment operations changed through the REST repositories together with the reservation
+ * cells of their appointments.
+ * <p>
+ * The methods override the {@code save} and {@code delete} of {@link GarageAppointmentOperationRepository},
+ * which Spring Data REST calls for creates, updates and deletes.
+ * </p>
+ */
+public interface AppointmentOperationCellClaimingRepository<T extends GarageAppointmentOperation> {
+
+    /**
+     * Saves an appointment operation and claims the cells of its appointment again, in one transaction.
+     *
+     * @param appointmentOperation The appointment operation to save.
+     * @param <S>                  The type of the appointment operation.
+     * @return The saved appointment operation.
+     * @throws com.bloomreach.garage.reservation.api.error.ReservationConflictError if the operation was moved
+     *                                                                               onto claimed cells.
+     */
+    <S extends T> S save(S appointmentOperation);
+
+    /**
+     * Deletes an appointment operation and releases the cells its mechanic no longer needs, in one transaction.
+     *
+     * @param appointmentOperation The appointment operation to delete.
+     */
+    void delete(T appointmentOperation);
+}
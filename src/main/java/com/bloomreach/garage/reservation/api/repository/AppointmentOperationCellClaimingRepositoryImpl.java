@@ -0,0 +1,49 @@
+package com.bloomreach.garage.reservation.api.repository;
+
+import com.bloomreach.garage.reservation.api.component.ReservationCellLedger;
+import com.bloomreach.garage.reservation.api.entity.GarageAppointmentOperation;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of {@link AppointmentOperationCellClaimingRepository}.
+ */
+@RequiredArgsConstructor
+public class AppointmentOperationCellClaimingRepositoryImpl implements AppointmentOperationCellClaimingRepository<GarageAppointmentOperation> {
+
+    private final ReservationCellLedger reservationCellLedger;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public <S extends GarageAppointmentOperation> S save(S appointmentOperation) {
+        S savedOperation;
+        if (appointmentOperation.getId() == null) {
+            entityManager.persist(appointmentOperation);
+            savedOperation = appointmentOperation;
+        } else {
+            savedOperation = entityManager.merge(appointmentOperation);
+        }
+
+        entityManager.flush();
+        reservationCellLedger.reclaim(savedOperation.getAppointment().getId());
+        return savedOperation;
+    }
+
+    @Override
+    @Transactional
+    public void delete(GarageAppointmentOperation appointmentOperation) {
+        GarageAppointmentOperation managedOperation = entityManager.contains(appointmentOperation)
+                ? appointmentOperation
+                : entityManager.merge(appointmentOperation);
+        long appointmentId = managedOperation.getAppointment().getId();
+
+        entityManager.remove(managedOperation);
+        entityManager.flush();
+        reservationCellLedger.reclaim(appointmentId);
+    }
+}
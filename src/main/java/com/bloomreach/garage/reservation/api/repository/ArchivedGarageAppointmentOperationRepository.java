@@ -0,0 +1,54 @@
+package com.bloomreach.garage.reservation.api.repository;
+
+import com.bloomreach.garage.reservation.api.entity.ArchivedGarageAppointmentOperation;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for reading archived {@link ArchivedGarageAppointmentOperation} entities.
+ * <p>
+ * Archived operations can only be read. The repository is exposed through the REST API at the path
+ * "/archivedAppointmentOperations", with a search method for the operations of an archived appointment.
+ * </p>
+ *
+ * @see ArchivedGarageAppointmentOperation
+ */
+@RepositoryRestResource(path = "archivedAppointmentOperations")
+public interface ArchivedGarageAppointmentOperationRepository
+        extends PagingAndSortingRepository<ArchivedGarageAppointmentOperation, Long> {
+
+    Optional<ArchivedGarageAppointmentOperation> findById(Long id);
+
+    /**
+     * Finds the operations of an archived appointment.
+     *
+     * @param appointmentId The ID of the archived appointment.
+     * @return A list of the operations performed during the appointment.
+     */
+    @RestResource(path = "byAppointment", rel = "byAppointment")
+    List<ArchivedGarageAppointmentOperation> findByAppointmentId(@Param("appointmentId") Long appointmentId);
+
+    /**
+     * Copies the operations of the specified appointments from the hot table into the archive.
+     *
+     * @param appointmentIds The IDs of the appointments whose operations to copy.
+     * @return The number of archived operations.
+     */
+    @RestResource(exported = false)
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO garage_appointment_operations_archive (id, appointment_id, operation_id, employee_id, `date`, start_time, end_time)
+            SELECT id, appointment_id, operation_id, employee_id, `date`, start_time, end_time
+            FROM garage_appointment_operations
+            WHERE appointment_id IN (:appointmentIds)
+            """)
+    int archiveAllByAppointmentIds(@Param("appointmentIds") Collection<Long> appointmentIds);
+}
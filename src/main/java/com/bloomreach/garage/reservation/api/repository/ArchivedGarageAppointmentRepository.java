@@ -0,0 +1,71 @@
+package com.bloomreach.garage.reservation.api.repository;
+
+import com.bloomreach.garage.reservation.api.entity.ArchivedGarageAppointment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Repository interface for reading archived {@link ArchivedGarageAppointment} entities.
+ * <p>
+ * Archived appointments can only be read. The repository is exposed through the REST API at the path
+ * "/archivedAppointments", with search methods for a customer's history and for a date range.
+ * </p>
+ *
+ * @see ArchivedGarageAppointment
+ */
+@RepositoryRestResource(path = "archivedAppointments")
+public interface ArchivedGarageAppointmentRepository extends PagingAndSortingRepository<ArchivedGarageAppointment, Long> {
+
+    Optional<ArchivedGarageAppointment> findById(Long id);
+
+    /**
+     * Finds the archived appointments of a customer, most recent first.
+     *
+     * @param customerId The ID of the customer.
+     * @param pageable   The pagination information.
+     * @return A {@link Page} of the customer's archived appointments.
+     */
+    @RestResource(path = "byCustomer", rel = "byCustomer")
+    Page<ArchivedGarageAppointment> findByCustomerIdOrderByDateDescStartTimeDesc(@Param("customerId") Long customerId,
+                                                                               Pageable pageable);
+
+    /**
+     * Finds the archived appointments within a date range, both ends inclusive.
+     *
+     * @param from     The first date of the range.
+     * @param to       The last date of the range.
+     * @param pageable The pagination information.
+     * @return A {@link Page} of the archived appointments within the range.
+     */
+    @RestResource(path = "byDateRange", rel = "byDateRange")
+    Page<ArchivedGarageAppointment> findByDateBetween(@Param("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                      @Param("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                      Pageable pageable);
+
+    /**
+     * Copies the specified appointments from the hot table into the archive.
+     *
+     * @param appointmentIds The IDs of the appointments to copy.
+     * @return The number of archived appointments.
+     */
+    @RestResource(exported = false)
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO garage_appointments_archive (id, customer_id, garage_box_id, garage_id, `date`, start_time, end_time, archived_at)
+            SELECT id, customer_id, garage_box_id, garage_id, `date`, start_time, end_time, CURRENT_TIMESTAMP
+            FROM garage_appointments
+            WHERE id IN (:appointmentIds)
+            """)
+    int archiveAll(@Param("appointmentIds") Collection<Long> appointmentIds);
+}
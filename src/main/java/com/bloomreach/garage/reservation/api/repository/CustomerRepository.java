@@ -1,8 +1,14 @@
 package com.bloomreach.garage.reservation.api.repository;
 
 import com.bloomreach.garage.reservation.api.entity.Customer;
+import com.bloomreach.garage.reservation.api.model.CustomerSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
+
+import java.util.List;
 
 /**
  * Repository interface for accessing and managing {@link Customer} entities.
@@ -15,4 +21,20 @@ import org.springframework.data.rest.core.annotation.RepositoryRestResource;
  */
 @RepositoryRestResource(path = "customers")
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
+
+    /**
+     * Finds the customers following a given customer in ID order.
+     *
+     * @param id       The ID of the last customer of the previous page, or {@code 0} for the first page.
+     * @param pageable The pagination information limiting the number of customers returned.
+     * @return A list of {@link CustomerSummary} projections of the customers.
+     */
+    @RestResource(exported = false)
+    @Query("""
+            SELECT new com.bloomreach.garage.reservation.api.model.CustomerSummary(c.id, c.fullName, c.phoneNumber, c.email)
+            FROM Customer c
+            WHERE c.id > :id
+            ORDER BY c.id
+            """)
+    List<CustomerSummary> findSummariesAfter(Long id, Pageable pageable);
 }
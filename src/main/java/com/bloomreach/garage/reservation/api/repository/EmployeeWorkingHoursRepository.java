@@ -1,6 +1,7 @@
 package com.bloomreach.garage.reservation.api.repository;
 
 import com.bloomreach.garage.reservation.api.entity.EmployeeWorkingHours;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 
@@ -21,9 +22,26 @@ public interface EmployeeWorkingHoursRepository extends JpaRepository<EmployeeWo
 
     /**
      * Finds working hours for employees on a specific day of the week.
+     * <p>
+     * The employees are fetched in the same query, as every caller needs them.
+     * </p>
      *
      * @param dayOfWeek The day of the week for which to find employee working hours (e.g., {@code DayOfWeek.MONDAY}).
      * @return A list of {@link EmployeeWorkingHours} for all employees on the specified day of the week.
      */
+    @EntityGraph(attributePaths = "employee")
     List<EmployeeWorkingHours> findByDayOfWeek(DayOfWeek dayOfWeek);
+
+    /**
+     * Finds working hours for the employees of a garage on a specific day of the week.
+     * <p>
+     * The employees are fetched in the same query, as every caller needs them.
+     * </p>
+     *
+     * @param garageId  The ID of the garage the employees work at.
+     * @param dayOfWeek The day of the week for which to find employee working hours (e.g., {@code DayOfWeek.MONDAY}).
+     * @return A list of {@link EmployeeWorkingHours} for the employees of the garage on the specified day of the week.
+     */
+    @EntityGraph(attributePaths = "employee")
+    List<EmployeeWorkingHours> findByEmployeeGarageIdAndDayOfWeek(Long garageId, DayOfWeek dayOfWeek);
 }
@@ -1,12 +1,18 @@
 package com.bloomreach.garage.reservation.api.repository;
 
 import com.bloomreach.garage.reservation.api.entity.GarageAppointmentOperation;
+import com.bloomreach.garage.reservation.api.model.AppointmentOperationSummary;
+import com.bloomreach.garage.reservation.api.schedule.BookedInterval;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -15,31 +21,112 @@ import java.util.List;
  * This repository provides standard CRUD operations for {@link GarageAppointmentOperation} entities
  * and custom query methods for finding operations based on specific criteria.
  * It is exposed as a RESTful resource with the path "garageAppointmentOperations" for easy integration with REST clients.
+ * Operations saved or deleted through it claim the reservation cells of their appointment again, see
+ * {@link AppointmentOperationCellClaimingRepository}.
  * </p>
  *
  * @see GarageAppointmentOperation
  */
 @RepositoryRestResource(path = "garageAppointmentOperations")
-public interface GarageAppointmentOperationRepository extends JpaRepository<GarageAppointmentOperation, Long> {
+public interface GarageAppointmentOperationRepository extends JpaRepository<GarageAppointmentOperation, Long>,
+        AppointmentOperationCellClaimingRepository<GarageAppointmentOperation> {
 
     /**
-     * Finds all garage appointment operations for a specific employee on a given date
+     * Finds the time intervals of the operations of a specific employee on a given date
      * that overlap with the provided time window.
      * <p>
      * An operation overlaps if it has any time period within the given start and end times,
      * including cases where the operation starts before and ends after the specified time window.
+     * Only the employee ID and the time window of each operation are selected, so the query is answered from
+     * the {@code (employee_id, date, start_time, end_time)} index without reading the operations or their
+     * associated entities.
      * </p>
      *
      * @param employeeId The ID of the employee whose operations are to be checked.
      * @param date       The date of the appointment operations to search for.
      * @param startTime  The start time of the time window to check for overlaps.
      * @param endTime    The end time of the time window to check for overlaps.
-     * @return A list of {@link GarageAppointmentOperation} entities that overlap with the specified time window.
+     * @return A list of {@link BookedInterval} projections of the operations overlapping the specified time window.
      */
     @Query("""
-            SELECT gao FROM GarageAppointmentOperation gao WHERE gao.employee.id = :employeeId
-            AND gao.appointment.date = :date
+            SELECT new com.bloomreach.garage.reservation.api.schedule.BookedInterval(gao.employee.id, gao.startTime, gao.endTime)
+            FROM GarageAppointmentOperation gao
+            WHERE gao.employee.id = :employeeId
+            AND gao.date = :date
             AND ((:startTime < gao.endTime AND :endTime > gao.startTime))
             """)
-    List<GarageAppointmentOperation> findOverlappingAppointments(Long employeeId, LocalDate date, LocalTime startTime, LocalTime endTime);
+    List<BookedInterval> findOverlappingAppointments(Long employeeId, LocalDate date, LocalTime startTime, LocalTime endTime);
+
+    /**
+     * Finds the time intervals of all operations booked on a given date with the mechanics of a garage.
+     * <p>
+     * Only the employee ID and the time window of each operation are selected, so the bookings of all
+     * mechanics can be loaded with a single query without fetching the associated entities.
+     * </p>
+     *
+     * @param garageId The ID of the garage the mechanics work at.
+     * @param date     The date of the appointment operations to search for.
+     * @return A list of {@link BookedInterval} projections of the operations booked on the specified date.
+     */
+    @RestResource(exported = false)
+    @Query("""
+            SELECT new com.bloomreach.garage.reservation.api.schedule.BookedInterval(gao.employee.id, gao.startTime, gao.endTime)
+            FROM GarageAppointmentOperation gao
+            WHERE gao.date = :date
+            AND gao.employee.garageId = :garageId
+            """)
+    List<BookedInterval> findBookedIntervals(Long garageId, LocalDate date);
+
+    /**
+     * Finds the first appointment operations from a given date on, ordered by date, start time and ID.
+     *
+     * @param fromDate The first date to include.
+     * @param pageable The pagination information limiting the number of operations returned.
+     * @return A list of {@link AppointmentOperationSummary} projections of the operations.
+     */
+    @RestResource(exported = false)
+    @Query("""
+            SELECT new com.bloomreach.garage.reservation.api.model.AppointmentOperationSummary(
+                gao.id, gao.appointment.id, gao.operation.id, gao.employee.id, gao.date, gao.startTime, gao.endTime)
+            FROM GarageAppointmentOperation gao
+            WHERE gao.date >= :fromDate
+            ORDER BY gao.date, gao.startTime, gao.id
+            """)
+    List<AppointmentOperationSummary> findSummariesFrom(LocalDate fromDate, Pageable pageable);
+
+    /**
+     * Finds the appointment operations following a given operation in the order of date, start time and ID.
+     * <p>
+     * The leading {@code date >= :date} bound lets the seek use the {@code (date, start_time, id)} index
+     * as a range instead of scanning it from the start.
+     * </p>
+     *
+     * @param date      The date of the last operation of the previous page.
+     * @param startTime The start time of the last operation of the previous page.
+     * @param id        The ID of the last operation of the previous page.
+     * @param pageable  The pagination information limiting the number of operations returned.
+     * @return A list of {@link AppointmentOperationSummary} projections of the operations.
+     */
+    @RestResource(exported = false)
+    @Query("""
+            SELECT new com.bloomreach.garage.reservation.api.model.AppointmentOperationSummary(
+                gao.id, gao.appointment.id, gao.operation.id, gao.employee.id, gao.date, gao.startTime, gao.endTime)
+            FROM GarageAppointmentOperation gao
+            WHERE gao.date >= :date
+            AND (gao.date > :date
+            OR (gao.date = :date AND (gao.startTime > :startTime OR (gao.startTime = :startTime AND gao.id > :id))))
+            ORDER BY gao.date, gao.startTime, gao.id
+            """)
+    List<AppointmentOperationSummary> findSummariesAfter(LocalDate date, LocalTime startTime, Long id, Pageable pageable);
+
+    /**
+     * Deletes the operations of the specified appointments in a single statement.
+     *
+     * @param appointmentIds The IDs of the appointments whose operations to delete.
+     * @return The number of deleted operations.
+     */
+    @RestResource(exported = false)
+    @Modifying
+    @Query("DELETE FROM GarageAppointmentOperation gao WHERE gao.appointment.id IN :appointmentIds")
+    int deleteAllByAppointmentIds(Collection<Long> appointmentIds);
 }
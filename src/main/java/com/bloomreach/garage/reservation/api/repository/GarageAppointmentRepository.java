@@ -1,8 +1,16 @@
 package com.bloomreach.garage.reservation.api.repository;
 
 import com.bloomreach.garage.reservation.api.entity.GarageAppointment;
+import com.bloomreach.garage.reservation.api.model.AppointmentSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
 
 /**
  * Repository interface for accessing {@link GarageAppointment} entities.
@@ -13,9 +21,117 @@ import org.springframework.data.rest.core.annotation.RepositoryRestResource;
  * </p>
  * <p>
  * The repository is exposed through the REST API at the path "/garageAppointments" for
- * managing appointments in the garage.
+ * managing appointments in the garage. Appointments saved through it claim their reservation cells again,
+ * see {@link AppointmentCellClaimingRepository}.
  * </p>
  */
 @RepositoryRestResource(path = "garageAppointments")
-public interface GarageAppointmentRepository extends JpaRepository<GarageAppointment, Long> {
+public interface GarageAppointmentRepository extends JpaRepository<GarageAppointment, Long>,
+        AppointmentCellClaimingRepository<GarageAppointment> {
+
+    /**
+     * Finds the IDs of appointments before a given date, in ID order.
+     *
+     * @param date     The date before which appointments are selected.
+     * @param pageable The pagination information limiting the number of IDs returned.
+     * @return A list of IDs of appointments scheduled before the specified date.
+     */
+    @RestResource(exported = false)
+    @Query("SELECT ga.id FROM GarageAppointment ga WHERE ga.date < :date ORDER BY ga.id")
+    List<Long> findIdsByDateBefore(LocalDate date, Pageable pageable);
+
+    /**
+     * Finds the first appointments from a given date on, ordered by date, start time and ID.
+     *
+     * @param fromDate The first date to include.
+     * @param pageable The pagination information limiting the number of appointments returned.
+     * @return A list of {@link AppointmentSummary} projections of the appointments.
+     */
+    @RestResource(exported = false)
+    @Query("""
+            SELECT new com.bloomreach.garage.reservation.api.model.AppointmentSummary(
+                ga.id, ga.customer.id, ga.garageBox.id, ga.date, ga.startTime, ga.endTime)
+            FROM GarageAppointment ga
+            WHERE ga.date >= :fromDate
+            ORDER BY ga.date, ga.startTime, ga.id
+            """)
+    List<AppointmentSummary> findSummariesFrom(LocalDate fromDate, Pageable pageable);
+
+    /**
+     * Finds the appointments following a given appointment in the order of date, start time and ID.
+     * <p>
+     * The predicate seeks directly to the position after the given sort key in the
+     * {@code (date, start_time, id)} index, so deep pages cost the same as the first one. The leading
+     * {@code date >= :date} bound repeats what the disjunction implies, as the optimizer only derives an
+     * index range from a conjunct on the leading column.
+     * </p>
+     *
+     * @param date      The date of the last appointment of the previous page.
+     * @param startTime The start time of the last appointment of the previous page.
+     * @param id        The ID of the last appointment of the previous page.
+     * @param pageable  The pagination information limiting the number of appointments returned.
+     * @return A list of {@link AppointmentSummary} projections of the appointments.
+     */
+    @RestResource(exported = false)
+    @Query("""
+            SELECT new com.bloomreach.garage.reservation.api.model.AppointmentSummary(
+                ga.id, ga.customer.id, ga.garageBox.id, ga.date, ga.startTime, ga.endTime)
+            FROM GarageAppointment ga
+            WHERE ga.date >= :date
+            AND (ga.date > :date
+            OR (ga.date = :date AND (ga.startTime > :startTime OR (ga.startTime = :startTime AND ga.id > :id))))
+            ORDER BY ga.date, ga.startTime, ga.id
+            """)
+    List<AppointmentSummary> findSummariesAfter(LocalDate date, LocalTime startTime, Long id, Pageable pageable);
+
+    /**
+     * Finds the latest appointments of a customer, ordered by date, start time and ID, newest first.
+     * <p>
+     * Only appointments that have not been archived yet are listed; archived ones are read through the
+     * archive repository.
+     * </p>
+     *
+     * @param customerId The ID of the customer.
+     * @param pageable   The pagination information limiting the number of appointments returned.
+     * @return A list of {@link AppointmentSummary} projections of the appointments.
+     */
+    @RestResource(exported = false)
+    @Query("""
+            SELECT new com.bloomreach.garage.reservation.api.model.AppointmentSummary(
+                ga.id, ga.customer.id, ga.garageBox.id, ga.date, ga.startTime, ga.endTime)
+            FROM GarageAppointment ga
+            WHERE ga.customer.id = :customerId
+            ORDER BY ga.date DESC, ga.startTime DESC, ga.id DESC
+            """)
+    List<AppointmentSummary> findCustomerSummaries(Long customerId, Pageable pageable);
+
+    /**
+     * Finds the appointments of a customer preceding a given appointment in the order of date, start time
+     * and ID, newest first.
+     * <p>
+     * Like {@link #findCustomerSummaries(Long, Pageable)}, only appointments that have not been archived yet
+     * are listed. The leading {@code date <= :date} bound lets the seek use the
+     * {@code (customer_id, date, start_time, id)} index as a range.
+     * </p>
+     *
+     * @param customerId The ID of the customer.
+     * @param date       The date of the last appointment of the previous page.
+     * @param startTime  The start time of the last appointment of the previous page.
+     * @param id         The ID of the last appointment of the previous page.
+     * @param pageable   The pagination information limiting the number of appointments returned.
+     * @return A list of {@link AppointmentSummary} projections of the appointments.
+     */
+    @RestResource(exported = false)
+    @Query("""
+            SELECT new com.bloomreach.garage.reservation.api.model.AppointmentSummary(
+                ga.id, ga.customer.id, ga.garageBox.id, ga.date, ga.startTime, ga.endTime)
+            FROM GarageAppointment ga
+            WHERE ga.customer.id = :customerId
+            AND ga.date <= :date
+            AND (ga.date < :date
+            OR (ga.date = :date AND (ga.startTime < :startTime OR (ga.startTime = :startTime AND ga.id < :id))))
+            ORDER BY ga.date DESC, ga.startTime DESC, ga.id DESC
+            """)
+    List<AppointmentSummary> findCustomerSummariesBefore(Long customerId, LocalDate date, LocalTime startTime, Long id,
+                                                         Pageable pageable);
 }
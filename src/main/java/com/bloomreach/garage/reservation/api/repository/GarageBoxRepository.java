@@ -23,13 +23,14 @@ import java.time.LocalTime;
 public interface GarageBoxRepository extends JpaRepository<GarageBox, Long>, QueryByExampleExecutor<GarageBox> {
 
     /**
-     * Finds garage boxes that are available for booking on a specific date and time range.
+     * Finds garage boxes of a garage that are available for booking on a specific date and time range.
      * <p>
      * The method checks if the garage box is not already reserved for the specified date
      * and time range by querying for overlaps with existing appointments. Only those garage
      * boxes that do not have any overlapping appointments will be included in the result.
      * </p>
      *
+     * @param garageId  The ID of the garage the box has to belong to.
      * @param date      The date on which the garage box is needed.
      * @param startTime The start time of the desired appointment slot.
      * @param endTime   The end time of the desired appointment slot.
@@ -40,7 +41,8 @@ public interface GarageBoxRepository extends JpaRepository<GarageBox, Long>, Que
      */
     @Query("""
             SELECT gb FROM GarageBox gb
-            WHERE NOT EXISTS (
+            WHERE gb.garageId = :garageId
+            AND NOT EXISTS (
                 SELECT 1 FROM GarageAppointment ga
                 WHERE ga.garageBox = gb
                 AND ga.date = :date
@@ -48,6 +50,7 @@ public interface GarageBoxRepository extends JpaRepository<GarageBox, Long>, Que
             )
             """)
     Page<GarageBox> findAvailableBox(
+            @Param("garageId") Long garageId,
             @Param("date") LocalDate date,
             @Param("startTime") LocalTime startTime,
             @Param("endTime") LocalTime endTime,
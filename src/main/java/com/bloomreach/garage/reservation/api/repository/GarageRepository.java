@@ -0,0 +1,19 @@
+package com.bloomreach.garage.reservation.api.repository;
+
+import com.bloomreach.garage.reservation.api.entity.Garage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+
+/**
+ * Repository interface for managing {@link Garage} entities.
+ * <p>
+ * This repository provides standard CRUD operations for {@link Garage} entities through Spring Data JPA.
+ * </p>
+ * <p>
+ * The repository is exposed via the REST API at the path "/garages", enabling access and
+ * manipulation of garage locations through HTTP requests.
+ * </p>
+ */
+@RepositoryRestResource(path = "garages")
+public interface GarageRepository extends JpaRepository<Garage, Long> {
+}
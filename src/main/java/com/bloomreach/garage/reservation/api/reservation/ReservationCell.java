@@ -0,0 +1,21 @@
+package com.bloomreach.garage.reservation.api.reservation;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * A one-minute cell of a resource's time on a date.
+ * <p>
+ * The day of every resource is divided into minute cells, and an appointment claims
+ * every cell its garage box and mechanics are busy in. Each cell can only be claimed once.
+ * </p>
+ */
+@Value
+public class ReservationCell {
+
+    ResourceType resourceType;
+    Long resourceId;
+    LocalDate date;
+    int slotIndex;
+}
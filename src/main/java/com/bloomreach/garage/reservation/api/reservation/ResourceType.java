@@ -0,0 +1,10 @@
+package com.bloomreach.garage.reservation.api.reservation;
+
+/**
+ * The kinds of resources an appointment reserves.
+ */
+public enum ResourceType {
+
+    GARAGE_BOX,
+    MECHANIC
+}
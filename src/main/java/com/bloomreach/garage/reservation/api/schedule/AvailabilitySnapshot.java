@@ -0,0 +1,44 @@
+package com.bloomreach.garage.reservation.api.schedule;
+
+import com.bloomreach.garage.reservation.api.model.AvailableSlot;
+import lombok.Value;
+
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * The available slots of a date together with the availability version they were calculated at.
+ * <p>
+ * A snapshot served from the cache can be older than the current version of its date, so anything derived
+ * from it, such as an {@code ETag}, has to use the version of the snapshot.
+ * </p>
+ */
+@Value
+public class AvailabilitySnapshot {
+
+    long version;
+    List<AvailableSlot> slots;
+
+    /**
+     * Returns the slots of this snapshot that start at or after the given time.
+     *
+     * @param earliestStartTime The earliest start time of the returned slots.
+     * @return This snapshot if all of its slots start late enough, otherwise a snapshot of the same version
+     * with the later slots only.
+     */
+    public AvailabilitySnapshot startingFrom(LocalTime earliestStartTime) {
+        // Slots are sorted by start time, so the earlier ones are a prefix
+        int low = 0;
+        int high = slots.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (slots.get(middle).getStartTime().isBefore(earliestStartTime)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low == 0 ? this : new AvailabilitySnapshot(version, slots.subList(low, slots.size()));
+    }
+}
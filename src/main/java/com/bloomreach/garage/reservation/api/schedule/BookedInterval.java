@@ -0,0 +1,27 @@
+package com.bloomreach.garage.reservation.api.schedule;
+
+import lombok.Value;
+
+import java.time.LocalTime;
+
+/**
+ * A time interval during which a mechanic is already assigned to a booked operation.
+ */
+@Value
+public class BookedInterval {
+
+    Long employeeId;
+    LocalTime startTime;
+    LocalTime endTime;
+
+    /**
+     * Checks if this interval overlaps the specified time window.
+     *
+     * @param start The start time of the window.
+     * @param end   The end time of the window.
+     * @return True if the interval and the window overlap, false otherwise.
+     */
+    public boolean overlaps(LocalTime start, LocalTime end) {
+        return start.isBefore(endTime) && end.isAfter(startTime);
+    }
+}
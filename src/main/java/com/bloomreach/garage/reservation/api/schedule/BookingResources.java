@@ -0,0 +1,17 @@
+package com.bloomreach.garage.reservation.api.schedule;
+
+import com.bloomreach.garage.reservation.api.entity.Employee;
+import com.bloomreach.garage.reservation.api.entity.GarageBox;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * The garage box and mechanics chosen for an appointment, with one mechanic per operation in the order of the operations.
+ */
+@Value
+public class BookingResources {
+
+    GarageBox garageBox;
+    List<Employee> mechanics;
+}
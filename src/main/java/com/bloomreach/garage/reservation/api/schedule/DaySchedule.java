@@ -0,0 +1,21 @@
+package com.bloomreach.garage.reservation.api.schedule;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The schedule of all mechanics of a garage working on a specific date.
+ * <p>
+ * A day schedule holds everything slot calculation needs, so the available slots for any list of operations
+ * can be derived from it without querying the database again.
+ * </p>
+ */
+@Value
+public class DaySchedule {
+
+    long garageId;
+    LocalDate date;
+    List<MechanicSchedule> mechanics;
+}
@@ -0,0 +1,15 @@
+package com.bloomreach.garage.reservation.api.schedule;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * A date in the schedule of one garage, the unit in which schedule state is partitioned.
+ */
+@Value
+public class GarageDate {
+
+    long garageId;
+    LocalDate date;
+}
@@ -0,0 +1,64 @@
+package com.bloomreach.garage.reservation.api.schedule;
+
+import com.bloomreach.garage.reservation.api.entity.Employee;
+import lombok.Value;
+
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The working hours of a mechanic on a specific date, together with the operations already booked in them.
+ */
+@Value
+public class MechanicSchedule {
+
+    Employee employee;
+    LocalTime startTime;
+    LocalTime endTime;
+    List<BookedInterval> bookings;
+
+    /**
+     * Checks if none of the mechanic's bookings overlap the specified time window.
+     *
+     * @param start The start time of the window.
+     * @param end   The end time of the window.
+     * @return True if the mechanic has no booking in the window, false otherwise.
+     */
+    public boolean isFree(LocalTime start, LocalTime end) {
+        return bookings.stream().noneMatch(booking -> booking.overlaps(start, end));
+    }
+
+    /**
+     * Calculates the longest time window within the working hours in which the mechanic has no booking.
+     *
+     * @return The length of the longest free window, in minutes.
+     */
+    public long longestFreeMinutes() {
+        List<BookedInterval> sortedBookings = bookings.stream()
+                .sorted(Comparator.comparing(BookedInterval::getStartTime))
+                .toList();
+
+        long longestFreeMinutes = 0;
+        LocalTime freeFrom = startTime;
+        for (BookedInterval booking : sortedBookings) {
+            if (!freeFrom.isBefore(endTime)) {
+                break;
+            }
+            if (booking.getStartTime().isAfter(freeFrom)) {
+                LocalTime freeUntil = booking.getStartTime().isBefore(endTime) ? booking.getStartTime() : endTime;
+                longestFreeMinutes = Math.max(longestFreeMinutes, ChronoUnit.MINUTES.between(freeFrom, freeUntil));
+            }
+            if (booking.getEndTime().isAfter(freeFrom)) {
+                freeFrom = booking.getEndTime();
+            }
+        }
+
+        if (freeFrom.isBefore(endTime)) {
+            longestFreeMinutes = Math.max(longestFreeMinutes, ChronoUnit.MINUTES.between(freeFrom, endTime));
+        }
+
+        return longestFreeMinutes;
+    }
+}
@@ -0,0 +1,37 @@
+package com.bloomreach.garage.reservation.api.schedule;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A slot tentatively reserved for a customer, together with the garage box and mechanic set aside for it.
+ */
+@Value
+public class SlotHold {
+
+    UUID id;
+    long garageId;
+    LocalDate date;
+    LocalTime startTime;
+    LocalTime endTime;
+    List<Long> operationIds;
+    Long garageBoxId;
+    Long employeeId;
+    Instant expiresAt;
+
+    /**
+     * Checks if this hold overlaps the specified time window.
+     *
+     * @param start The start time of the window.
+     * @param end   The end time of the window.
+     * @return True if the hold and the window overlap, false otherwise.
+     */
+    public boolean overlaps(LocalTime start, LocalTime end) {
+        return start.isBefore(endTime) && end.isAfter(startTime);
+    }
+}
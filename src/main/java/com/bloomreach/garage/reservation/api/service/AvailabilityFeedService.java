@@ -0,0 +1,266 @@
+package com.bloomreach.garage.reservation.api.service;
+
+import com.bloomreach.garage.reservation.api.component.AvailabilityVersionTracker;
+import com.bloomreach.garage.reservation.api.component.GarageShardRouter;
+import com.bloomreach.garage.reservation.api.error.ErrorMessage;
+import com.bloomreach.garage.reservation.api.error.ProcessingError;
+import com.bloomreach.garage.reservation.api.error.ValidationError;
+import com.bloomreach.garage.reservation.api.event.AvailabilityChangedEvent;
+import com.bloomreach.garage.reservation.api.model.AvailabilityUpdate;
+import com.bloomreach.garage.reservation.api.schedule.AvailabilitySnapshot;
+import com.bloomreach.garage.reservation.api.schedule.GarageDate;
+import com.bloomreach.garage.reservation.api.validator.AvailabilityValidator;
+import com.bloomreach.garage.reservation.config.FeedProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes availability changes to subscribers over Server-Sent Events.
+ * <p>
+ * Subscribers register interest in a set of dates of one garage and a list of operations. Changes are only collected
+ * as they happen and are delivered in batches on a fixed interval, so a burst of bookings on a date results
+ * in a single update per subscriber. Slots are calculated once per garage, date and operation list, and the serialized
+ * payload is shared by every subscriber of that combination. Idle subscribers hold no thread and cost no work
+ * between changes apart from periodic heartbeats.
+ * </p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class AvailabilityFeedService {
+
+    private static final String UPDATE_EVENT_NAME = "availability";
+    private static final String HEARTBEAT_COMMENT = "heartbeat";
+
+    private final AvailabilityService availabilityService;
+    private final AvailabilityValidator availabilityValidator;
+    private final AvailabilityVersionTracker availabilityVersionTracker;
+    private final GarageShardRouter garageShardRouter;
+    private final FeedProperties feedProperties;
+    private final TaskScheduler taskScheduler;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    private final ConcurrentMap<GarageDate, Set<Subscription>> subscriptionsByDate = new ConcurrentHashMap<>();
+    private final Set<GarageDate> changedDates = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void scheduleDeliveries() {
+        taskScheduler.scheduleWithFixedDelay(this::publishChanges, feedProperties.getCoalesceInterval());
+        taskScheduler.scheduleWithFixedDelay(this::sendHeartbeats, feedProperties.getHeartbeatInterval());
+    }
+
+    /**
+     * Subscribes to availability changes of the specified dates of a garage for the given operations.
+     * <p>
+     * The current slots of every date are delivered with the next batch, after which an update is only sent
+     * when the availability of a date changes.
+     * </p>
+     *
+     * @param garageId     The ID of the garage, or {@code null} for the default garage.
+     * @param dates        The dates to receive availability updates for.
+     * @param operationIds The list of operation IDs to calculate the slots for.
+     * @return The emitter streaming the updates to the client.
+     * @throws ValidationError if no dates, too many dates or any invalid date is given.
+     * @throws ProcessingError if another node serves the garage.
+     */
+    public SseEmitter subscribe(Long garageId, Set<LocalDate> dates, List<Long> operationIds) {
+        long resolvedGarageId = garageShardRouter.route(garageId);
+
+        if (CollectionUtils.isEmpty(dates)) {
+            throw new ValidationError(ErrorMessage.DATE_IS_REQUIRED);
+        }
+
+        if (dates.size() > feedProperties.getMaxDatesPerSubscription()) {
+            throw new ValidationError(String.format(
+                    ErrorMessage.TOO_MANY_DATES, feedProperties.getMaxDatesPerSubscription()));
+        }
+
+        dates.forEach(date -> availabilityValidator.validate(date, operationIds));
+
+        SseEmitter emitter = new SseEmitter(feedProperties.getSubscriptionTimeout().toMillis());
+        Subscription subscription = new Subscription(
+                emitter, resolvedGarageId, Set.copyOf(dates), List.copyOf(operationIds));
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(error -> unsubscribe(subscription));
+
+        for (GarageDate garageDate : subscription.getGarageDates()) {
+            subscriptionsByDate.compute(garageDate, (key, subscriptions) -> {
+                Set<Subscription> dateSubscriptions = subscriptions != null ? subscriptions : ConcurrentHashMap.newKeySet();
+                dateSubscriptions.add(subscription);
+                return dateSubscriptions;
+            });
+        }
+
+        // Other subscribers of these dates skip the initial delivery, as they have already received this version
+        changedDates.addAll(subscription.getGarageDates());
+
+        return emitter;
+    }
+
+    /**
+     * Marks the garage dates affected by an availability change for delivery with the next batch.
+     *
+     * @param event The availability change.
+     */
+    @EventListener
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        if (event.isAllDates()) {
+            changedDates.addAll(subscriptionsByDate.keySet());
+        } else if (event.getGarageId() != null) {
+            GarageDate garageDate = new GarageDate(event.getGarageId(), event.getDate());
+            if (subscriptionsByDate.containsKey(garageDate)) {
+                changedDates.add(garageDate);
+            }
+        } else {
+            subscriptionsByDate.keySet().stream()
+                    .filter(garageDate -> garageDate.getDate().equals(event.getDate()))
+                    .forEach(changedDates::add);
+        }
+    }
+
+    void publishChanges() {
+        Set<GarageDate> behindDates = new HashSet<>();
+        Iterator<GarageDate> iterator = changedDates.iterator();
+        while (iterator.hasNext()) {
+            GarageDate garageDate = iterator.next();
+            // Removed before calculating, so a change arriving meanwhile is delivered with the next batch
+            iterator.remove();
+            if (!publishChanges(garageDate)) {
+                behindDates.add(garageDate);
+            }
+        }
+        // Added after the loop, so a date still behind is retried with the next batch rather than in this one
+        changedDates.addAll(behindDates);
+    }
+
+    void sendHeartbeats() {
+        LocalDate today = LocalDate.now(clock);
+        Set<Subscription> subscriptions = new HashSet<>();
+        subscriptionsByDate.values().forEach(subscriptions::addAll);
+
+        for (Subscription subscription : subscriptions) {
+            if (subscription.getDates().stream().allMatch(date -> date.isBefore(today))) {
+                // Nothing left to deliver, the completion callback removes the subscription
+                subscription.getEmitter().complete();
+            } else {
+                send(subscription, SseEmitter.event().comment(HEARTBEAT_COMMENT));
+            }
+        }
+    }
+
+    /**
+     * Pushes the current availability of a garage date to the subscriptions that have not received it yet.
+     *
+     * @param garageDate The garage date to publish.
+     * @return {@code false} if a calculated snapshot was older than the current version, as happens when the cache
+     * served availability loaded before the change, so the date has to be published again.
+     */
+    private boolean publishChanges(GarageDate garageDate) {
+        Set<Subscription> subscriptions = subscriptionsByDate.get(garageDate);
+        if (subscriptions == null) {
+            return true;
+        }
+
+        long garageId = garageDate.getGarageId();
+        LocalDate date = garageDate.getDate();
+        long currentVersion = availabilityVersionTracker.currentVersion(garageId, date);
+        Map<List<Long>, List<Subscription>> subscriptionsByOperations = subscriptions.stream()
+                .filter(subscription -> subscription.getDeliveredVersions().getOrDefault(date, -1L) < currentVersion)
+                .collect(Collectors.groupingBy(Subscription::getOperationIds));
+
+        AtomicBoolean upToDate = new AtomicBoolean(true);
+        subscriptionsByOperations.forEach((operationIds, operationSubscriptions) -> {
+            String payload;
+            long version;
+            try {
+                // Stale slots are not pushed, as no further event would replace them once refreshed
+                AvailabilitySnapshot availability = availabilityService.findAvailability(garageId, date, operationIds, false);
+                version = availability.getVersion();
+                if (version < currentVersion) {
+                    upToDate.set(false);
+                }
+                payload = objectMapper.writeValueAsString(new AvailabilityUpdate(date, operationIds, availability.getSlots()));
+            } catch (ValidationError | ProcessingError | JsonProcessingException e) {
+                log.debug("Skipping availability update of garage {} on {} for operations {}: {}",
+                        garageId, date, operationIds, e.getMessage());
+                return;
+            }
+
+            for (Subscription subscription : operationSubscriptions) {
+                SseEmitter.SseEventBuilder event = SseEmitter.event()
+                        .id(Long.toString(version))
+                        .name(UPDATE_EVENT_NAME)
+                        .data(payload, MediaType.APPLICATION_JSON);
+                if (send(subscription, event)) {
+                    subscription.getDeliveredVersions().put(date, version);
+                }
+            }
+        });
+        return upToDate.get();
+    }
+
+    private boolean send(Subscription subscription, SseEmitter.SseEventBuilder event) {
+        try {
+            subscription.getEmitter().send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // The client has disconnected or the emitter has already completed
+            unsubscribe(subscription);
+            return false;
+        }
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        for (GarageDate garageDate : subscription.getGarageDates()) {
+            subscriptionsByDate.computeIfPresent(garageDate, (key, subscriptions) -> {
+                subscriptions.remove(subscription);
+                return subscriptions.isEmpty() ? null : subscriptions;
+            });
+        }
+    }
+
+    /**
+     * A client's interest in the availability of a set of dates of a garage for a list of operations.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class Subscription {
+
+        private final SseEmitter emitter;
+        private final long garageId;
+        private final Set<LocalDate> dates;
+        private final List<Long> operationIds;
+        private final ConcurrentMap<LocalDate, Long> deliveredVersions = new ConcurrentHashMap<>();
+
+        Set<GarageDate> getGarageDates() {
+            return dates.stream()
+                    .map(date -> new GarageDate(garageId, date))
+                    .collect(Collectors.toSet());
+        }
+    }
+}
@@ -1,108 +1,232 @@
 package com.bloomreach.garage.reservation.api.service;
 
-import com.bloomreach.garage.reservation.api.component.SlotCalculator;
-import com.bloomreach.garage.reservation.api.entity.EmployeeWorkingHours;
-import com.bloomreach.garage.reservation.api.entity.GarageAppointmentOperation;
+import com.bloomreach.garage.reservation.api.component.AvailabilityCache;
+import com.bloomreach.garage.reservation.api.component.DayCapacityIndex;
+import com.bloomreach.garage.reservation.api.component.GarageShardRouter;
 import com.bloomreach.garage.reservation.api.entity.GarageOperation;
 import com.bloomreach.garage.reservation.api.error.ErrorMessage;
 import com.bloomreach.garage.reservation.api.error.ProcessingError;
 import com.bloomreach.garage.reservation.api.error.ValidationError;
 import com.bloomreach.garage.reservation.api.model.AvailableSlot;
-import com.bloomreach.garage.reservation.api.repository.EmployeeWorkingHoursRepository;
-import com.bloomreach.garage.reservation.api.repository.GarageAppointmentOperationRepository;
+import com.bloomreach.garage.reservation.api.model.BulkAvailabilityRequest;
+import com.bloomreach.garage.reservation.api.model.BulkAvailabilityResponse;
+import com.bloomreach.garage.reservation.api.model.EarliestSlot;
+import com.bloomreach.garage.reservation.api.recording.AvailableSlotsEvent;
 import com.bloomreach.garage.reservation.api.repository.GarageOperationRepository;
+import com.bloomreach.garage.reservation.api.schedule.AvailabilitySnapshot;
+import com.bloomreach.garage.reservation.api.support.SingleFlight;
 import com.bloomreach.garage.reservation.api.validator.AvailabilityValidator;
+import com.bloomreach.garage.reservation.config.ReservationProperties;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
 
+import java.time.Clock;
 import java.time.LocalDate;
-import java.time.LocalTime;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service responsible for calculating and providing available time slots for garage operations
  * and checking mechanic availability.
+ * <p>
+ * Every lookup concerns a single garage, which has to be served by this node.
+ * </p>
  */
 @RequiredArgsConstructor
 @Service
 public class AvailabilityService {
 
     private final GarageOperationRepository garageOperationRepository;
-    private final EmployeeWorkingHoursRepository employeeWorkingHoursRepository;
-    private final GarageAppointmentOperationRepository garageAppointmentOperationRepository;
     private final AvailabilityValidator availabilityValidator;
-    private final SlotCalculator slotCalculator;
+    private final AvailabilityCache availabilityCache;
+    private final DayCapacityIndex dayCapacityIndex;
+    private final GarageShardRouter garageShardRouter;
+    private final ReservationProperties reservationProperties;
+    private final Clock clock;
+    private final SingleFlight<List<Long>, Integer> durationLookups = new SingleFlight<>();
 
     /**
-     * Finds available time slots for the specified date and list of operation IDs.
+     * Finds available time slots of a garage for the specified date and list of operation IDs.
+     * <p>
+     * Only the total duration of the operations affects the result, so the slots are calculated
+     * and cached per garage, date and total duration. Concurrent requests for the same operations share one
+     * lookup of their duration. The slots may be stale for up to the configured maximum staleness.
+     * </p>
      *
+     * @param garageId     The ID of the garage, or {@code null} for the default garage.
      * @param date         The date for which to find available slots.
      * @param operationIds The list of operation IDs to check for availability.
      * @return A list of available time slots for the given date and operations.
      * @throws ValidationError if the date is not within the allowed range.
+     * @throws ProcessingError if another node serves the garage.
      */
-    @Cacheable(value = "availableSlots", key = "#date.toString() + '-' + #operationIds.toString()")
-    public List<AvailableSlot> findAvailableSlots(LocalDate date, List<Long> operationIds) {
+    public List<AvailableSlot> findAvailableSlots(Long garageId, LocalDate date, List<Long> operationIds) {
+        return findAvailability(garageId, date, operationIds, true).getSlots();
+    }
+
+    /**
+     * Finds available time slots of a garage for the specified date and list of operation IDs, together with the
+     * availability version they were calculated at.
+     *
+     * @param garageId     The ID of the garage, or {@code null} for the default garage.
+     * @param date         The date for which to find available slots.
+     * @param operationIds The list of operation IDs to check for availability.
+     * @param allowStale   Whether slots calculated at an older version may be returned while they are refreshed.
+     * @return The available time slots and their version.
+     * @throws ValidationError if the date is not within the allowed range.
+     * @throws ProcessingError if another node serves the garage.
+     */
+    public AvailabilitySnapshot findAvailability(Long garageId, LocalDate date, List<Long> operationIds, boolean allowStale) {
+        AvailableSlotsEvent event = new AvailableSlotsEvent();
+        event.begin();
+
+        long resolvedGarageId = garageShardRouter.route(garageId);
         availabilityValidator.validate(date, operationIds);
 
-        List<GarageOperation> operations = garageOperationRepository.findAllById(operationIds);
-        if (operations.size() != operationIds.size()) {
-            throw new ValidationError(ErrorMessage.OPERATION_NOT_FOUND);
+        int durationInMinutes = durationLookups.execute(List.copyOf(operationIds),
+                () -> calculateTotalDuration(operationIds));
+
+        AvailabilitySnapshot availability = availabilityCache.get(resolvedGarageId, date, durationInMinutes, allowStale);
+
+        if (event.shouldCommit()) {
+            event.garageId = resolvedGarageId;
+            event.date = date.toString();
+            event.operationCount = operationIds.size();
+            event.durationInMinutes = durationInMinutes;
+            event.slotsReturned = availability.getSlots().size();
+            event.commit();
         }
 
-        // Fetch all employee working hours for the specified date
-        List<EmployeeWorkingHours> availableMechanics = employeeWorkingHoursRepository.findByDayOfWeek(date.getDayOfWeek());
-        Set<AvailableSlot> availableSlotsSet = new HashSet<>();
-
-        // For each mechanic, calculate slots and filter out those that are booked
-        for (EmployeeWorkingHours workingHours : availableMechanics) {
-            // Fetch all booked slots for the mechanic on the given date
-            List<GarageAppointmentOperation> bookedSlots = garageAppointmentOperationRepository.findOverlappingAppointments(
-                    workingHours.getEmployee().getId(), date, workingHours.getStartTime(), workingHours.getEndTime());
-
-            // Filter out booked slots from the available slots
-            List<AvailableSlot> slots = slotCalculator.calculateSlots(workingHours, operations);
-            List<AvailableSlot> filteredSlots = slots.stream()
-                    .filter(slot -> bookedSlots.stream()
-                            .noneMatch(bookedSlot -> slot.getStartTime().isBefore(bookedSlot.getEndTime())
-                                    && slot.getEndTime().isAfter(bookedSlot.getStartTime())))
-                    .toList();
-
-            availableSlotsSet.addAll(filteredSlots);
+        return availability;
+    }
+
+    /**
+     * Finds available time slots of a garage on the specified date for several lists of operation IDs at once.
+     * <p>
+     * The durations of all operations are looked up with a single query, and the slots of all durations
+     * that are not cached are derived from a single load of the date's schedule.
+     * </p>
+     *
+     * @param request The garage, the date and the lists of operation IDs.
+     * @return The available time slots of every operation list, in the requested order.
+     * @throws ValidationError if the date is missing or not within the allowed range, if no or too many
+     *                         operation lists are given or if any operation is not found.
+     * @throws ProcessingError if another node serves the garage.
+     */
+    public BulkAvailabilityResponse findAvailableSlots(BulkAvailabilityRequest request) {
+        long garageId = garageShardRouter.route(request.getGarageId());
+        LocalDate date = request.getDate();
+        List<List<Long>> operationSets = request.getOperationSets();
+        if (date == null) {
+            throw new ValidationError(ErrorMessage.DATE_IS_REQUIRED);
         }
 
-        return availableSlotsSet.stream()
-                .sorted(Comparator.comparing(AvailableSlot::getStartTime))
+        if (CollectionUtils.isEmpty(operationSets)) {
+            throw new ValidationError(ErrorMessage.OPERATION_ID_IS_REQUIRED);
+        }
+
+        if (operationSets.size() > reservationProperties.getMaxOperationSetsPerRequest()) {
+            throw new ValidationError(String.format(
+                    ErrorMessage.TOO_MANY_OPERATION_SETS, reservationProperties.getMaxOperationSetsPerRequest()));
+        }
+
+        operationSets.forEach(operationIds -> availabilityValidator.validate(date, operationIds));
+
+        // Look up the durations of the operations of all lists at once
+        Set<Long> allOperationIds = operationSets.stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toSet());
+        Map<Long, Integer> durationsById = findDurationsById(allOperationIds);
+
+        List<Integer> durations = operationSets.stream()
+                .map(operationIds -> calculateTotalDuration(operationIds, durationsById))
                 .toList();
+        Map<Integer, AvailabilitySnapshot> availability = availabilityCache.getAll(garageId, date, new HashSet<>(durations), true);
+
+        List<BulkAvailabilityResponse.OperationSetAvailability> results = new ArrayList<>(operationSets.size());
+        for (int i = 0; i < operationSets.size(); i++) {
+            results.add(new BulkAvailabilityResponse.OperationSetAvailability(
+                    operationSets.get(i), availability.get(durations.get(i)).getSlots()));
+        }
+
+        return new BulkAvailabilityResponse(garageId, date, results);
+    }
+
+    private Map<Long, Integer> findDurationsById(Collection<Long> operationIds) {
+        return garageOperationRepository.findAllById(operationIds).stream()
+                .collect(Collectors.toMap(GarageOperation::getId, GarageOperation::getDurationInMinutes));
     }
 
     /**
-     * Checks if a mechanic is available during the specified time slot for the given date and operations.
+     * Sums the durations of a list of operations, shared by the single and the bulk lookups so both accept
+     * the same lists.
      *
-     * @param date         The date of the appointment.
-     * @param startTime    The start time of the appointment slot.
-     * @param endTime      The end time of the appointment slot.
-     * @param operationIds The list of operation IDs to consider.
-     * @return True if a mechanic is available, false otherwise.
-     * @throws ProcessingError if any of the operation IDs are not found.
+     * @throws ValidationError if an operation is not found or listed more than once.
      */
-    public boolean isMechanicAvailable(LocalDate date, LocalTime startTime, LocalTime endTime, List<Long> operationIds) {
-        List<GarageOperation> operations = garageOperationRepository.findAllById(operationIds);
-        if (operations.size() != operationIds.size()) {
-            throw new ProcessingError(ErrorMessage.OPERATION_NOT_FOUND);
+    private int calculateTotalDuration(List<Long> operationIds, Map<Long, Integer> durationsById) {
+        if (new HashSet<>(operationIds).size() != operationIds.size()
+                || !durationsById.keySet().containsAll(operationIds)) {
+            throw new ValidationError(ErrorMessage.OPERATION_NOT_FOUND);
         }
 
-        List<EmployeeWorkingHours> availableMechanics = employeeWorkingHoursRepository.findByDayOfWeek(date.getDayOfWeek());
-        for (EmployeeWorkingHours workingHours : availableMechanics) {
-            if (startTime.isBefore(workingHours.getEndTime()) && endTime.isAfter(workingHours.getStartTime())) {
-                return true;
+        return operationIds.stream()
+                .mapToInt(durationsById::get)
+                .sum();
+    }
+
+    /**
+     * Finds the earliest available time slots of a garage for the given operations, starting today.
+     * <p>
+     * Dates are scanned in order until enough slots are found. Dates whose capacity summary shows that no
+     * mechanic has a free window of the operations' total duration are skipped without calculating their slots.
+     * </p>
+     *
+     * @param garageId     The ID of the garage, or {@code null} for the default garage.
+     * @param operationIds The list of operation IDs to find slots for.
+     * @param limit        The number of slots to find.
+     * @return Up to {@code limit} available time slots, ordered by date and start time.
+     * @throws ValidationError if the limit is out of range or any operation is not found.
+     * @throws ProcessingError if another node serves the garage.
+     */
+    public List<EarliestSlot> findEarliestSlots(Long garageId, List<Long> operationIds, int limit) {
+        long resolvedGarageId = garageShardRouter.route(garageId);
+
+        if (limit < 1 || limit > reservationProperties.getMaxEarliestSlotsPerRequest()) {
+            throw new ValidationError(String.format(
+                    ErrorMessage.SLOT_LIMIT_OUT_OF_RANGE, reservationProperties.getMaxEarliestSlotsPerRequest()));
+        }
+
+        LocalDate today = LocalDate.now(clock);
+        availabilityValidator.validate(today, operationIds);
+
+        int durationInMinutes = durationLookups.execute(List.copyOf(operationIds),
+                () -> calculateTotalDuration(operationIds));
+
+        List<EarliestSlot> earliestSlots = new ArrayList<>(limit);
+        for (int day = 0; day <= reservationProperties.getMaxAdvanceDays() && earliestSlots.size() < limit; day++) {
+            LocalDate date = today.plusDays(day);
+            if (!dayCapacityIndex.mayFit(resolvedGarageId, date, durationInMinutes)) {
+                continue;
+            }
+
+            for (AvailableSlot slot : availabilityCache.get(resolvedGarageId, date, durationInMinutes, true).getSlots()) {
+                earliestSlots.add(new EarliestSlot(date, slot.getStartTime(), slot.getEndTime()));
+                if (earliestSlots.size() == limit) {
+                    break;
+                }
             }
         }
 
-        return false;
+        return earliestSlots;
+    }
+
+    private int calculateTotalDuration(List<Long> operationIds) {
+        return calculateTotalDuration(operationIds, findDurationsById(operationIds));
     }
 }
@@ -1,8 +1,11 @@
 package com.bloomreach.garage.reservation.api.service;
 
 import com.bloomreach.garage.reservation.api.component.AppointmentBuilder;
-import com.bloomreach.garage.reservation.api.component.GarageBoxAllocator;
-import com.bloomreach.garage.reservation.api.component.MechanicAvailabilityChecker;
+import com.bloomreach.garage.reservation.api.component.AvailabilityVersionTracker;
+import com.bloomreach.garage.reservation.api.component.BookingFeasibilityEngine;
+import com.bloomreach.garage.reservation.api.component.GarageShardRouter;
+import com.bloomreach.garage.reservation.api.component.ReservationCellLedger;
+import com.bloomreach.garage.reservation.api.component.SlotHoldRegistry;
 import com.bloomreach.garage.reservation.api.entity.Customer;
 import com.bloomreach.garage.reservation.api.entity.Employee;
 import com.bloomreach.garage.reservation.api.entity.GarageAppointment;
@@ -10,76 +13,205 @@ import com.bloomreach.garage.reservation.api.entity.GarageBox;
 import com.bloomreach.garage.reservation.api.entity.GarageOperation;
 import com.bloomreach.garage.reservation.api.error.ErrorMessage;
 import com.bloomreach.garage.reservation.api.error.ProcessingError;
+import com.bloomreach.garage.reservation.api.error.ReservationConflictError;
+import com.bloomreach.garage.reservation.api.error.ValidationError;
+import com.bloomreach.garage.reservation.api.journal.BookingJournal;
 import com.bloomreach.garage.reservation.api.model.BookingRequest;
 import com.bloomreach.garage.reservation.api.model.BookingResponse;
 import com.bloomreach.garage.reservation.api.repository.CustomerRepository;
+import com.bloomreach.garage.reservation.api.repository.EmployeeRepository;
 import com.bloomreach.garage.reservation.api.repository.GarageAppointmentRepository;
+import com.bloomreach.garage.reservation.api.repository.GarageBoxRepository;
 import com.bloomreach.garage.reservation.api.repository.GarageOperationRepository;
+import com.bloomreach.garage.reservation.api.reservation.ResourceType;
+import com.bloomreach.garage.reservation.api.schedule.BookingResources;
+import com.bloomreach.garage.reservation.api.schedule.SlotHold;
 import com.bloomreach.garage.reservation.api.validator.BookingValidator;
-import jakarta.transaction.Transactional;
+import com.bloomreach.garage.reservation.config.BookingProperties;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @RequiredArgsConstructor
 @Service
 public class BookingService {
 
-    private final AvailabilityService availabilityService;
     private final CustomerRepository customerRepository;
     private final GarageAppointmentRepository garageAppointmentRepository;
     private final GarageOperationRepository garageOperationRepository;
-    private final GarageBoxAllocator garageBoxAllocator;
-    private final MechanicAvailabilityChecker mechanicAvailabilityChecker;
+    private final GarageBoxRepository garageBoxRepository;
+    private final EmployeeRepository employeeRepository;
+    private final BookingFeasibilityEngine bookingFeasibilityEngine;
     private final BookingValidator bookingValidator;
     private final AppointmentBuilder appointmentBuilder;
+    private final AvailabilityVersionTracker availabilityVersionTracker;
+    private final ReservationCellLedger reservationCellLedger;
+    private final SlotHoldRegistry slotHoldRegistry;
+    private final GarageShardRouter garageShardRouter;
+    private final PlatformTransactionManager transactionManager;
+    private final BookingProperties bookingProperties;
+    private final ObjectProvider<BookingJournal> bookingJournalProvider;
 
     /**
      * Books an appointment based on the provided booking request.
+     * <p>
+     * The garage box and mechanics are reserved by claiming their cells, so a concurrent booking of the same
+     * resources fails on the database's unique index instead of waiting for locks. When that happens, the
+     * booking is retried with the conflicting resources excluded, up to {@code booking.max-conflict-retries} times.
+     * A booking with a hold books the held garage box and mechanic without allocating them again, and
+     * resources held by other customers are never allocated. Only garages served by this node can be booked,
+     * so the holds and availability versions of the garage are all kept here.
+     * </p>
      *
      * @param request The booking request containing details of the appointment.
      * @return A response containing the booked appointment details.
-     * @throws ProcessingError if validation fails or if resources are not available.
+     * @throws ValidationError if the booking does not match its hold.
+     * @throws ProcessingError if validation fails, if another node serves the garage, if the hold has expired
+     *                         or if resources are not available.
      */
-    @Transactional
-    @CacheEvict(value = "availableSlots", allEntries = true/*, condition = "#date != null" */)
     public BookingResponse bookAppointment(BookingRequest request) {
+        return bookAppointment(request, response -> {
+        });
+    }
+
+    /**
+     * Books an appointment based on the provided booking request, passing the response to a callback within the
+     * booking's transaction, e.g. to store it atomically with the appointment.
+     *
+     * @param request      The booking request containing details of the appointment.
+     * @param beforeCommit Receives the response before the booking's transaction commits. An exception it throws
+     *                     rolls the booking back.
+     * @return A response containing the booked appointment details.
+     * @throws ValidationError if the booking does not match its hold.
+     * @throws ProcessingError if validation fails, if another node serves the garage, if the hold has expired
+     *                         or if resources are not available.
+     */
+    public BookingResponse bookAppointment(BookingRequest request, Consumer<BookingResponse> beforeCommit) {
+        long garageId = garageShardRouter.route(request.getGarageId());
+        SlotHold hold = request.getHoldId() != null ? findMatchingHold(garageId, request) : null;
+
+        // Resources held by other customers are not available to this booking
+        Map<ResourceType, Set<Long>> heldResources = slotHoldRegistry.findHeldResources(garageId,
+                request.getDate(), request.getStartTime(), request.getEndTime(), request.getHoldId());
+        Set<Long> excludedBoxIds = new HashSet<>(heldResources.getOrDefault(ResourceType.GARAGE_BOX, Set.of()));
+        Set<Long> excludedMechanicIds = new HashSet<>(heldResources.getOrDefault(ResourceType.MECHANIC, Set.of()));
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int retry = 0; ; retry++) {
+            SlotHold attemptHold = hold;
+            try {
+                BookingResponse response = transactionTemplate.execute(status -> {
+                    BookingResponse attemptResponse = attemptHold != null
+                            ? bookHeldAppointment(request, attemptHold)
+                            : bookAppointment(garageId, request, excludedBoxIds, excludedMechanicIds);
+                    beforeCommit.accept(attemptResponse);
+                    return attemptResponse;
+                });
+                if (request.getHoldId() != null) {
+                    slotHoldRegistry.release(request.getHoldId());
+                }
+                return response;
+            } catch (ReservationConflictError e) {
+                if (retry >= bookingProperties.getMaxConflictRetries()) {
+                    throw e;
+                }
+
+                // The failed transaction has been rolled back, the winning booking is visible now
+                Map<ResourceType, Set<Long>> claimedResources = reservationCellLedger.findClaimedResources(e.getCells());
+                excludedBoxIds.addAll(claimedResources.getOrDefault(ResourceType.GARAGE_BOX, Set.of()));
+                excludedMechanicIds.addAll(claimedResources.getOrDefault(ResourceType.MECHANIC, Set.of()));
+
+                // Held resources can only be lost to bookings made around the hold, allocate others instead
+                hold = null;
+            }
+        }
+    }
+
+    private BookingResponse bookAppointment(long garageId, BookingRequest request, Set<Long> excludedBoxIds,
+                                            Set<Long> excludedMechanicIds) {
         // Validate the booking request
         bookingValidator.validate(request);
 
-        // Validate that the slot is available using AvailabilityService
-        boolean slotAvailable = availabilityService.isMechanicAvailable(
-                request.getDate(), request.getStartTime(), request.getEndTime(), request.getOperationIds());
-        if (!slotAvailable) {
-            throw new ProcessingError(ErrorMessage.NO_AVAILABLE_MECHANICS_FOR_THIS_TIME_SLOT);
+        // Fetch the operations to be performed and the customer
+        List<GarageOperation> operations = findOperations(request);
+        Customer customer = findCustomer(request);
+
+        // Choose the garage box and the mechanic of every operation from the day's schedule, skipping held
+        // resources and those lost to a concurrent booking
+        BookingResources resources = bookingFeasibilityEngine.findBookingResources(garageId, request.getDate(),
+                request.getStartTime(), request.getEndTime(), operations, excludedBoxIds, excludedMechanicIds);
+
+        return saveAppointment(request, customer, resources.getGarageBox(), operations, resources.getMechanics());
+    }
+
+    private BookingResponse bookHeldAppointment(BookingRequest request, SlotHold hold) {
+        bookingValidator.validate(request);
+
+        List<GarageOperation> operations = findOperations(request);
+        Customer customer = findCustomer(request);
+
+        // The held resources were available when the hold was made, the claimed cells confirm they still are
+        GarageBox garageBox = garageBoxRepository.findById(hold.getGarageBoxId())
+                .orElseThrow(() -> new ProcessingError(ErrorMessage.NO_AVAILABLE_GARAGE_BOXES));
+        Employee mechanic = employeeRepository.findById(hold.getEmployeeId())
+                .orElseThrow(() -> new ProcessingError(ErrorMessage.NO_AVAILABLE_MECHANICS_FOR_THIS_TIME_SLOT));
+
+        return saveAppointment(request, customer, garageBox, operations,
+                Collections.nCopies(operations.size(), mechanic));
+    }
+
+    private SlotHold findMatchingHold(long garageId, BookingRequest request) {
+        SlotHold hold = slotHoldRegistry.find(request.getHoldId())
+                .orElseThrow(() -> new ProcessingError(ErrorMessage.HOLD_NOT_FOUND));
+
+        if (hold.getGarageId() != garageId
+                || !hold.getDate().equals(request.getDate())
+                || !hold.getStartTime().equals(request.getStartTime())
+                || !hold.getEndTime().equals(request.getEndTime())
+                || !hold.getOperationIds().equals(request.getOperationIds())) {
+            throw new ValidationError(ErrorMessage.HOLD_DOES_NOT_MATCH);
         }
 
-        // Fetch the first available garage box
-        GarageBox garageBox = garageBoxAllocator.allocateGarageBox(
-                request.getDate(), request.getStartTime(), request.getEndTime());
+        return hold;
+    }
 
-        // Fetch the operations to be performed
+    private List<GarageOperation> findOperations(BookingRequest request) {
         List<GarageOperation> operations = garageOperationRepository.findAllById(request.getOperationIds());
         if (operations.size() != request.getOperationIds().size()) {
             throw new ProcessingError(ErrorMessage.OPERATION_NOT_FOUND);
         }
+        return operations;
+    }
 
-        // Fetch the customer entity from the repository
-        Customer customer = customerRepository.findById(request.getCustomerId())
+    private Customer findCustomer(BookingRequest request) {
+        return customerRepository.findById(request.getCustomerId())
                 .orElseThrow(() -> new ProcessingError(ErrorMessage.INVALID_CUSTOMER_ID));
+    }
 
-        // Find available mechanics for the operations
-        List<Employee> availableMechanics = mechanicAvailabilityChecker.findAvailableMechanics(
-                request.getDate(), request.getStartTime(), request.getEndTime());
-
+    private BookingResponse saveAppointment(BookingRequest request, Customer customer, GarageBox garageBox,
+                                            List<GarageOperation> operations, List<Employee> assignedMechanics) {
         // Build the appointment with the given details
         GarageAppointment appointment = appointmentBuilder.buildAppointment(
-                customer, request.getDate(), request.getStartTime(), request.getEndTime(), garageBox, operations, availableMechanics);
+                customer, request.getDate(), request.getStartTime(), request.getEndTime(), garageBox, operations, assignedMechanics);
+
+        // Save the appointment and claim the cells of its garage box and mechanics
+        GarageAppointment savedAppointment = garageAppointmentRepository.saveAndFlush(appointment);
+        reservationCellLedger.claim(savedAppointment);
+
+        // Change the availability version of the garage's date once the booking is committed
+        availabilityVersionTracker.bump(savedAppointment.getGarageId(), savedAppointment.getDate());
 
-        // Save the appointment
-        GarageAppointment savedAppointment = garageAppointmentRepository.save(appointment);
+        // Append the booking to the journal, if enabled, once it is committed
+        bookingJournalProvider.ifAvailable(bookingJournal -> bookingJournal.append(savedAppointment));
 
         // Build and return the response with the appointment and operation details
         return BookingResponse.builder()
@@ -0,0 +1,98 @@
+package com.bloomreach.garage.reservation.api.service;
+
+import com.bloomreach.garage.reservation.api.component.BookingFeasibilityEngine;
+import com.bloomreach.garage.reservation.api.component.GarageShardRouter;
+import com.bloomreach.garage.reservation.api.component.SlotHoldRegistry;
+import com.bloomreach.garage.reservation.api.entity.GarageOperation;
+import com.bloomreach.garage.reservation.api.error.ErrorMessage;
+import com.bloomreach.garage.reservation.api.error.ProcessingError;
+import com.bloomreach.garage.reservation.api.error.ValidationError;
+import com.bloomreach.garage.reservation.api.model.HoldRequest;
+import com.bloomreach.garage.reservation.api.model.HoldResponse;
+import com.bloomreach.garage.reservation.api.repository.GarageOperationRepository;
+import com.bloomreach.garage.reservation.api.reservation.ResourceType;
+import com.bloomreach.garage.reservation.api.schedule.BookingResources;
+import com.bloomreach.garage.reservation.api.schedule.SlotHold;
+import com.bloomreach.garage.reservation.api.validator.BookingValidator;
+import com.bloomreach.garage.reservation.config.HoldProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Tentatively reserves slots while customers complete their booking.
+ * <p>
+ * A hold sets aside a garage box and a mechanic for the requested slot until it expires. Other customers
+ * cannot get the held resources, and booking with the hold reuses them instead of allocating again.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Service
+public class HoldService {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final GarageOperationRepository garageOperationRepository;
+    private final BookingFeasibilityEngine bookingFeasibilityEngine;
+    private final SlotHoldRegistry slotHoldRegistry;
+    private final GarageShardRouter garageShardRouter;
+    private final BookingValidator bookingValidator;
+    private final HoldProperties holdProperties;
+    private final Clock clock;
+
+    /**
+     * Holds a garage box and a mechanic of the requested garage for the requested slot.
+     *
+     * @param request The slot to hold.
+     * @return The ID of the hold and the moment it expires.
+     * @throws ValidationError if the date or time is not within the allowed range.
+     * @throws ProcessingError if another node serves the garage, the operations are not found or no garage box
+     *                         or mechanic can be held.
+     */
+    public HoldResponse hold(HoldRequest request) {
+        long garageId = garageShardRouter.route(request.getGarageId());
+        bookingValidator.validate(request.getDate(), request.getStartTime());
+
+        List<GarageOperation> operations = garageOperationRepository.findAllById(request.getOperationIds());
+        if (operations.size() != request.getOperationIds().size()) {
+            throw new ProcessingError(ErrorMessage.OPERATION_NOT_FOUND);
+        }
+
+        // Another hold may take the chosen resources between choosing and adding, then choose again
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            Map<ResourceType, Set<Long>> heldResources = slotHoldRegistry.findHeldResources(garageId,
+                    request.getDate(), request.getStartTime(), request.getEndTime(), null);
+            Set<Long> heldBoxIds = heldResources.getOrDefault(ResourceType.GARAGE_BOX, Set.of());
+            Set<Long> heldMechanicIds = heldResources.getOrDefault(ResourceType.MECHANIC, Set.of());
+
+            BookingResources resources = bookingFeasibilityEngine.findHoldResources(garageId, request.getDate(),
+                    request.getStartTime(), request.getEndTime(), operations, heldBoxIds, heldMechanicIds);
+
+            SlotHold hold = new SlotHold(UUID.randomUUID(), garageId, request.getDate(), request.getStartTime(),
+                    request.getEndTime(), List.copyOf(request.getOperationIds()), resources.getGarageBox().getId(),
+                    resources.getMechanics().get(0).getId(), clock.instant().plus(holdProperties.getTimeToLive()));
+            if (slotHoldRegistry.tryAdd(hold)) {
+                return new HoldResponse(hold.getId(), hold.getExpiresAt());
+            }
+        }
+
+        throw new ProcessingError(ErrorMessage.TIME_SLOT_ALREADY_HELD);
+    }
+
+    /**
+     * Releases a hold before it expires.
+     *
+     * @param holdId The ID of the hold.
+     * @throws ProcessingError if the hold does not exist or has already expired.
+     */
+    public void release(UUID holdId) {
+        if (!slotHoldRegistry.release(holdId)) {
+            throw new ProcessingError(ErrorMessage.HOLD_NOT_FOUND);
+        }
+    }
+}
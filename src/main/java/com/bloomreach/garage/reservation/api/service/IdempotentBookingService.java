@@ -0,0 +1,70 @@
+package com.bloomreach.garage.reservation.api.service;
+
+import com.bloomreach.garage.reservation.api.error.ErrorMessage;
+import com.bloomreach.garage.reservation.api.error.ProcessingError;
+import com.bloomreach.garage.reservation.api.error.ValidationError;
+import com.bloomreach.garage.reservation.api.idempotency.IdempotencyStore;
+import com.bloomreach.garage.reservation.api.model.BookingRequest;
+import com.bloomreach.garage.reservation.api.model.BookingResponse;
+import com.bloomreach.garage.reservation.config.IdempotencyProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Makes bookings idempotent for clients that send an {@code Idempotency-Key}.
+ * <p>
+ * The first request with a key is booked, and its response is replayed for every retry with the same key
+ * until the key expires, without validating, allocating or inserting again.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Service
+public class IdempotentBookingService {
+
+    private final BookingService bookingService;
+    private final IdempotencyStore idempotencyStore;
+    private final IdempotencyProperties idempotencyProperties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Books an appointment, or returns the response of the booking already made with the same key.
+     *
+     * @param idempotencyKey The idempotency key sent by the client, or {@code null} to always book.
+     * @param request        The booking request containing details of the appointment.
+     * @return A response containing the booked appointment details.
+     * @throws ValidationError if the key is too long or was used for a different request.
+     * @throws ProcessingError if validation fails, if resources are not available or if the booking with the key
+     *                         is still in progress.
+     */
+    public BookingResponse bookAppointment(String idempotencyKey, BookingRequest request) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return bookingService.bookAppointment(request);
+        }
+
+        if (idempotencyKey.length() > idempotencyProperties.getMaxKeyLength()) {
+            throw new ValidationError(String.format(
+                    ErrorMessage.IDEMPOTENCY_KEY_TOO_LONG, idempotencyProperties.getMaxKeyLength()));
+        }
+
+        return idempotencyStore.execute(idempotencyKey, fingerprint(request),
+                beforeCommit -> bookingService.bookAppointment(request, beforeCommit));
+    }
+
+    /**
+     * Calculates a SHA-256 fingerprint of the JSON form of a booking request.
+     */
+    private String fingerprint(BookingRequest request) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Booking request cannot be fingerprinted", e);
+        }
+    }
+}
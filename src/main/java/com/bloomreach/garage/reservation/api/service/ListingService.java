@@ -0,0 +1,180 @@
+package com.bloomreach.garage.reservation.api.service;
+
+import com.bloomreach.garage.reservation.api.error.ErrorMessage;
+import com.bloomreach.garage.reservation.api.error.ValidationError;
+import com.bloomreach.garage.reservation.api.model.AppointmentOperationSummary;
+import com.bloomreach.garage.reservation.api.model.AppointmentSummary;
+import com.bloomreach.garage.reservation.api.model.CustomerSummary;
+import com.bloomreach.garage.reservation.api.model.KeysetPage;
+import com.bloomreach.garage.reservation.api.repository.CustomerRepository;
+import com.bloomreach.garage.reservation.api.repository.GarageAppointmentOperationRepository;
+import com.bloomreach.garage.reservation.api.repository.GarageAppointmentRepository;
+import com.bloomreach.garage.reservation.api.support.KeysetCursor;
+import com.bloomreach.garage.reservation.config.ListingProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Lists appointments, appointment operations and customers with keyset pagination.
+ * <p>
+ * Every page is sought from the sort key of the last item of the previous page, which the client passes back
+ * as an opaque cursor, so a deep page costs the same index range scan as the first one. Only slim projections
+ * are selected, without loading associated entities.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Service
+public class ListingService {
+
+    private final GarageAppointmentRepository garageAppointmentRepository;
+    private final GarageAppointmentOperationRepository garageAppointmentOperationRepository;
+    private final CustomerRepository customerRepository;
+    private final ListingProperties listingProperties;
+
+    /**
+     * Lists appointments from a given date on, ordered by date, start time and ID.
+     *
+     * @param fromDate The first date to list, used for the first page.
+     * @param cursor   The cursor of the page to list, or {@code null} for the first page.
+     * @param pageSize The maximum number of appointments, or {@code null} for the default.
+     * @return A page of appointments.
+     * @throws ValidationError if the first date is missing, the cursor is invalid or the page size is out of range.
+     */
+    public KeysetPage<AppointmentSummary> findAppointments(LocalDate fromDate, String cursor, Integer pageSize) {
+        Pageable pageable = pageable(pageSize);
+        List<AppointmentSummary> appointments;
+        if (cursor == null) {
+            if (fromDate == null) {
+                throw new ValidationError(ErrorMessage.DATE_IS_REQUIRED);
+            }
+            appointments = garageAppointmentRepository.findSummariesFrom(fromDate, pageable);
+        } else {
+            AppointmentKey key = decodeAppointmentKey(cursor);
+            appointments = garageAppointmentRepository.findSummariesAfter(key.date, key.startTime, key.id, pageable);
+        }
+
+        return page(appointments, pageable, appointment ->
+                KeysetCursor.encode(appointment.getDate(), appointment.getStartTime(), appointment.getId()));
+    }
+
+    /**
+     * Lists the appointments of a customer, newest first.
+     *
+     * @param customerId The ID of the customer.
+     * @param cursor     The cursor of the page to list, or {@code null} for the first page.
+     * @param pageSize   The maximum number of appointments, or {@code null} for the default.
+     * @return A page of appointments.
+     * @throws ValidationError if the cursor is invalid or the page size is out of range.
+     */
+    public KeysetPage<AppointmentSummary> findCustomerAppointments(Long customerId, String cursor, Integer pageSize) {
+        Pageable pageable = pageable(pageSize);
+        List<AppointmentSummary> appointments;
+        if (cursor == null) {
+            appointments = garageAppointmentRepository.findCustomerSummaries(customerId, pageable);
+        } else {
+            AppointmentKey key = decodeAppointmentKey(cursor);
+            appointments = garageAppointmentRepository.findCustomerSummariesBefore(
+                    customerId, key.date, key.startTime, key.id, pageable);
+        }
+
+        return page(appointments, pageable, appointment ->
+                KeysetCursor.encode(appointment.getDate(), appointment.getStartTime(), appointment.getId()));
+    }
+
+    /**
+     * Lists appointment operations from a given date on, ordered by date, start time and ID.
+     *
+     * @param fromDate The first date to list, used for the first page.
+     * @param cursor   The cursor of the page to list, or {@code null} for the first page.
+     * @param pageSize The maximum number of operations, or {@code null} for the default.
+     * @return A page of appointment operations.
+     * @throws ValidationError if the first date is missing, the cursor is invalid or the page size is out of range.
+     */
+    public KeysetPage<AppointmentOperationSummary> findAppointmentOperations(LocalDate fromDate, String cursor,
+                                                                            Integer pageSize) {
+        Pageable pageable = pageable(pageSize);
+        List<AppointmentOperationSummary> operations;
+        if (cursor == null) {
+            if (fromDate == null) {
+                throw new ValidationError(ErrorMessage.DATE_IS_REQUIRED);
+            }
+            operations = garageAppointmentOperationRepository.findSummariesFrom(fromDate, pageable);
+        } else {
+            AppointmentKey key = decodeAppointmentKey(cursor);
+            operations = garageAppointmentOperationRepository.findSummariesAfter(key.date, key.startTime, key.id, pageable);
+        }
+
+        return page(operations, pageable, operation ->
+                KeysetCursor.encode(operation.getDate(), operation.getStartTime(), operation.getId()));
+    }
+
+    /**
+     * Lists customers in ID order.
+     *
+     * @param cursor   The cursor of the page to list, or {@code null} for the first page.
+     * @param pageSize The maximum number of customers, or {@code null} for the default.
+     * @return A page of customers.
+     * @throws ValidationError if the cursor is invalid or the page size is out of range.
+     */
+    public KeysetPage<CustomerSummary> findCustomers(String cursor, Integer pageSize) {
+        Pageable pageable = pageable(pageSize);
+        long afterId = cursor == null ? 0 : decode(cursor, 1, values -> Long.parseLong(values[0]));
+
+        return page(customerRepository.findSummariesAfter(afterId, pageable), pageable,
+                customer -> KeysetCursor.encode(customer.getId()));
+    }
+
+    /**
+     * Requests one item more than the page size, which tells whether a next page exists.
+     */
+    private Pageable pageable(Integer pageSize) {
+        int size = pageSize != null ? pageSize : listingProperties.getDefaultPageSize();
+        if (size < 1 || size > listingProperties.getMaxPageSize()) {
+            throw new ValidationError(String.format(ErrorMessage.PAGE_SIZE_OUT_OF_RANGE, listingProperties.getMaxPageSize()));
+        }
+        return PageRequest.of(0, size + 1);
+    }
+
+    private <T> KeysetPage<T> page(List<T> items, Pageable pageable, Function<T, String> cursorOf) {
+        int pageSize = pageable.getPageSize() - 1;
+        if (items.size() <= pageSize) {
+            return new KeysetPage<>(items, null);
+        }
+
+        List<T> pageItems = items.subList(0, pageSize);
+        return new KeysetPage<>(pageItems, cursorOf.apply(pageItems.get(pageSize - 1)));
+    }
+
+    private AppointmentKey decodeAppointmentKey(String cursor) {
+        return decode(cursor, 3, values -> new AppointmentKey(
+                LocalDate.parse(values[0]), LocalTime.parse(values[1]), Long.parseLong(values[2])));
+    }
+
+    private <K> K decode(String cursor, int length, Function<String[], K> parser) {
+        try {
+            return parser.apply(KeysetCursor.decode(cursor, length));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationError(ErrorMessage.INVALID_CURSOR);
+        }
+    }
+
+    /**
+     * The sort key of an appointment or appointment operation.
+     */
+    @Value
+    private static class AppointmentKey {
+
+        LocalDate date;
+        LocalTime startTime;
+        Long id;
+    }
+}
@@ -0,0 +1,81 @@
+package com.bloomreach.garage.reservation.api.support;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Assigns keys to nodes by consistent hashing.
+ * <p>
+ * Every node is placed on a ring of 64-bit hashes at several virtual positions, and a key belongs to the
+ * first node at or after its own hash. Adding or removing a node therefore only moves the keys between
+ * that node's positions and their predecessors, about one in {@code nodes} of all keys, and the virtual
+ * positions spread every node's share evenly around the ring. The ring is immutable, so it can be shared
+ * between threads without locking.
+ * </p>
+ */
+public final class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> ring;
+
+    /**
+     * Builds a ring of the specified nodes.
+     *
+     * @param nodes        The IDs of the nodes.
+     * @param virtualNodes The number of positions of every node on the ring.
+     * @throws IllegalArgumentException if no nodes or fewer than one virtual node are given.
+     */
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one node");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("A node needs at least one virtual node: " + virtualNodes);
+        }
+
+        NavigableMap<Long, String> positions = new TreeMap<>();
+        for (String node : nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                // On the rare collision the lower node ID wins, so every node builds the same ring
+                positions.merge(hash(node + "#" + i), node, (first, second) -> first.compareTo(second) <= 0 ? first : second);
+            }
+        }
+        this.ring = positions;
+    }
+
+    /**
+     * Finds the node owning a key.
+     *
+     * @param key The key.
+     * @return The ID of the owning node.
+     */
+    public String nodeFor(String key) {
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * Lists the distinct nodes of the ring.
+     *
+     * @return The IDs of the nodes, in their order of first position on the ring.
+     */
+    public List<String> nodes() {
+        return ring.values().stream().distinct().toList();
+    }
+
+    private static long hash(String value) {
+        try {
+            // MD5 spreads similar keys such as consecutive IDs evenly, which String.hashCode does not
+            byte[] digest = MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+}
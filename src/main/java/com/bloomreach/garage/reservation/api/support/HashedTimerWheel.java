@@ -0,0 +1,229 @@
+package com.bloomreach.garage.reservation.api.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs tasks after a delay using a hashed timer wheel.
+ * <p>
+ * Timeouts are hashed into a fixed number of buckets by their deadline tick, and a single worker thread
+ * advances one bucket per tick, expiring the timeouts due in that round. Scheduling and cancelling a
+ * timeout are constant-time operations regardless of how many timeouts are pending, at the price of
+ * firing up to one tick late. New and cancelled timeouts are handed to the worker through lock-free queues,
+ * so callers never contend with each other or with the worker. Tasks run on the worker thread and must be short.
+ * </p>
+ */
+@Slf4j
+public class HashedTimerWheel implements AutoCloseable {
+
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> scheduledTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private final long startNanos;
+
+    private volatile boolean running = true;
+    private long tick;
+
+    /**
+     * Creates a timer wheel and starts its worker thread.
+     *
+     * @param name         The name of the worker thread.
+     * @param tickDuration The time between two ticks, which is also the precision of the timeouts.
+     * @param wheelSize    The number of buckets, rounded up to a power of two.
+     */
+    public HashedTimerWheel(String name, Duration tickDuration, int wheelSize) {
+        this.tickNanos = Math.max(1, tickDuration.toNanos());
+        int buckets = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.wheel = new Bucket[buckets];
+        for (int i = 0; i < buckets; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = buckets - 1;
+        this.startNanos = System.nanoTime();
+
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Schedules a task to run once the delay has passed.
+     *
+     * @param task  The task to run on the worker thread.
+     * @param delay The delay after which the task runs.
+     * @return The timeout, which can be cancelled until it has expired.
+     * @throws IllegalStateException if the wheel has been closed.
+     */
+    public Timeout schedule(Runnable task, Duration delay) {
+        if (!running) {
+            throw new IllegalStateException("Timer wheel has been closed");
+        }
+
+        Timeout timeout = new Timeout(task, System.nanoTime() - startNanos + delay.toNanos());
+        scheduledTimeouts.add(timeout);
+        return timeout;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = startNanos + (tick + 1) * tickNanos;
+            long sleepNanos;
+            while ((sleepNanos = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+                if (!running) {
+                    return;
+                }
+            }
+
+            removeCancelledTimeouts();
+            transferScheduledTimeouts();
+            wheel[(int) (tick & mask)].expireTimeouts();
+            tick++;
+        }
+    }
+
+    private void removeCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferScheduledTimeouts() {
+        // Bounded, so a flood of new timeouts cannot stall the wheel
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = scheduledTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() != Timeout.PENDING) {
+                continue;
+            }
+
+            long deadlineTick = timeout.deadlineNanos / tickNanos;
+            timeout.remainingRounds = (deadlineTick - tick) / wheel.length;
+            // A deadline already in the past expires with the current tick
+            long bucketTick = Math.max(deadlineTick, tick);
+            wheel[(int) (bucketTick & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * A task scheduled on the wheel.
+     */
+    public final class Timeout {
+
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadlineNanos;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        // Only accessed by the worker thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout previous;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Cancels the timeout, so its task does not run.
+         *
+         * @return True if the timeout was cancelled, false if it had already expired or been cancelled.
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            cancelledTimeouts.add(this);
+            return true;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(PENDING, EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("Timer task failed", e);
+            }
+        }
+    }
+
+    /**
+     * A doubly linked list of the timeouts hashed to one slot of the wheel, only accessed by the worker thread.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            } else {
+                tail = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        void expireTimeouts() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.state.get() == Timeout.CANCELLED) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.bloomreach.garage.reservation.api.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+/**
+ * Encodes the sort key of the last item of a page into an opaque cursor, from which the next page is sought.
+ * <p>
+ * The values are joined and Base64url-encoded, so clients pass the cursor back without interpreting it.
+ * </p>
+ */
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private KeysetCursor() {
+        // empty constructor
+    }
+
+    /**
+     * Encodes sort key values into a cursor.
+     *
+     * @param values The values of the sort key, whose string representations must not contain {@code |}.
+     * @return The cursor.
+     */
+    public static String encode(Object... values) {
+        String key = Arrays.stream(values)
+                .map(String::valueOf)
+                .collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor into the string representations of its sort key values.
+     *
+     * @param cursor The cursor.
+     * @param length The expected number of values.
+     * @return The values of the sort key.
+     * @throws IllegalArgumentException if the cursor is malformed or has a different number of values.
+     */
+    public static String[] decode(String cursor, int length) {
+        String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] values = key.split("\\|", -1);
+        if (values.length != length) {
+            throw new IllegalArgumentException("Expected " + length + " cursor values but got " + values.length);
+        }
+        return values;
+    }
+}
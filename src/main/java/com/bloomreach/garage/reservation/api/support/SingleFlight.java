@@ -0,0 +1,117 @@
+package com.bloomreach.garage.reservation.api.support;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent computations of the same key into one.
+ * <p>
+ * The first caller for a key runs the computation, and callers arriving while it is in flight wait for its
+ * result or exception instead of computing again. Nothing is kept once the computation has finished, so
+ * the next caller computes afresh.
+ * </p>
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the computed values.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the computation for the key, or joins the computation already in flight for it.
+     *
+     * @param key         The key identifying the computation.
+     * @param computation Computes the value if no computation for the key is in flight.
+     * @return The computed value.
+     */
+    public V execute(K key, Supplier<V> computation) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return join(existing);
+        }
+
+        try {
+            V value = computation.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Runs one computation for the keys that are not in flight, and joins the computations already in flight for
+     * the others.
+     * <p>
+     * Every key of the batch is in flight while the computation runs, so single and batch callers of any of them
+     * share it. The batch is computed before joining the others, so two batches waiting on each other's keys
+     * cannot deadlock.
+     * </p>
+     *
+     * @param keys        The keys identifying the computations.
+     * @param computation Computes the values of the keys not in flight, which it receives, and returns a value
+     *                    for every one of them.
+     * @return The computed values, keyed by the given keys.
+     */
+    public Map<K, V> executeAll(Collection<K> keys, Function<Set<K>, Map<K, V>> computation) {
+        Map<K, CompletableFuture<V>> claimed = new HashMap<>();
+        Map<K, CompletableFuture<V>> joined = new HashMap<>();
+        for (K key : keys) {
+            CompletableFuture<V> future = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+            if (existing != null) {
+                joined.put(key, existing);
+            } else {
+                claimed.put(key, future);
+            }
+        }
+
+        Map<K, V> values = new HashMap<>();
+        if (!claimed.isEmpty()) {
+            try {
+                Map<K, V> computed = computation.apply(Set.copyOf(claimed.keySet()));
+                claimed.forEach((key, future) -> {
+                    V value = computed.get(key);
+                    future.complete(value);
+                    values.put(key, value);
+                });
+            } catch (RuntimeException | Error e) {
+                claimed.values().forEach(future -> future.completeExceptionally(e));
+                throw e;
+            } finally {
+                claimed.forEach(inFlight::remove);
+            }
+        }
+
+        joined.forEach((key, future) -> values.put(key, join(future)));
+        return values;
+    }
+
+    private V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Rethrow what the computation threw, as its own caller received it
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
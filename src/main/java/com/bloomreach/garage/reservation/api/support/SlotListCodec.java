@@ -0,0 +1,152 @@
+package com.bloomreach.garage.reservation.api.support;
+
+import com.bloomreach.garage.reservation.api.model.AvailableSlot;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes lists of available slots in a compact binary format.
+ * <p>
+ * Slots start and end on whole minutes, so every time is represented as its minute of the day. The encoding
+ * starts with a format version byte and the number of slots, followed by two numbers per slot: the distance of
+ * its start from the start of the previous slot (zigzag-encoded, as slots need not be sorted) and its length.
+ * All numbers are unsigned LEB128 varints, so a typical slot takes two bytes instead of about forty in JSON.
+ * </p>
+ */
+public final class SlotListCodec {
+
+    public static final byte FORMAT_VERSION = 1;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private SlotListCodec() {
+        // empty constructor
+    }
+
+    /**
+     * Encodes available slots.
+     *
+     * @param slots The slots to encode.
+     * @return The encoded slots.
+     * @throws IllegalArgumentException if a slot does not start and end on a whole minute or ends before it starts.
+     */
+    public static byte[] encode(List<AvailableSlot> slots) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(2 + slots.size() * 2);
+        output.write(FORMAT_VERSION);
+        writeVarint(output, slots.size());
+
+        int previousStart = 0;
+        for (AvailableSlot slot : slots) {
+            int start = minuteOfDay(slot.getStartTime());
+            int length = minuteOfDay(slot.getEndTime()) - start;
+            if (length < 0) {
+                throw new IllegalArgumentException("Slot ends before it starts: " + slot);
+            }
+
+            int startDelta = start - previousStart;
+            writeVarint(output, (startDelta << 1) ^ (startDelta >> 31));
+            writeVarint(output, length);
+            previousStart = start;
+        }
+
+        return output.toByteArray();
+    }
+
+    /**
+     * Decodes available slots encoded by {@link #encode(List)}.
+     *
+     * @param bytes The encoded slots.
+     * @return The decoded slots.
+     * @throws IllegalArgumentException if the bytes are not a valid encoding.
+     */
+    public static List<AvailableSlot> decode(byte[] bytes) {
+        Reader reader = new Reader(bytes);
+        int version = reader.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported slot list format version: " + version);
+        }
+
+        int count = reader.readVarint();
+        // Every slot takes at least two bytes, which bounds the list before allocating it
+        if (count > bytes.length / 2) {
+            throw new IllegalArgumentException("Slot count exceeds the encoded length: " + count);
+        }
+
+        List<AvailableSlot> slots = new ArrayList<>(count);
+        int previousStart = 0;
+        for (int i = 0; i < count; i++) {
+            int zigzagDelta = reader.readVarint();
+            int start = previousStart + ((zigzagDelta >>> 1) ^ -(zigzagDelta & 1));
+            int end = start + reader.readVarint();
+            slots.add(new AvailableSlot(toLocalTime(start), toLocalTime(end)));
+            previousStart = start;
+        }
+
+        if (reader.hasRemaining()) {
+            throw new IllegalArgumentException("Trailing bytes after " + count + " slots");
+        }
+
+        return slots;
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        if (time.getSecond() != 0 || time.getNano() != 0) {
+            throw new IllegalArgumentException("Slot time is not a whole minute: " + time);
+        }
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static LocalTime toLocalTime(int minuteOfDay) {
+        if (minuteOfDay < 0 || minuteOfDay >= MINUTES_PER_DAY) {
+            throw new IllegalArgumentException("Minute of day out of range: " + minuteOfDay);
+        }
+        return LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream output, int value) {
+        while ((value & ~0x7F) != 0) {
+            output.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.write(value);
+    }
+
+    /**
+     * Reads bytes and varints from an encoded slot list.
+     */
+    private static class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        int readByte() {
+            if (position >= bytes.length) {
+                throw new IllegalArgumentException("Unexpected end of slot list");
+            }
+            return bytes[position++] & 0xFF;
+        }
+
+        int readVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Varint is longer than 5 bytes");
+        }
+
+        boolean hasRemaining() {
+            return position < bytes.length;
+        }
+    }
+}
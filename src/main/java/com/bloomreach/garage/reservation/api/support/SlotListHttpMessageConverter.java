@@ -0,0 +1,81 @@
+package com.bloomreach.garage.reservation.api.support;
+
+import com.bloomreach.garage.reservation.api.model.AvailableSlot;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes and reads lists of available slots in the compact binary format of the {@link SlotListCodec}.
+ * <p>
+ * The converter is only selected when a client asks for {@link #MEDIA_TYPE} in its {@code Accept} header,
+ * all other clients keep receiving JSON.
+ * </p>
+ */
+public class SlotListHttpMessageConverter extends AbstractGenericHttpMessageConverter<List<AvailableSlot>> {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.garage.slots";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    public SlotListHttpMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return isSlotList(type) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return isSlotList(type != null ? type : clazz) && canWrite(mediaType);
+    }
+
+    @Override
+    public List<AvailableSlot> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        return readInternal(null, inputMessage);
+    }
+
+    @Override
+    protected List<AvailableSlot> readInternal(Class<? extends List<AvailableSlot>> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        try {
+            return SlotListCodec.decode(inputMessage.getBody().readAllBytes());
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException("Invalid slot list: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(List<AvailableSlot> slots, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        byte[] bytes;
+        try {
+            bytes = SlotListCodec.encode(slots);
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotWritableException("Cannot encode slot list: " + e.getMessage(), e);
+        }
+        outputMessage.getHeaders().setContentLength(bytes.length);
+        outputMessage.getBody().write(bytes);
+    }
+
+    private static boolean isSlotList(Type type) {
+        ResolvableType resolvableType = ResolvableType.forType(type);
+        return List.class.isAssignableFrom(resolvableType.toClass())
+                && resolvableType.getGeneric(0).toClass() == AvailableSlot.class;
+    }
+}
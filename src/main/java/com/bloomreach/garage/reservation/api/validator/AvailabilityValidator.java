@@ -7,6 +7,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -19,6 +20,7 @@ import java.util.List;
 public class AvailabilityValidator {
 
     private final ReservationProperties reservationProperties;
+    private final Clock clock;
 
     /**
      * Validates that the given date is within the allowable range
@@ -29,7 +31,7 @@ public class AvailabilityValidator {
      * @throws ValidationError if the date is not within the allowed range.
      */
     public void validate(LocalDate date, List<Long> operationIds) {
-        LocalDate now = LocalDate.now();
+        LocalDate now = LocalDate.now(clock);
         LocalDate maxDate = now.plusDays(reservationProperties.getMaxAdvanceDays());
 
         if (date.isBefore(now)) {
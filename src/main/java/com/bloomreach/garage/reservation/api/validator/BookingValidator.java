@@ -7,8 +7,10 @@ import com.bloomreach.garage.reservation.config.ReservationProperties;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 /**
@@ -19,6 +21,7 @@ import java.time.LocalTime;
 public class BookingValidator {
 
     private final ReservationProperties reservationProperties;
+    private final Clock clock;
 
     /**
      * Validates the booking request against the max-advance-days and min-advance-minutes constraints.
@@ -27,21 +30,34 @@ public class BookingValidator {
      * @throws ValidationError if the request violates the defined constraints.
      */
     public void validate(BookingRequest request) {
-        LocalDate currentDate = LocalDate.now();
-        LocalTime currentTime = LocalTime.now();
+        validate(request.getDate(), request.getStartTime());
+    }
+
+    /**
+     * Validates the date and start time of a booking or hold against the max-advance-days and
+     * min-advance-minutes constraints.
+     *
+     * @param date      The date of the appointment.
+     * @param startTime The start time of the appointment.
+     * @throws ValidationError if the date or start time violates the defined constraints.
+     */
+    public void validate(LocalDate date, LocalTime startTime) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDate currentDate = now.toLocalDate();
+        LocalTime currentTime = now.toLocalTime();
 
-        if (request.getDate().isAfter(currentDate.plusDays(reservationProperties.getMaxAdvanceDays()))) {
+        if (date.isAfter(currentDate.plusDays(reservationProperties.getMaxAdvanceDays()))) {
             throw new ValidationError(String.format(ErrorMessage.BOOKING_CANNOT_BE_MADE_MORE_THAN,
                     reservationProperties.getMaxAdvanceDays()));
         }
 
-        if (request.getDate().isEqual(currentDate)) {
-            Duration durationBetweenNowAndBooking = Duration.between(currentTime, request.getStartTime());
+        if (date.isEqual(currentDate)) {
+            Duration durationBetweenNowAndBooking = Duration.between(currentTime, startTime);
             if (durationBetweenNowAndBooking.toMinutes() < reservationProperties.getMinAdvanceMinutes()) {
                 throw new ValidationError(String.format(ErrorMessage.BOOKING_MUST_BE_MADE_AT_LEAST,
                         reservationProperties.getMinAdvanceMinutes()));
             }
-        } else if (request.getDate().isBefore(currentDate)) {
+        } else if (date.isBefore(currentDate)) {
             throw new ValidationError(ErrorMessage.BOOKING_CANNOT_BE_MADE_FOR_A_PAST_DATE);
         }
     }
@@ -0,0 +1,42 @@
+package com.bloomreach.garage.reservation.config;
+
+import com.bloomreach.garage.reservation.api.admission.AdmissionLane;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "garage.reservation.admission")
+public class AdmissionProperties {
+
+    private boolean enabled;
+    private LimitStrategy strategy;
+    private int initialLimit;
+    private int minLimit;
+    private int maxLimit;
+    private double backoffRatio;
+    private Duration latencyThreshold;
+    private Duration retryAfter;
+    private Map<AdmissionLane, Lane> lanes = new EnumMap<>(AdmissionLane.class);
+
+    public enum LimitStrategy {
+        FIXED,
+        AIMD
+    }
+
+    @Getter
+    @Setter
+    public static class Lane {
+
+        private int maxConcurrency;
+        private int queueSize;
+        private Duration maxWait;
+    }
+}
@@ -0,0 +1,18 @@
+package com.bloomreach.garage.reservation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "garage.reservation.archive")
+public class ArchiveProperties {
+
+    private boolean enabled;
+    private String cron;
+    private int retentionDays;
+    private int batchSize;
+}
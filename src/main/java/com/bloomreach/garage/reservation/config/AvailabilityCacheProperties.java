@@ -0,0 +1,21 @@
+package com.bloomreach.garage.reservation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "garage.reservation.availability-cache")
+public class AvailabilityCacheProperties {
+
+    private Duration timeToLive;
+    private Duration maxStaleness;
+    private int maxEntries;
+    private int refreshThreads;
+    private int refreshQueueCapacity;
+}
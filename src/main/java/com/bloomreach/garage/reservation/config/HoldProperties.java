@@ -0,0 +1,20 @@
+package com.bloomreach.garage.reservation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "garage.reservation.hold")
+public class HoldProperties {
+
+    private Duration timeToLive;
+    private Duration tickDuration;
+    private int wheelSize;
+    private int maxHolds;
+}
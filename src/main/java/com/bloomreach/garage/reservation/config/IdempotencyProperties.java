@@ -0,0 +1,21 @@
+package com.bloomreach.garage.reservation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "garage.reservation.idempotency")
+public class IdempotencyProperties {
+
+    private String store;
+    private Duration timeToLive;
+    private Duration waitTimeout;
+    private int maxEntries;
+    private int maxKeyLength;
+}
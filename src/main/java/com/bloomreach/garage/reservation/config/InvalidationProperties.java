@@ -0,0 +1,23 @@
+package com.bloomreach.garage.reservation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "garage.reservation.invalidation")
+public class InvalidationProperties {
+
+    private String transport;
+    private Duration flushInterval;
+    private int maxBatchSize;
+    private String channel;
+    private Duration pollInterval;
+    private Duration lookback;
+    private Duration retention;
+}
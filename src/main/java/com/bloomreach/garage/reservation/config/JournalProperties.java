@@ -0,0 +1,24 @@
+package com.bloomreach.garage.reservation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "garage.reservation.journal")
+public class JournalProperties {
+
+    private boolean enabled;
+    private String directory;
+    private DataSize segmentSize;
+    private boolean forceOnAppend;
+    private boolean restoreDatabase;
+    private int restoreBatchSize;
+    private Duration snapshotInterval;
+}
@@ -0,0 +1,24 @@
+package com.bloomreach.garage.reservation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "garage.reservation.query-log")
+public class QueryLogProperties {
+
+    private boolean enabled;
+    private Duration slowThreshold;
+    private boolean explain;
+    private Duration explainInterval;
+    private int maxShapes;
+    private boolean showParameterValues;
+    private int maxParameterLength;
+    private int defaultTop;
+}
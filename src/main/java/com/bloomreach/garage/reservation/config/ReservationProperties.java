@@ -14,4 +14,6 @@ public class ReservationProperties {
     private int maxAdvanceDays;
     private int minAdvanceMinutes;
     private int defaultSlotDuration;
+    private int maxOperationSetsPerRequest;
+    private int maxEarliestSlotsPerRequest;
 }
@@ -0,0 +1,89 @@
+package com.bloomreach.garage.reservation.config;
+
+import com.bloomreach.garage.reservation.api.entity.ArchivedGarageAppointment;
+import com.bloomreach.garage.reservation.api.entity.ArchivedGarageAppointmentOperation;
+import com.bloomreach.garage.reservation.api.entity.Customer;
+import com.bloomreach.garage.reservation.api.entity.Employee;
+import com.bloomreach.garage.reservation.api.entity.EmployeeType;
+import com.bloomreach.garage.reservation.api.entity.EmployeeWorkingHours;
+import com.bloomreach.garage.reservation.api.entity.Garage;
+import com.bloomreach.garage.reservation.api.entity.GarageAppointment;
+import com.bloomreach.garage.reservation.api.entity.GarageAppointmentOperation;
+import com.bloomreach.garage.reservation.api.entity.GarageBox;
+import com.bloomreach.garage.reservation.api.entity.GarageClosure;
+import com.bloomreach.garage.reservation.api.entity.GarageClosureType;
+import com.bloomreach.garage.reservation.api.entity.GarageOperation;
+import com.bloomreach.garage.reservation.api.model.AppointmentOperationSummary;
+import com.bloomreach.garage.reservation.api.model.AppointmentSummary;
+import com.bloomreach.garage.reservation.api.model.AvailabilityUpdate;
+import com.bloomreach.garage.reservation.api.model.AvailableSlot;
+import com.bloomreach.garage.reservation.api.model.BookingRequest;
+import com.bloomreach.garage.reservation.api.model.BookingResponse;
+import com.bloomreach.garage.reservation.api.model.BulkAvailabilityRequest;
+import com.bloomreach.garage.reservation.api.model.BulkAvailabilityResponse;
+import com.bloomreach.garage.reservation.api.model.CustomerSummary;
+import com.bloomreach.garage.reservation.api.model.EarliestSlot;
+import com.bloomreach.garage.reservation.api.model.HoldRequest;
+import com.bloomreach.garage.reservation.api.model.HoldResponse;
+import com.bloomreach.garage.reservation.api.model.KeysetPage;
+import com.bloomreach.garage.reservation.api.querylog.SlowExecution;
+import com.bloomreach.garage.reservation.api.querylog.StatementShapeStatistics;
+import com.bloomreach.garage.reservation.api.schedule.BookedInterval;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+/**
+ * Registers the runtime hints a native image needs beyond what Spring AOT infers.
+ * <p>
+ * Entities and models are (de)serialized by Jackson through their Lombok-generated accessors, partly
+ * outside of controller signatures (e.g. the availability feed payload, the stored idempotent responses and
+ * the slow query endpoint). Projections are instantiated reflectively by JPQL constructor expressions, and the
+ * SQL scripts live outside the default locations. Types added to any of these roles have to be listed here.
+ * </p>
+ */
+public class ReservationRuntimeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(),
+                Customer.class, Employee.class, EmployeeType.class, EmployeeWorkingHours.class, Garage.class,
+                GarageAppointment.class, GarageAppointmentOperation.class, GarageBox.class,
+                GarageClosure.class, GarageClosureType.class, GarageOperation.class,
+                ArchivedGarageAppointment.class, ArchivedGarageAppointmentOperation.class);
+
+        bindingRegistrar.registerReflectionHints(hints.reflection(),
+                AvailableSlot.class, AvailabilityUpdate.class, BookingRequest.class, BookingResponse.class,
+                BookingResponse.GarageAppointment.class, BookingResponse.GarageAppointmentOperation.class,
+                BulkAvailabilityRequest.class, BulkAvailabilityResponse.class,
+                BulkAvailabilityResponse.OperationSetAvailability.class, EarliestSlot.class, HoldRequest.class,
+                HoldResponse.class, KeysetPage.class, AppointmentSummary.class, AppointmentOperationSummary.class,
+                CustomerSummary.class);
+
+        // Actuator responses of the slow query log
+        bindingRegistrar.registerReflectionHints(hints.reflection(), StatementShapeStatistics.class, SlowExecution.class);
+
+        hints.reflection().registerType(BookedInterval.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(AppointmentSummary.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(AppointmentOperationSummary.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(CustomerSummary.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // Proxies of the query log
+        hints.proxies().registerJdkProxy(DataSource.class);
+        hints.proxies().registerJdkProxy(Connection.class);
+        hints.proxies().registerJdkProxy(Statement.class);
+        hints.proxies().registerJdkProxy(PreparedStatement.class);
+        hints.proxies().registerJdkProxy(CallableStatement.class);
+
+        hints.resources().registerPattern("sql/*.sql");
+    }
+}
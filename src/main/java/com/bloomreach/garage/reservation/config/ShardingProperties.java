@@ -0,0 +1,20 @@
+package com.bloomreach.garage.reservation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "garage.reservation.sharding")
+public class ShardingProperties {
+
+    private String nodeId;
+    private List<String> nodes;
+    private int virtualNodes;
+    private long defaultGarageId;
+}
@@ -0,0 +1,16 @@
+package com.bloomreach.garage.reservation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "garage.reservation.slot-calculation")
+public class SlotCalculationProperties {
+
+    private int parallelThreshold;
+    private int parallelism;
+}
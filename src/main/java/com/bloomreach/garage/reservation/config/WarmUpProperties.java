@@ -0,0 +1,16 @@
+package com.bloomreach.garage.reservation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "garage.reservation.warm-up")
+public class WarmUpProperties {
+
+    private boolean enabled;
+    private boolean dryRunBooking;
+}
@@ -0,0 +1,18 @@
+package com.bloomreach.garage.reservation.config;
+
+import com.bloomreach.garage.reservation.api.support.SlotListHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Added last, so clients accepting any media type keep receiving JSON
+        converters.add(new SlotListHttpMessageConverter());
+    }
+}
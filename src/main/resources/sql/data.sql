@@ -1,3 +1,7 @@
+-- **Garages**
+
+INSERT INTO garages (name) VALUES ('Main Garage');
+
 -- **Employee Types**
 
 INSERT INTO employee_types (name) VALUES ('Mechanic');
@@ -5,9 +9,9 @@ INSERT INTO employee_types (name) VALUES ('Manager');
 
 -- **Employees**
 
-INSERT INTO employees (full_name, employee_type_id) VALUES ('Mechanic A', (SELECT id FROM employee_types WHERE name = 'Mechanic'));
-INSERT INTO employees (full_name, employee_type_id) VALUES ('Mechanic B', (SELECT id FROM employee_types WHERE name = 'Mechanic'));
-INSERT INTO employees (full_name, employee_type_id) VALUES ('Manager A', (SELECT id FROM employee_types WHERE name = 'Manager'));
+INSERT INTO employees (full_name, employee_type_id, garage_id) VALUES ('Mechanic A', (SELECT id FROM employee_types WHERE name = 'Mechanic'), (SELECT id FROM garages WHERE name = 'Main Garage'));
+INSERT INTO employees (full_name, employee_type_id, garage_id) VALUES ('Mechanic B', (SELECT id FROM employee_types WHERE name = 'Mechanic'), (SELECT id FROM garages WHERE name = 'Main Garage'));
+INSERT INTO employees (full_name, employee_type_id, garage_id) VALUES ('Manager A', (SELECT id FROM employee_types WHERE name = 'Manager'), (SELECT id FROM garages WHERE name = 'Main Garage'));
 
 -- **Garage Operations**
 
@@ -34,8 +38,8 @@ INSERT INTO employee_working_hours (employee_id, day_of_week, start_time, end_ti
 
 -- **Garage Boxes**
 
-INSERT INTO garage_boxes (name) VALUES ('Box 1');
-INSERT INTO garage_boxes (name) VALUES ('Box 2');
+INSERT INTO garage_boxes (name, garage_id) VALUES ('Box 1', (SELECT id FROM garages WHERE name = 'Main Garage'));
+INSERT INTO garage_boxes (name, garage_id) VALUES ('Box 2', (SELECT id FROM garages WHERE name = 'Main Garage'));
 
 -- **Garage Closure Types**
 
@@ -0,0 +1,19 @@
+-- Denormalizes the appointment date onto garage_appointment_operations for databases created before the column existed.
+-- The embedded database is recreated from schema.sql on every start, so this script is only needed for persistent
+-- databases. It can be run repeatedly. The archived operations get the column in 005_archive_tables.sql, as the archive
+-- tables may not exist yet.
+
+-- **Add the column**
+ALTER TABLE garage_appointment_operations ADD COLUMN IF NOT EXISTS `date` DATE;
+
+-- **Backfill existing rows from their appointments**
+UPDATE garage_appointment_operations gao
+SET `date` = (SELECT ga.`date` FROM garage_appointments ga WHERE ga.id = gao.appointment_id)
+WHERE gao.`date` IS NULL;
+
+ALTER TABLE garage_appointment_operations ALTER COLUMN `date` SET NOT NULL;
+
+-- **Replace the index that could not serve a date predicate**
+CREATE INDEX IF NOT EXISTS idx_employee_date_time ON garage_appointment_operations(employee_id, `date`, start_time, end_time);
+CREATE INDEX IF NOT EXISTS idx_appointment_operations_date ON garage_appointment_operations(`date`);
+DROP INDEX IF EXISTS idx_employee_appointment_date_time;
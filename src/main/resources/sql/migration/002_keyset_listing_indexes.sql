@@ -0,0 +1,14 @@
+-- Adds the indexes serving the keyset-paginated listings to databases created before they existed.
+-- The embedded database is recreated from schema.sql on every start, so this script is only needed for persistent
+-- databases. It can be run repeatedly.
+
+-- **Appointments ordered by date, start time and ID**
+CREATE INDEX IF NOT EXISTS idx_date_start_time_id ON garage_appointments(`date`, start_time, id);
+
+-- **Customer history, replacing the customer index it extends**
+CREATE INDEX IF NOT EXISTS idx_customer_id_date_start_time_id ON garage_appointments(customer_id, `date`, start_time, id);
+DROP INDEX IF EXISTS idx_customer_id;
+
+-- **Appointment operations ordered by date, start time and ID, replacing the date index it extends**
+CREATE INDEX IF NOT EXISTS idx_appointment_operations_date_start_time_id ON garage_appointment_operations(`date`, start_time, id);
+DROP INDEX IF EXISTS idx_appointment_operations_date;
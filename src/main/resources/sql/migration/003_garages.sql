@@ -0,0 +1,42 @@
+-- Introduces garage locations to databases created before they existed, assigning all existing employees, garage
+-- boxes and appointments to a single garage. The embedded database is recreated from schema.sql on every start,
+-- so this script is only needed for persistent databases. It can be run repeatedly. Archived appointments get the
+-- column in 005_archive_tables.sql, as the archive tables may not exist yet.
+
+-- **Garages**
+CREATE TABLE IF NOT EXISTS garages (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL
+);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_garages_name ON garages(name);
+
+INSERT INTO garages (name)
+SELECT 'Main Garage' FROM DUAL
+WHERE NOT EXISTS (SELECT 1 FROM garages WHERE name = 'Main Garage');
+
+-- **Add the columns**
+ALTER TABLE employees ADD COLUMN IF NOT EXISTS garage_id INT;
+ALTER TABLE garage_boxes ADD COLUMN IF NOT EXISTS garage_id INT;
+ALTER TABLE garage_appointments ADD COLUMN IF NOT EXISTS garage_id INT;
+
+-- **Backfill existing rows**
+UPDATE employees SET garage_id = (SELECT id FROM garages WHERE name = 'Main Garage') WHERE garage_id IS NULL;
+UPDATE garage_boxes SET garage_id = (SELECT id FROM garages WHERE name = 'Main Garage') WHERE garage_id IS NULL;
+
+UPDATE garage_appointments ga
+SET garage_id = (SELECT gb.garage_id FROM garage_boxes gb WHERE gb.id = ga.garage_box_id)
+WHERE ga.garage_id IS NULL;
+
+ALTER TABLE employees ALTER COLUMN garage_id SET NOT NULL;
+ALTER TABLE garage_boxes ALTER COLUMN garage_id SET NOT NULL;
+ALTER TABLE garage_appointments ALTER COLUMN garage_id SET NOT NULL;
+
+-- **Foreign keys**
+ALTER TABLE employees ADD CONSTRAINT IF NOT EXISTS fk_employees_garage_id FOREIGN KEY (garage_id) REFERENCES garages(id);
+ALTER TABLE garage_boxes ADD CONSTRAINT IF NOT EXISTS fk_garage_boxes_garage_id FOREIGN KEY (garage_id) REFERENCES garages(id);
+ALTER TABLE garage_appointments ADD CONSTRAINT IF NOT EXISTS fk_garage_appointments_garage_id FOREIGN KEY (garage_id) REFERENCES garages(id);
+
+-- **Box names are unique per garage instead of globally**
+CREATE INDEX IF NOT EXISTS idx_employees_garage_id ON employees(garage_id);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_garage_boxes_garage_id_name ON garage_boxes(garage_id, name);
+DROP INDEX IF EXISTS idx_garage_boxes_name;
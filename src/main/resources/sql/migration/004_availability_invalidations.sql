@@ -0,0 +1,14 @@
+-- Adds the table of the jdbc availability invalidation transport to databases created before it existed.
+-- The embedded database is recreated from schema.sql on every start, so this script is only needed for persistent
+-- databases. It can be run repeatedly.
+
+-- **Availability invalidations**
+CREATE TABLE IF NOT EXISTS availability_invalidations (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    origin_id VARCHAR(36) NOT NULL,
+    garage_id INT,
+    `date` DATE,
+    version BIGINT NOT NULL,
+    published_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_availability_invalidations_published_at ON availability_invalidations(published_at);
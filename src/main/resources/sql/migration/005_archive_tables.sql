@@ -0,0 +1,54 @@
+-- Adds the archive tables of past appointments to databases created before they existed, and brings archive tables
+-- created before the appointment date was denormalized (001) or garages were introduced (003) up to date. The embedded
+-- database is recreated from schema.sql on every start, so this script is only needed for persistent databases. It
+-- can be run repeatedly.
+
+-- **Archived Garage Appointments**
+CREATE TABLE IF NOT EXISTS garage_appointments_archive (
+    id INT PRIMARY KEY,
+    customer_id INT NOT NULL,
+    garage_box_id INT NOT NULL,
+    garage_id INT NOT NULL,
+    `date` DATE NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    archived_at TIMESTAMP NOT NULL,
+    FOREIGN KEY (customer_id) REFERENCES customers(id),
+    FOREIGN KEY (garage_box_id) REFERENCES garage_boxes(id)
+);
+CREATE INDEX IF NOT EXISTS idx_archive_customer_id_date ON garage_appointments_archive(customer_id, `date`);
+CREATE INDEX IF NOT EXISTS idx_archive_date ON garage_appointments_archive(`date`);
+
+-- **Archived Garage Appointment Operations**
+CREATE TABLE IF NOT EXISTS garage_appointment_operations_archive (
+    id INT PRIMARY KEY,
+    appointment_id INT NOT NULL,
+    operation_id INT NOT NULL,
+    employee_id INT NOT NULL,
+    `date` DATE NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    FOREIGN KEY (appointment_id) REFERENCES garage_appointments_archive(id),
+    FOREIGN KEY (operation_id) REFERENCES garage_operations(id),
+    FOREIGN KEY (employee_id) REFERENCES employees(id)
+);
+CREATE INDEX IF NOT EXISTS idx_archive_appointment_id ON garage_appointment_operations_archive(appointment_id);
+
+-- **Garage of archive tables created before 003, and its foreign key**
+ALTER TABLE garage_appointments_archive ADD COLUMN IF NOT EXISTS garage_id INT;
+
+UPDATE garage_appointments_archive gaa
+SET garage_id = (SELECT gb.garage_id FROM garage_boxes gb WHERE gb.id = gaa.garage_box_id)
+WHERE gaa.garage_id IS NULL;
+
+ALTER TABLE garage_appointments_archive ALTER COLUMN garage_id SET NOT NULL;
+ALTER TABLE garage_appointments_archive ADD CONSTRAINT IF NOT EXISTS fk_garage_appointments_archive_garage_id FOREIGN KEY (garage_id) REFERENCES garages(id);
+
+-- **Date of archive tables created before 001**
+ALTER TABLE garage_appointment_operations_archive ADD COLUMN IF NOT EXISTS `date` DATE;
+
+UPDATE garage_appointment_operations_archive gaoa
+SET `date` = (SELECT gaa.`date` FROM garage_appointments_archive gaa WHERE gaa.id = gaoa.appointment_id)
+WHERE gaoa.`date` IS NULL;
+
+ALTER TABLE garage_appointment_operations_archive ALTER COLUMN `date` SET NOT NULL;
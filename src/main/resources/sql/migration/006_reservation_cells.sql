@@ -0,0 +1,41 @@
+-- Adds the reservation cells claimed by bookings to databases created before they existed. The embedded database is
+-- recreated from schema.sql on every start, so this script is only needed for persistent databases. It can be run
+-- repeatedly.
+
+-- **Reservation Cells**
+CREATE TABLE IF NOT EXISTS reservation_cells (
+    resource_type VARCHAR(16) NOT NULL,
+    resource_id INT NOT NULL,
+    `date` DATE NOT NULL,
+    slot_index INT NOT NULL,
+    appointment_id INT NOT NULL,
+    PRIMARY KEY (resource_type, resource_id, `date`, slot_index),
+    FOREIGN KEY (appointment_id) REFERENCES garage_appointments(id) ON DELETE CASCADE
+);
+CREATE INDEX IF NOT EXISTS idx_reservation_cells_appointment_id ON reservation_cells(appointment_id);
+
+-- **Claim the minutes of upcoming appointments, so they block bookings made after the upgrade**
+-- Cells already claimed are skipped; if existing appointments overlap, the cell goes to the lowest appointment ID
+INSERT INTO reservation_cells (resource_type, resource_id, `date`, slot_index, appointment_id)
+SELECT 'GARAGE_BOX', ga.garage_box_id, ga.`date`, m.x, MIN(ga.id)
+FROM garage_appointments ga
+JOIN SYSTEM_RANGE(0, 24 * 60 - 1) m
+    ON m.x >= HOUR(ga.start_time) * 60 + MINUTE(ga.start_time)
+    AND m.x < HOUR(ga.end_time) * 60 + MINUTE(ga.end_time)
+WHERE ga.`date` >= CURRENT_DATE
+AND NOT EXISTS (SELECT 1 FROM reservation_cells rc
+    WHERE rc.resource_type = 'GARAGE_BOX' AND rc.resource_id = ga.garage_box_id
+    AND rc.`date` = ga.`date` AND rc.slot_index = m.x)
+GROUP BY ga.garage_box_id, ga.`date`, m.x;
+
+INSERT INTO reservation_cells (resource_type, resource_id, `date`, slot_index, appointment_id)
+SELECT 'MECHANIC', gao.employee_id, gao.`date`, m.x, MIN(gao.appointment_id)
+FROM garage_appointment_operations gao
+JOIN SYSTEM_RANGE(0, 24 * 60 - 1) m
+    ON m.x >= HOUR(gao.start_time) * 60 + MINUTE(gao.start_time)
+    AND m.x < HOUR(gao.end_time) * 60 + MINUTE(gao.end_time)
+WHERE gao.`date` >= CURRENT_DATE
+AND NOT EXISTS (SELECT 1 FROM reservation_cells rc
+    WHERE rc.resource_type = 'MECHANIC' AND rc.resource_id = gao.employee_id
+    AND rc.`date` = gao.`date` AND rc.slot_index = m.x)
+GROUP BY gao.employee_id, gao.`date`, m.x;
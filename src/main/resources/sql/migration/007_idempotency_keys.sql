@@ -0,0 +1,12 @@
+-- Adds the table of the jdbc idempotency store to databases created before it existed. The embedded database is
+-- recreated from schema.sql on every start, so this script is only needed for persistent databases. It can be run
+-- repeatedly.
+
+-- **Idempotency Keys**
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    request_fingerprint VARCHAR(64) NOT NULL,
+    response CLOB,
+    expires_at TIMESTAMP NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
@@ -1,3 +1,13 @@
+-- **Garages**
+-- Every garage location is a shard of the schedule state, the tables below reference it by garage_id
+CREATE TABLE garages (
+    id INT PRIMARY KEY AUTO_INCREMENT,  -- Unique identifier for each garage
+    name VARCHAR(255) NOT NULL
+);
+
+-- Enforce uniqueness on the garage name
+CREATE UNIQUE INDEX idx_garages_name ON garages(name);
+
 -- **Employee Types**
 CREATE TABLE employee_types (
     id INT PRIMARY KEY AUTO_INCREMENT,  -- Unique identifier for each employee type
@@ -12,12 +22,17 @@ CREATE TABLE employees (
     id INT PRIMARY KEY AUTO_INCREMENT,  -- Unique identifier for each employee
     full_name VARCHAR(255) NOT NULL,
     employee_type_id INT NOT NULL,  -- Foreign key referencing employee_types table
-    FOREIGN KEY (employee_type_id) REFERENCES employee_types(id)
+    garage_id INT NOT NULL,  -- Foreign key referencing the garage the employee works at
+    FOREIGN KEY (employee_type_id) REFERENCES employee_types(id),
+    FOREIGN KEY (garage_id) REFERENCES garages(id)
 );
 
 -- Index on employee_type_id for faster lookups
 CREATE INDEX idx_employee_type_id ON employees(employee_type_id);
 
+-- Index on garage_id for loading the mechanics of a garage
+CREATE INDEX idx_employees_garage_id ON employees(garage_id);
+
 -- **Garage Operations**
 CREATE TABLE garage_operations (
     id INT PRIMARY KEY AUTO_INCREMENT,  -- Unique identifier for each operation
@@ -47,11 +62,13 @@ CREATE INDEX idx_day_of_week ON employee_working_hours(day_of_week);
 -- **Garage Boxes**
 CREATE TABLE garage_boxes (
     id INT PRIMARY KEY AUTO_INCREMENT,  -- Unique identifier for each garage box
-    name VARCHAR(255) NOT NULL
+    name VARCHAR(255) NOT NULL,
+    garage_id INT NOT NULL,  -- Foreign key referencing the garage the box belongs to
+    FOREIGN KEY (garage_id) REFERENCES garages(id)
 );
 
--- Enforce uniqueness on garage box name
-CREATE UNIQUE INDEX idx_garage_boxes_name ON garage_boxes(name);
+-- Enforce uniqueness on garage box name within a garage
+CREATE UNIQUE INDEX idx_garage_boxes_garage_id_name ON garage_boxes(garage_id, name);
 
 -- **Garage Closure Types**
 CREATE TABLE garage_closure_types (
@@ -96,15 +113,17 @@ CREATE TABLE garage_appointments (
     id INT PRIMARY KEY AUTO_INCREMENT,  -- Unique identifier for each appointment
     customer_id INT NOT NULL,  -- Foreign key referencing customers table
     garage_box_id INT NOT NULL,  -- Foreign key referencing garage_boxes table
+    garage_id INT NOT NULL,  -- Copy of the garage of the box, the shard the appointment belongs to
     `date` DATE NOT NULL,
     start_time TIME NOT NULL,
     end_time TIME NOT NULL,
     FOREIGN KEY (customer_id) REFERENCES customers(id),
-    FOREIGN KEY (garage_box_id) REFERENCES garage_boxes(id)
+    FOREIGN KEY (garage_box_id) REFERENCES garage_boxes(id),
+    FOREIGN KEY (garage_id) REFERENCES garages(id)
 );
 
--- Index on customer_id for quicker customer lookups
-CREATE INDEX idx_customer_id ON garage_appointments(customer_id);
+-- Index on customer_id for quicker customer lookups, extended by the keyset of the customer history listing
+CREATE INDEX idx_customer_id_date_start_time_id ON garage_appointments(customer_id, `date`, start_time, id);
 
 -- Index on garage_box_id for faster garage box lookups
 CREATE INDEX idx_garage_box_id ON garage_appointments(garage_box_id);
@@ -112,12 +131,16 @@ CREATE INDEX idx_garage_box_id ON garage_appointments(garage_box_id);
 -- Composite index for queries filtering by date and time range
 CREATE INDEX idx_date_start_time_end_time ON garage_appointments(`date`, start_time, end_time);
 
+-- Keyset index for listing appointments ordered by date, start time and ID
+CREATE INDEX idx_date_start_time_id ON garage_appointments(`date`, start_time, id);
+
 -- **Garage Appointment Operations Join Table**
 CREATE TABLE garage_appointment_operations (
     id INT PRIMARY KEY AUTO_INCREMENT,  -- Unique identifier for each operation record
     appointment_id INT NOT NULL,  -- Foreign key referencing the garage_appointments table
     operation_id INT NOT NULL,  -- Foreign key referencing the garage_operations table
     employee_id INT NOT NULL,  -- Foreign key referencing the employees table
+    `date` DATE NOT NULL,  -- Copy of the appointment date, so overlap queries need no join
     start_time TIME NOT NULL,
     end_time TIME NOT NULL,
     FOREIGN KEY (appointment_id) REFERENCES garage_appointments(id),
@@ -134,5 +157,88 @@ CREATE INDEX idx_employee_id ON garage_appointment_operations(employee_id);
 -- Index on operation_id for quicker operation lookups
 CREATE INDEX idx_operation_id ON garage_appointment_operations(operation_id);
 
--- Composite index for queries filtering by employee, appointment, and time range
-CREATE INDEX idx_employee_appointment_date_time ON garage_appointment_operations(employee_id, appointment_id, start_time, end_time);
+-- Covering index for overlap queries filtering by employee, date, and time range
+CREATE INDEX idx_employee_date_time ON garage_appointment_operations(employee_id, `date`, start_time, end_time);
+
+-- Index on date for loading the bookings of all mechanics on a date, extended by the keyset of the operation listing
+CREATE INDEX idx_appointment_operations_date_start_time_id ON garage_appointment_operations(`date`, start_time, id);
+
+-- **Reservation Cells**
+-- Every appointment claims the slot-sized cells its garage box and mechanics are busy in; the primary key rejects
+-- a second claim of the same cell, so concurrent double bookings fail without row locks
+CREATE TABLE reservation_cells (
+    resource_type VARCHAR(16) NOT NULL,  -- GARAGE_BOX or MECHANIC
+    resource_id INT NOT NULL,  -- Identifier of the garage box or the employee
+    `date` DATE NOT NULL,
+    slot_index INT NOT NULL,  -- Index of the cell within the day, i.e. the minute of the day
+    appointment_id INT NOT NULL,  -- Foreign key referencing the garage_appointments table
+    PRIMARY KEY (resource_type, resource_id, `date`, slot_index),
+    FOREIGN KEY (appointment_id) REFERENCES garage_appointments(id) ON DELETE CASCADE
+);
+
+-- Index on appointment_id for deleting the cells of an appointment
+CREATE INDEX idx_reservation_cells_appointment_id ON reservation_cells(appointment_id);
+
+-- **Idempotency Keys**
+-- Responses of bookings made with an Idempotency-Key, used when garage.reservation.idempotency.store is jdbc
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,  -- Key sent by the client
+    request_fingerprint VARCHAR(64) NOT NULL,  -- SHA-256 of the booking request the key was first used with
+    response CLOB,  -- JSON booking response, null while the booking is in progress
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- Index on expires_at for deleting expired keys
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
+
+-- Availability changes broadcast to other instances, used when garage.reservation.invalidation.transport is jdbc
+CREATE TABLE availability_invalidations (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,  -- Insertion order, used to deliver the changes of a batch in order
+    origin_id VARCHAR(36) NOT NULL,  -- Instance that made the change
+    garage_id INT,  -- Garage affected by the change, null for every garage
+    `date` DATE,  -- Date affected by the change, null for every date
+    version BIGINT NOT NULL,  -- Availability version of the change on its instance
+    published_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Index on published_at for polling new changes and deleting old ones
+CREATE INDEX idx_availability_invalidations_published_at ON availability_invalidations(published_at);
+
+-- **Archived Garage Appointments**
+-- Appointments older than the retention window are moved here in batches, keeping the hot tables small
+CREATE TABLE garage_appointments_archive (
+    id INT PRIMARY KEY,  -- Identifier the appointment had in garage_appointments
+    customer_id INT NOT NULL,  -- Foreign key referencing customers table
+    garage_box_id INT NOT NULL,  -- Foreign key referencing garage_boxes table
+    garage_id INT NOT NULL,  -- Foreign key referencing garages table
+    `date` DATE NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    archived_at TIMESTAMP NOT NULL,
+    FOREIGN KEY (customer_id) REFERENCES customers(id),
+    FOREIGN KEY (garage_box_id) REFERENCES garage_boxes(id),
+    FOREIGN KEY (garage_id) REFERENCES garages(id)
+);
+
+-- Composite index for a customer's appointment history
+CREATE INDEX idx_archive_customer_id_date ON garage_appointments_archive(customer_id, `date`);
+
+-- Index on date for history queries by date range
+CREATE INDEX idx_archive_date ON garage_appointments_archive(`date`);
+
+-- **Archived Garage Appointment Operations**
+CREATE TABLE garage_appointment_operations_archive (
+    id INT PRIMARY KEY,  -- Identifier the operation record had in garage_appointment_operations
+    appointment_id INT NOT NULL,  -- Foreign key referencing the garage_appointments_archive table
+    operation_id INT NOT NULL,  -- Foreign key referencing the garage_operations table
+    employee_id INT NOT NULL,  -- Foreign key referencing the employees table
+    `date` DATE NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    FOREIGN KEY (appointment_id) REFERENCES garage_appointments_archive(id),
+    FOREIGN KEY (operation_id) REFERENCES garage_operations(id),
+    FOREIGN KEY (employee_id) REFERENCES employees(id)
+);
+
+-- Index on appointment_id for faster lookups
+CREATE INDEX idx_archive_appointment_id ON garage_appointment_operations_archive(appointment_id);
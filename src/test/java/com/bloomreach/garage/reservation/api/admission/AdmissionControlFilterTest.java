@@ -0,0 +1,120 @@
+package com.bloomreach.garage.reservation.api.admission;
+
+import com.bloomreach.garage.reservation.config.AdmissionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControlFilterTest {
+
+    private static final String SERVLET_PATH = "/garage/api/v1";
+
+    private final ConcurrencyLimiter limiter = limiter();
+    private final AdmissionControlFilter filter = new AdmissionControlFilter(limiter);
+
+    @Test
+    void shedRequestsAreAnsweredWithServiceUnavailableAndRetryAfter() throws Exception {
+        assertTrue(limiter.acquire(AdmissionLane.BOOKING));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("POST", "/reservations/book"), response, chain);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), response.getStatus());
+        assertEquals("2", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void admittedRequestsReleaseTheirCapacity() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("GET", "/reservations/availableSlots"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        // The single slot of the limit is free again
+        assertTrue(limiter.acquire(AdmissionLane.AVAILABILITY));
+    }
+
+    @Test
+    void serverErrorsMakeTheLimitBackOff() throws Exception {
+        AdmissionProperties admissionProperties = properties();
+        admissionProperties.setStrategy(AdmissionProperties.LimitStrategy.AIMD);
+        ConcurrencyLimiter aimdLimiter = new ConcurrencyLimiter(admissionProperties, new SimpleMeterRegistry());
+
+        MockFilterChain failingChain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+        });
+        new AdmissionControlFilter(aimdLimiter)
+                .doFilter(request("POST", "/reservations/holds"), new MockHttpServletResponse(), failingChain);
+
+        assertEquals(10.0, aimdLimiter.getLimit());
+    }
+
+    @Test
+    void otherRequestsAreNotLimited() throws Exception {
+        assertTrue(limiter.acquire(AdmissionLane.BOOKING));
+
+        for (MockHttpServletRequest request : new MockHttpServletRequest[]{
+                request("GET", "/reservations/availableSlots/feed"),
+                request("GET", "/reservations/book"),
+                request("GET", "/garageAppointments")}) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(request, response, chain);
+
+            assertNotNull(chain.getRequest());
+            assertFalse(response.containsHeader(HttpHeaders.RETRY_AFTER));
+        }
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, SERVLET_PATH + path);
+        request.setServletPath(SERVLET_PATH);
+        return request;
+    }
+
+    /**
+     * A fixed limit of one shared by both lanes, shedding requests that cannot be admitted immediately.
+     */
+    private static ConcurrencyLimiter limiter() {
+        AdmissionProperties admissionProperties = properties();
+        admissionProperties.setInitialLimit(1);
+        return new ConcurrencyLimiter(admissionProperties, new SimpleMeterRegistry());
+    }
+
+    private static AdmissionProperties properties() {
+        AdmissionProperties admissionProperties = new AdmissionProperties();
+        admissionProperties.setStrategy(AdmissionProperties.LimitStrategy.FIXED);
+        admissionProperties.setInitialLimit(20);
+        admissionProperties.setMinLimit(1);
+        admissionProperties.setMaxLimit(50);
+        admissionProperties.setBackoffRatio(0.5);
+        admissionProperties.setLatencyThreshold(Duration.ofSeconds(1));
+        admissionProperties.setRetryAfter(Duration.ofSeconds(2));
+        for (AdmissionLane lane : AdmissionLane.values()) {
+            AdmissionProperties.Lane laneProperties = new AdmissionProperties.Lane();
+            laneProperties.setQueueSize(0);
+            laneProperties.setMaxWait(Duration.ZERO);
+            admissionProperties.getLanes().put(lane, laneProperties);
+        }
+        return admissionProperties;
+    }
+}
@@ -0,0 +1,158 @@
+package com.bloomreach.garage.reservation.api.admission;
+
+import com.bloomreach.garage.reservation.config.AdmissionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimiterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Thread> threads = new ArrayList<>();
+
+    @AfterEach
+    void stopThreads() {
+        threads.forEach(Thread::interrupt);
+    }
+
+    @Test
+    void waitingBookingsAreAdmittedBeforeWaitingLookups() throws Exception {
+        ConcurrencyLimiter limiter = limiter(AdmissionProperties.LimitStrategy.FIXED, 1, 10, Duration.ofSeconds(5));
+        assertTrue(limiter.acquire(AdmissionLane.AVAILABILITY));
+
+        // The lookup starts waiting first, the booking still overtakes it
+        CompletableFuture<Boolean> lookup = acquireInBackground(limiter, AdmissionLane.AVAILABILITY);
+        CompletableFuture<Boolean> booking = acquireInBackground(limiter, AdmissionLane.BOOKING);
+
+        limiter.release(AdmissionLane.AVAILABILITY, 0, false);
+        assertTrue(booking.get(5, TimeUnit.SECONDS));
+        assertFalse(lookup.isDone());
+
+        limiter.release(AdmissionLane.BOOKING, 0, false);
+        assertTrue(lookup.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void requestsFindingTheirQueueFullAreShed() throws Exception {
+        ConcurrencyLimiter limiter = limiter(AdmissionProperties.LimitStrategy.FIXED, 1, 0, Duration.ofSeconds(5));
+        assertTrue(limiter.acquire(AdmissionLane.BOOKING));
+
+        long startNanos = System.nanoTime();
+        assertFalse(limiter.acquire(AdmissionLane.AVAILABILITY));
+
+        // Shed without waiting for the maximum wait time
+        assertTrue(System.nanoTime() - startNanos < Duration.ofSeconds(1).toNanos());
+        assertEquals(1.0, shed(AdmissionLane.AVAILABILITY));
+        assertEquals(0.0, shed(AdmissionLane.BOOKING));
+    }
+
+    @Test
+    void requestsWaitingLongerThanAllowedAreShed() throws Exception {
+        Duration maxWait = Duration.ofMillis(100);
+        ConcurrencyLimiter limiter = limiter(AdmissionProperties.LimitStrategy.FIXED, 1, 10, maxWait);
+        assertTrue(limiter.acquire(AdmissionLane.BOOKING));
+
+        long startNanos = System.nanoTime();
+        assertFalse(limiter.acquire(AdmissionLane.BOOKING));
+
+        assertTrue(System.nanoTime() - startNanos >= maxWait.toNanos());
+        assertEquals(1.0, shed(AdmissionLane.BOOKING));
+
+        // The shed request left the queue, so released capacity is not handed to it
+        limiter.release(AdmissionLane.BOOKING, 0, false);
+        assertTrue(limiter.acquire(AdmissionLane.BOOKING));
+    }
+
+    @Test
+    void burstOfSlowRequestsBacksOffOncePerWindow() throws Exception {
+        ConcurrencyLimiter limiter = limiter(AdmissionProperties.LimitStrategy.AIMD, 20, 10, Duration.ofSeconds(5));
+        long latencyThresholdNanos = Duration.ofMillis(50).toNanos();
+
+        List<Long> admittedAtNanos = new ArrayList<>();
+        for (int request = 0; request < 10; request++) {
+            assertTrue(limiter.acquire(AdmissionLane.BOOKING));
+            admittedAtNanos.add(System.nanoTime());
+        }
+        TimeUnit.NANOSECONDS.sleep(latencyThresholdNanos * 2);
+
+        // All of them were admitted before the first back-off, so only the first lowers the limit
+        for (long admittedAt : admittedAtNanos) {
+            limiter.release(AdmissionLane.BOOKING, System.nanoTime() - admittedAt, false);
+        }
+        assertEquals(10.0, limiter.getLimit());
+
+        // A request admitted after the back-off ran under the lowered limit, so it may lower it again
+        assertTrue(limiter.acquire(AdmissionLane.BOOKING));
+        long admittedAt = System.nanoTime();
+        limiter.release(AdmissionLane.BOOKING, System.nanoTime() - admittedAt, true);
+        assertEquals(5.0, limiter.getLimit());
+    }
+
+    @Test
+    void fixedLimitDoesNotBackOff() throws Exception {
+        ConcurrencyLimiter limiter = limiter(AdmissionProperties.LimitStrategy.FIXED, 20, 10, Duration.ofSeconds(5));
+
+        assertTrue(limiter.acquire(AdmissionLane.BOOKING));
+        limiter.release(AdmissionLane.BOOKING, 0, true);
+
+        assertEquals(20.0, limiter.getLimit());
+    }
+
+    private ConcurrencyLimiter limiter(AdmissionProperties.LimitStrategy strategy, int initialLimit, int queueSize,
+                                       Duration maxWait) {
+        AdmissionProperties admissionProperties = new AdmissionProperties();
+        admissionProperties.setStrategy(strategy);
+        admissionProperties.setInitialLimit(initialLimit);
+        admissionProperties.setMinLimit(1);
+        admissionProperties.setMaxLimit(50);
+        admissionProperties.setBackoffRatio(0.5);
+        admissionProperties.setLatencyThreshold(Duration.ofMillis(50));
+        admissionProperties.setRetryAfter(Duration.ofSeconds(2));
+        for (AdmissionLane lane : AdmissionLane.values()) {
+            AdmissionProperties.Lane laneProperties = new AdmissionProperties.Lane();
+            laneProperties.setQueueSize(queueSize);
+            laneProperties.setMaxWait(maxWait);
+            admissionProperties.getLanes().put(lane, laneProperties);
+        }
+        return new ConcurrencyLimiter(admissionProperties, meterRegistry);
+    }
+
+    /**
+     * Acquires in a new thread and returns once the thread is waiting in the lane's queue.
+     */
+    private CompletableFuture<Boolean> acquireInBackground(ConcurrencyLimiter limiter, AdmissionLane lane)
+            throws InterruptedException {
+        CompletableFuture<Boolean> admitted = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                admitted.complete(limiter.acquire(lane));
+            } catch (InterruptedException e) {
+                admitted.completeExceptionally(e);
+            }
+        });
+        threads.add(thread);
+        thread.start();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.TIMED_WAITING && System.nanoTime() - deadline < 0) {
+            Thread.sleep(1);
+        }
+        assertEquals(Thread.State.TIMED_WAITING, thread.getState());
+        return admitted;
+    }
+
+    private double shed(AdmissionLane lane) {
+        return meterRegistry.get("garage.admission.shed").tag("lane", lane.name().toLowerCase()).counter().count();
+    }
+}
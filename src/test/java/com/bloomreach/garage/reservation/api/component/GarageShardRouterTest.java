@@ -0,0 +1,98 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.Application;
+import com.bloomreach.garage.reservation.api.error.GarageNotOwnedError;
+import com.bloomreach.garage.reservation.api.error.ValidationError;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs two nodes sharing the garages in one JVM, each with its own application context and database.
+ */
+class GarageShardRouterTest {
+
+    private static final int GARAGES = 20;
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode("node-a");
+        nodeB = startNode("node-b");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+    }
+
+    @Test
+    void everyGarageIsServedByExactlyOneNode() {
+        GarageShardRouter routerA = nodeA.getBean(GarageShardRouter.class);
+        GarageShardRouter routerB = nodeB.getBean(GarageShardRouter.class);
+        assertNotSame(routerA, routerB);
+
+        int servedByA = 0;
+        for (long garageId = 1; garageId <= GARAGES; garageId++) {
+            String owner = routerA.ownerOf(garageId);
+            assertEquals(owner, routerB.ownerOf(garageId));
+            assertNotEquals(routerA.isLocal(garageId), routerB.isLocal(garageId));
+
+            GarageShardRouter local = routerA.isLocal(garageId) ? routerA : routerB;
+            GarageShardRouter remote = local == routerA ? routerB : routerA;
+            assertEquals(garageId, local.route(garageId));
+            long id = garageId;
+            GarageNotOwnedError error = assertThrows(GarageNotOwnedError.class, () -> remote.route(id));
+            assertEquals(owner, error.getOwnerNodeId());
+
+            servedByA += local == routerA ? 1 : 0;
+        }
+
+        // With 128 virtual nodes each, neither node is left without garages
+        assertNotEquals(0, servedByA);
+        assertNotEquals(GARAGES, servedByA);
+    }
+
+    @Test
+    void unknownGaragesAreRejectedOnEveryNode() {
+        for (ConfigurableApplicationContext node : List.of(nodeA, nodeB)) {
+            GarageShardRouter router = node.getBean(GarageShardRouter.class);
+            assertThrows(ValidationError.class, () -> router.route(999_999L));
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode(String nodeId) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:garage-" + nodeId,
+                        "garage.reservation.sharding.node-id=" + nodeId,
+                        "garage.reservation.sharding.nodes=node-a,node-b")
+                .run();
+
+        // data.sql creates the first garage
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        for (int garage = 2; garage <= GARAGES; garage++) {
+            jdbcTemplate.update("INSERT INTO garages (name) VALUES (?)", "Garage " + garage);
+        }
+        return context;
+    }
+}
@@ -0,0 +1,148 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.entity.Employee;
+import com.bloomreach.garage.reservation.api.entity.GarageAppointment;
+import com.bloomreach.garage.reservation.api.entity.GarageAppointmentOperation;
+import com.bloomreach.garage.reservation.api.entity.GarageBox;
+import com.bloomreach.garage.reservation.api.error.ReservationConflictError;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ReservationCellLedgerTest {
+
+    private static final LocalDate DATE = LocalDate.of(2099, 1, 5);
+
+    @Autowired
+    private ReservationCellLedger reservationCellLedger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void adjacentOffGridBookingsBothSucceed() {
+        // 09:45 is not on the grid of 30 minute slots, e.g. the second operation after a 45 minute one
+        GarageAppointment first = saveAppointment(900_001L, LocalTime.of(9, 0), LocalTime.of(9, 45));
+        GarageAppointment second = saveAppointment(900_002L, LocalTime.of(9, 45), LocalTime.of(10, 30));
+
+        assertDoesNotThrow(() -> reservationCellLedger.claim(first));
+        assertDoesNotThrow(() -> reservationCellLedger.claim(second));
+    }
+
+    @Test
+    void overlappingBookingsConflict() {
+        GarageAppointment first = saveAppointment(900_003L, LocalTime.of(8, 15), LocalTime.of(9, 15));
+        GarageAppointment second = saveAppointment(900_004L, LocalTime.of(9, 14), LocalTime.of(10, 14));
+
+        reservationCellLedger.claim(first);
+        assertThrows(ReservationConflictError.class, () -> reservationCellLedger.claim(second));
+    }
+
+    @Test
+    void garageBoxIsClaimedUntilTheLastOperationEnds() {
+        // The operations take longer than the requested slot, so the box is allocated until 10:00
+        GarageAppointment first = saveAppointment(900_005L, LocalTime.of(9, 0), LocalTime.of(9, 30),
+                LocalTime.of(9, 0), LocalTime.of(10, 0));
+        GarageAppointment second = saveAppointment(900_006L, LocalTime.of(9, 45), LocalTime.of(10, 15));
+        second.getOperations().get(0).setEmployee(otherEmployee());
+
+        reservationCellLedger.claim(first);
+        assertThrows(ReservationConflictError.class, () -> reservationCellLedger.claim(second));
+    }
+
+    @Test
+    void appointmentMovedOverRestReleasesItsOldSlotAndClaimsTheNewOne() throws Exception {
+        saveAppointment(900_007L, LocalTime.of(11, 0), LocalTime.of(12, 0));
+        long operationId = insertOperation(900_007L, LocalTime.of(11, 0), LocalTime.of(12, 0));
+        reservationCellLedger.reclaim(900_007L);
+
+        mockMvc.perform(patch("/garageAppointments/{id}", 900_007L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"startTime\": \"14:00:00\", \"endTime\": \"15:00:00\"}"))
+                .andExpect(status().is2xxSuccessful());
+        mockMvc.perform(patch("/garageAppointmentOperations/{id}", operationId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"startTime\": \"14:00:00\", \"endTime\": \"15:00:00\"}"))
+                .andExpect(status().is2xxSuccessful());
+
+        GarageAppointment oldSlot = saveAppointment(900_008L, LocalTime.of(11, 0), LocalTime.of(12, 0));
+        GarageAppointment newSlot = saveAppointment(900_009L, LocalTime.of(14, 0), LocalTime.of(15, 0));
+        assertDoesNotThrow(() -> reservationCellLedger.claim(oldSlot));
+        assertThrows(ReservationConflictError.class, () -> reservationCellLedger.claim(newSlot));
+    }
+
+    private GarageAppointment saveAppointment(long id, LocalTime startTime, LocalTime endTime) {
+        return saveAppointment(id, startTime, endTime, startTime, endTime);
+    }
+
+    /**
+     * Inserts an appointment of the first garage box and mechanic, and builds it with the identifiers the ledger reads.
+     */
+    private GarageAppointment saveAppointment(long id, LocalTime startTime, LocalTime endTime,
+                                              LocalTime operationStartTime, LocalTime operationEndTime) {
+        long customerId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM customers", Long.class);
+        long garageBoxId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM garage_boxes", Long.class);
+        long garageId = jdbcTemplate.queryForObject("SELECT garage_id FROM garage_boxes WHERE id = ?", Long.class, garageBoxId);
+        long employeeId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM employees", Long.class);
+        jdbcTemplate.update("INSERT INTO garage_appointments (id, customer_id, garage_box_id, garage_id, `date`, start_time, end_time) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                id, customerId, garageBoxId, garageId, Date.valueOf(DATE), Time.valueOf(startTime), Time.valueOf(endTime));
+
+        GarageBox garageBox = new GarageBox();
+        garageBox.setId(garageBoxId);
+        Employee employee = new Employee();
+        employee.setId(employeeId);
+
+        return GarageAppointment.builder()
+                .id(id)
+                .garageBox(garageBox)
+                .garageId(garageId)
+                .date(DATE)
+                .startTime(startTime)
+                .endTime(endTime)
+                .operations(List.of(GarageAppointmentOperation.builder()
+                        .employee(employee)
+                        .startTime(operationStartTime)
+                        .endTime(operationEndTime)
+                        .build()))
+                .build();
+    }
+
+    private long insertOperation(long appointmentId, LocalTime startTime, LocalTime endTime) {
+        long operationId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM garage_operations", Long.class);
+        long employeeId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM employees", Long.class);
+        jdbcTemplate.update("INSERT INTO garage_appointment_operations (appointment_id, operation_id, employee_id, `date`, "
+                        + "start_time, end_time) VALUES (?, ?, ?, ?, ?, ?)",
+                appointmentId, operationId, employeeId, Date.valueOf(DATE), Time.valueOf(startTime), Time.valueOf(endTime));
+        return jdbcTemplate.queryForObject("SELECT id FROM garage_appointment_operations WHERE appointment_id = ?",
+                Long.class, appointmentId);
+    }
+
+    private Employee otherEmployee() {
+        Employee employee = new Employee();
+        employee.setId(jdbcTemplate.queryForObject("SELECT MAX(id) FROM employees", Long.class));
+        return employee;
+    }
+}
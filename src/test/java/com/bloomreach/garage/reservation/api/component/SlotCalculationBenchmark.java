@@ -0,0 +1,124 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.entity.Employee;
+import com.bloomreach.garage.reservation.api.schedule.BookedInterval;
+import com.bloomreach.garage.reservation.api.schedule.DaySchedule;
+import com.bloomreach.garage.reservation.api.schedule.MechanicSchedule;
+import com.bloomreach.garage.reservation.config.ReservationProperties;
+import com.bloomreach.garage.reservation.config.SlotCalculationProperties;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures the slot calculation of one day with the serial loop and with the parallel mode of the
+ * {@link AvailabilityCalculator}, to choose {@code slot-calculation.parallel-threshold} for the hardware it runs on.
+ * <p>
+ * Every mechanic works 08:00-17:00 with four one-hour bookings, and slots of 60 minutes are calculated on the
+ * default 30-minute grid. Run it on the production hardware with:
+ * </p>
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=com.bloomreach.garage.reservation.api.component.SlotCalculationBenchmark \
+ *   -Dexec.args="[parallelism] [mechanic counts...]"
+ * </pre>
+ * The parallelism defaults to the number of processors, the mechanic counts to 1, 4, 8, 16, 32, 64 and 256.
+ */
+public class SlotCalculationBenchmark {
+
+    private static final LocalDate DATE = LocalDate.of(2099, 1, 5);
+    private static final int DURATION_IN_MINUTES = 60;
+    private static final long MEASURE_NANOS = 1_000_000_000L;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int parallelism = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int[] mechanicCounts = args.length > 1
+                ? Arrays.stream(args, 1, args.length).mapToInt(Integer::parseInt).toArray()
+                : new int[]{1, 4, 8, 16, 32, 64, 256};
+
+        ReservationProperties reservationProperties = new ReservationProperties();
+        reservationProperties.setDefaultSlotDuration(30);
+        SlotCalculator slotCalculator = new SlotCalculator(reservationProperties);
+        AvailabilityCalculator serial = calculator(slotCalculator, Integer.MAX_VALUE, 1);
+        AvailabilityCalculator parallel = calculator(slotCalculator, 1, parallelism);
+
+        System.out.printf("%d processors, parallelism %d, JDK %s%n%n", Runtime.getRuntime().availableProcessors(),
+                parallelism, System.getProperty("java.version"));
+        System.out.println("| Mechanics | Serial     | Parallel   | Speedup |");
+        System.out.println("|-----------|------------|------------|---------|");
+        try {
+            for (int mechanics : mechanicCounts) {
+                DaySchedule daySchedule = daySchedule(mechanics);
+                if (!serial.calculateAvailableSlots(daySchedule, DURATION_IN_MINUTES)
+                        .equals(parallel.calculateAvailableSlots(daySchedule, DURATION_IN_MINUTES))) {
+                    throw new IllegalStateException("Serial and parallel slots differ for " + mechanics + " mechanics");
+                }
+
+                double serialMicros = measure(serial, daySchedule);
+                double parallelMicros = measure(parallel, daySchedule);
+                System.out.printf("| %-9d | %7.1f \u00b5s | %7.1f \u00b5s | %7.2f |%n",
+                        mechanics, serialMicros, parallelMicros, serialMicros / parallelMicros);
+            }
+        } finally {
+            serial.shutdown();
+            parallel.shutdown();
+        }
+    }
+
+    private static AvailabilityCalculator calculator(SlotCalculator slotCalculator, int parallelThreshold, int parallelism) {
+        SlotCalculationProperties slotCalculationProperties = new SlotCalculationProperties();
+        slotCalculationProperties.setParallelThreshold(parallelThreshold);
+        slotCalculationProperties.setParallelism(parallelism);
+        // The schedules are passed in directly, so nothing is loaded
+        return new AvailabilityCalculator(null, slotCalculator, slotCalculationProperties);
+    }
+
+    /**
+     * Returns the best of several rounds of the average calculation time, in microseconds. The first round
+     * warms up the JIT compiler and is not counted.
+     */
+    private static double measure(AvailabilityCalculator calculator, DaySchedule daySchedule) {
+        double best = Double.MAX_VALUE;
+        long sink = 0;
+        for (int round = 0; round <= ROUNDS; round++) {
+            long iterations = 0;
+            long start = System.nanoTime();
+            long elapsed;
+            do {
+                sink += calculator.calculateAvailableSlots(daySchedule, DURATION_IN_MINUTES).size();
+                iterations++;
+                elapsed = System.nanoTime() - start;
+            } while (elapsed < MEASURE_NANOS);
+
+            if (round > 0) {
+                best = Math.min(best, elapsed / 1_000.0 / iterations);
+            }
+        }
+        if (sink == 0) {
+            throw new IllegalStateException("No slots calculated");
+        }
+        return best;
+    }
+
+    private static DaySchedule daySchedule(int mechanics) {
+        List<MechanicSchedule> mechanicSchedules = new ArrayList<>();
+        for (long id = 1; id <= mechanics; id++) {
+            Employee employee = new Employee();
+            employee.setId(id);
+
+            // Staggered, so mechanics contribute different slots
+            List<BookedInterval> bookings = new ArrayList<>();
+            LocalTime bookingStart = LocalTime.of(8, 0).plusMinutes(id % 4 * 30);
+            for (int booking = 0; booking < 4; booking++) {
+                bookings.add(new BookedInterval(id, bookingStart, bookingStart.plusHours(1)));
+                bookingStart = bookingStart.plusHours(2);
+            }
+            mechanicSchedules.add(new MechanicSchedule(employee, LocalTime.of(8, 0), LocalTime.of(17, 0), bookings));
+        }
+        return new DaySchedule(1, DATE, mechanicSchedules);
+    }
+}
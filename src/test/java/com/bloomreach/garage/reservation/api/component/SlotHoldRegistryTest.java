@@ -0,0 +1,158 @@
+package com.bloomreach.garage.reservation.api.component;
+
+import com.bloomreach.garage.reservation.api.reservation.ResourceType;
+import com.bloomreach.garage.reservation.api.schedule.SlotHold;
+import com.bloomreach.garage.reservation.config.HoldProperties;
+import com.bloomreach.garage.reservation.config.ReservationProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotHoldRegistryTest {
+
+    private static final LocalDate DATE = LocalDate.of(2099, 1, 5);
+
+    private final AvailabilityVersionTracker availabilityVersionTracker = new AvailabilityVersionTracker(
+            new ReservationProperties(), event -> {
+    }, Clock.systemDefaultZone());
+    private final List<SlotHoldRegistry> registries = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        registries.forEach(SlotHoldRegistry::shutdown);
+    }
+
+    @Test
+    void overlappingHoldOfTheSameGarageBoxOrMechanicIsRejected() {
+        SlotHoldRegistry registry = registry(Duration.ofMinutes(5), 10);
+        assertTrue(registry.tryAdd(hold(1, DATE, LocalTime.of(10, 0), LocalTime.of(11, 0), 1L, 1L)));
+
+        assertFalse(registry.tryAdd(hold(1, DATE, LocalTime.of(10, 30), LocalTime.of(11, 30), 1L, 2L)));
+        assertFalse(registry.tryAdd(hold(1, DATE, LocalTime.of(9, 30), LocalTime.of(10, 30), 2L, 1L)));
+
+        // Other resources, adjacent times, other dates and other garages do not conflict
+        assertTrue(registry.tryAdd(hold(1, DATE, LocalTime.of(10, 30), LocalTime.of(11, 30), 2L, 2L)));
+        assertTrue(registry.tryAdd(hold(1, DATE, LocalTime.of(11, 0), LocalTime.of(12, 0), 1L, 1L)));
+        assertTrue(registry.tryAdd(hold(1, DATE.plusDays(1), LocalTime.of(10, 0), LocalTime.of(11, 0), 1L, 1L)));
+        assertTrue(registry.tryAdd(hold(2, DATE, LocalTime.of(10, 0), LocalTime.of(11, 0), 1L, 1L)));
+    }
+
+    @Test
+    void holdsBeyondTheMaximumAreRejected() {
+        SlotHoldRegistry registry = registry(Duration.ofMinutes(5), 1);
+        assertTrue(registry.tryAdd(hold(1, DATE, LocalTime.of(10, 0), LocalTime.of(11, 0), 1L, 1L)));
+
+        assertFalse(registry.tryAdd(hold(1, DATE, LocalTime.of(10, 0), LocalTime.of(11, 0), 2L, 2L)));
+    }
+
+    @Test
+    void addingAndReleasingAHoldChangesTheAvailabilityOfItsDate() {
+        SlotHoldRegistry registry = registry(Duration.ofMinutes(5), 10);
+        SlotHold hold = hold(1, DATE, LocalTime.of(10, 0), LocalTime.of(11, 0), 1L, 1L);
+
+        long initialVersion = availabilityVersionTracker.currentVersion(1, DATE);
+        registry.tryAdd(hold);
+        long heldVersion = availabilityVersionTracker.currentVersion(1, DATE);
+        assertTrue(heldVersion > initialVersion);
+
+        assertTrue(registry.release(hold.getId()));
+        assertTrue(availabilityVersionTracker.currentVersion(1, DATE) > heldVersion);
+        assertFalse(registry.release(hold.getId()));
+    }
+
+    @Test
+    void holdExpiresAfterItsTimeToLive() throws Exception {
+        // Longer than one revolution of the wheel, see registry()
+        Duration timeToLive = Duration.ofMillis(150);
+        SlotHoldRegistry registry = registry(timeToLive, 10);
+        SlotHold hold = hold(1, DATE, LocalTime.of(10, 0), LocalTime.of(11, 0), 1L, 1L);
+
+        long startNanos = System.nanoTime();
+        assertTrue(registry.tryAdd(hold));
+        awaitReleased(registry, hold);
+
+        assertTrue(System.nanoTime() - startNanos >= timeToLive.toNanos());
+        assertFalse(registry.find(hold.getId()).isPresent());
+        assertEquals(Map.of(), findHeldResources(registry, null));
+        assertTrue(registry.tryAdd(hold(1, DATE, LocalTime.of(10, 0), LocalTime.of(11, 0), 1L, 1L)));
+    }
+
+    @Test
+    void releasedHoldIsNotExpiredLater() throws Exception {
+        Duration timeToLive = Duration.ofMillis(600);
+        SlotHoldRegistry registry = registry(timeToLive, 10);
+        SlotHold hold = hold(1, DATE, LocalTime.of(10, 0), LocalTime.of(11, 0), 1L, 1L);
+
+        assertTrue(registry.tryAdd(hold));
+        assertTrue(registry.release(hold.getId()));
+        TimeUnit.MILLISECONDS.sleep(300);
+
+        // Added again with the same ID, so the first expiry would release it if it had not been cancelled
+        assertTrue(registry.tryAdd(hold));
+        TimeUnit.MILLISECONDS.sleep(500);
+        assertTrue(registry.find(hold.getId()).isPresent());
+    }
+
+    @Test
+    void heldResourcesAreReportedExceptForTheIgnoredHold() {
+        SlotHoldRegistry registry = registry(Duration.ofMinutes(5), 10);
+        SlotHold hold = hold(1, DATE, LocalTime.of(10, 0), LocalTime.of(11, 0), 1L, 2L);
+        registry.tryAdd(hold);
+
+        assertEquals(Map.of(ResourceType.GARAGE_BOX, Set.of(1L), ResourceType.MECHANIC, Set.of(2L)),
+                findHeldResources(registry, null));
+        // The booking confirming the hold may use its resources
+        assertEquals(Map.of(), findHeldResources(registry, hold.getId()));
+    }
+
+    private Map<ResourceType, Set<Long>> findHeldResources(SlotHoldRegistry registry, UUID ignoredHoldId) {
+        return registry.findHeldResources(1, DATE, LocalTime.of(10, 30), LocalTime.of(11, 30), ignoredHoldId);
+    }
+
+    /**
+     * Creates a registry whose wheel of four 10ms buckets takes 40ms per revolution.
+     */
+    private SlotHoldRegistry registry(Duration timeToLive, int maxHolds) {
+        HoldProperties holdProperties = new HoldProperties();
+        holdProperties.setTimeToLive(timeToLive);
+        holdProperties.setTickDuration(Duration.ofMillis(10));
+        holdProperties.setWheelSize(4);
+        holdProperties.setMaxHolds(maxHolds);
+        SlotHoldRegistry registry = new SlotHoldRegistry(availabilityVersionTracker, holdProperties);
+        registries.add(registry);
+        return registry;
+    }
+
+    private static SlotHold hold(long garageId, LocalDate date, LocalTime startTime, LocalTime endTime,
+                                 Long garageBoxId, Long employeeId) {
+        return new SlotHold(UUID.randomUUID(), garageId, date, startTime, endTime, List.of(1L), garageBoxId,
+                employeeId, Instant.now());
+    }
+
+    /**
+     * Waits until the hold's time is no longer held, the last step of releasing it.
+     */
+    private static void awaitReleased(SlotHoldRegistry registry, SlotHold hold) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!registry.findHeldIntervals(hold.getGarageId(), hold.getDate()).isEmpty()
+                && System.nanoTime() - deadline < 0) {
+            Thread.sleep(1);
+        }
+        assertEquals(List.of(), registry.findHeldIntervals(hold.getGarageId(), hold.getDate()));
+    }
+}
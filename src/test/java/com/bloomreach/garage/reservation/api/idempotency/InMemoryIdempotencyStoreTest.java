@@ -0,0 +1,103 @@
+package com.bloomreach.garage.reservation.api.idempotency;
+
+import com.bloomreach.garage.reservation.api.error.IdempotencyStoreFullError;
+import com.bloomreach.garage.reservation.api.error.IdempotentRequestInProgressError;
+import com.bloomreach.garage.reservation.api.model.BookingResponse;
+import com.bloomreach.garage.reservation.config.IdempotencyProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryIdempotencyStoreTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void keyOfABookingInProgressIsNotEvictedWhenTheStoreIsFull() throws Exception {
+        InMemoryIdempotencyStore store = store(Duration.ofHours(1), Duration.ofMillis(50), 1);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger bookings = new AtomicInteger();
+        BookingResponse response = BookingResponse.builder().build();
+        Future<BookingResponse> first = executor.submit(() -> store.execute("key-1", "request-1", callback -> {
+            bookings.incrementAndGet();
+            started.countDown();
+            await(release);
+            return response;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // A new key would evict the booking in progress, so it is turned away instead
+        assertThrows(IdempotencyStoreFullError.class,
+                () -> store.execute("key-2", "request-2", callback -> BookingResponse.builder().build()));
+        // A duplicate still finds the booking in progress rather than booking again
+        assertThrows(IdempotentRequestInProgressError.class,
+                () -> store.execute("key-1", "request-1", callback -> fail()));
+
+        release.countDown();
+        assertSame(response, first.get(5, TimeUnit.SECONDS));
+        assertSame(response, store.execute("key-1", "request-1", callback -> fail()));
+        assertEquals(1, bookings.get());
+
+        // Once the booking has finished, its key makes room for a new one
+        BookingResponse second = BookingResponse.builder().build();
+        assertSame(second, store.execute("key-2", "request-2", callback -> second));
+    }
+
+    @Test
+    void keyOfABookingInProgressIsNotEvictedWhenItExpires() throws Exception {
+        InMemoryIdempotencyStore store = store(Duration.ZERO, Duration.ofMillis(50), 100);
+        CountDownLatch started = new CountDownLatch(1);
+        Future<BookingResponse> first = executor.submit(() -> store.execute("key-1", "request-1", callback -> {
+            started.countDown();
+            await(release);
+            return BookingResponse.builder().build();
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        store.execute("key-2", "request-2", callback -> BookingResponse.builder().build());
+        assertThrows(IdempotentRequestInProgressError.class,
+                () -> store.execute("key-1", "request-1", callback -> fail()));
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+    }
+
+    private static InMemoryIdempotencyStore store(Duration timeToLive, Duration waitTimeout, int maxEntries) {
+        IdempotencyProperties idempotencyProperties = new IdempotencyProperties();
+        idempotencyProperties.setTimeToLive(timeToLive);
+        idempotencyProperties.setWaitTimeout(waitTimeout);
+        idempotencyProperties.setMaxEntries(maxEntries);
+        return new InMemoryIdempotencyStore(idempotencyProperties);
+    }
+
+    private static BookingResponse fail() {
+        throw new AssertionError("Booked a duplicate");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.bloomreach.garage.reservation.api.journal;
+
+import com.bloomreach.garage.reservation.config.JournalProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * Measures how fast bookings are appended to the {@link BookingJournal} and how fast the journal is read back by a
+ * replay without restoring, the figures of the Booking Journal section of the README.
+ * <p>
+ * Bookings of one to three operations, spread over a year of dates, are appended on a single thread to a journal in a
+ * new temporary directory with 64 MB segments, which is deleted afterwards. The journal is then replayed several
+ * times, the first replay running with a cold JIT compiler. Run it with:
+ * </p>
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=com.bloomreach.garage.reservation.api.journal.BookingJournalBenchmark \
+ *   -Dexec.args="[bookings] [replays]"
+ * </pre>
+ * The bookings default to one million, the replays to five.
+ */
+public class BookingJournalBenchmark {
+
+    private static final LocalDate FIRST_DATE = LocalDate.of(2099, 1, 1);
+
+    public static void main(String[] args) throws IOException {
+        int bookings = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int replays = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        Path directory = Files.createTempDirectory("booking-journal-benchmark");
+        try {
+            JournalProperties journalProperties = new JournalProperties();
+            journalProperties.setDirectory(directory.toString());
+            journalProperties.setSegmentSize(DataSize.ofMegabytes(64));
+            // Snapshots are not written, so appointments are never read
+            BookingJournal journal = new BookingJournal(journalProperties, null);
+            journal.open();
+
+            List<byte[]> payloads = encodeBookings(bookings);
+            long appendStartNanos = System.nanoTime();
+            for (byte[] payload : payloads) {
+                journal.write(payload);
+            }
+            long appendNanos = System.nanoTime() - appendStartNanos;
+            journal.close();
+
+            long journalBytes = payloads.stream().mapToLong(payload -> payload.length + 8L).sum();
+            System.out.printf("%d bookings (%.1f MB), %d processors, JDK %s%n", bookings, journalBytes / 1_000_000.0,
+                    Runtime.getRuntime().availableProcessors(), System.getProperty("java.version"));
+            System.out.printf("Appending took %d ms (%,d bookings/s)%n%n", appendNanos / 1_000_000,
+                    bookings * 1_000_000_000L / appendNanos);
+            System.out.println("| Run    | Duration | Events/s | MB/s  |");
+            System.out.println("|--------|----------|----------|-------|");
+            for (int replay = 1; replay <= replays; replay++) {
+                long[] operations = {0};
+                long replayStartNanos = System.nanoTime();
+                BookingJournal.ReplayResult result = journal.replay(event -> operations[0] += event.getOperations().size());
+                long replayNanos = System.nanoTime() - replayStartNanos;
+                if (result.getEvents() != bookings || operations[0] < bookings) {
+                    throw new IllegalStateException("Replayed " + result.getEvents() + " of " + bookings + " bookings");
+                }
+
+                System.out.printf("| %-6d | %5d ms | %6.2f M | %5.0f |%n", replay, replayNanos / 1_000_000,
+                        result.getEvents() * 1_000.0 / replayNanos, result.getBytes() * 1_000.0 / replayNanos);
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    /**
+     * Encodes the bookings up front, so appending measures the journal rather than the codec.
+     */
+    private static List<byte[]> encodeBookings(int bookings) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<byte[]> payloads = new ArrayList<>(bookings);
+        long operationRecordId = 1;
+        for (long id = 1; id <= bookings; id++) {
+            LocalTime startTime = LocalTime.of(8, 0).plusMinutes(30L * random.nextInt(16));
+            List<BookingJournalEvent.Operation> operations = new ArrayList<>();
+            LocalTime operationStartTime = startTime;
+            for (int operation = random.nextInt(1, 4); operation > 0; operation--) {
+                LocalTime operationEndTime = operationStartTime.plusMinutes(30);
+                operations.add(new BookingJournalEvent.Operation(operationRecordId++, random.nextInt(1, 4),
+                        random.nextInt(1, 20), operationStartTime, operationEndTime));
+                operationStartTime = operationEndTime;
+            }
+
+            payloads.add(BookingJournalCodec.encode(new BookingJournalEvent(BookingJournalEvent.Type.BOOKED, id,
+                    random.nextInt(1, 100_000), 1, random.nextInt(1, 10), FIRST_DATE.plusDays(random.nextInt(365)),
+                    startTime, operationStartTime, operations)));
+        }
+        return payloads;
+    }
+}
@@ -0,0 +1,64 @@
+package com.bloomreach.garage.reservation.api.journal;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BookingJournalCodecTest {
+
+    @Test
+    void bookingRoundTrips() {
+        BookingJournalEvent event = new BookingJournalEvent(BookingJournalEvent.Type.BOOKED, 300_000_000_000L, 5, 1, 2,
+                LocalDate.of(2099, 1, 5), LocalTime.of(9, 0), LocalTime.of(10, 30), List.of(
+                new BookingJournalEvent.Operation(7, 1, 3, LocalTime.of(9, 0), LocalTime.of(9, 30)),
+                new BookingJournalEvent.Operation(8, 2, 4, LocalTime.of(9, 30), LocalTime.of(10, 30, 15))));
+
+        assertEquals(event, decode(BookingJournalCodec.encode(event)));
+    }
+
+    @Test
+    void changeWithoutOperationsAndBeforeTheEpochRoundTrips() {
+        BookingJournalEvent event = new BookingJournalEvent(BookingJournalEvent.Type.CHANGED, 1, 1, 1, 1,
+                LocalDate.of(1969, 12, 31), LocalTime.MIDNIGHT, LocalTime.of(23, 59, 59), List.of());
+
+        assertEquals(event, decode(BookingJournalCodec.encode(event)));
+    }
+
+    @Test
+    void deletionOnlyEncodesTheAppointment() {
+        BookingJournalEvent event = BookingJournalEvent.deleted(129);
+        byte[] encoded = BookingJournalCodec.encode(event);
+
+        assertEquals(3, encoded.length);
+        assertEquals(event, decode(encoded));
+    }
+
+    @Test
+    void invalidEncodingsAreRejected() {
+        byte[] encoded = BookingJournalCodec.encode(new BookingJournalEvent(BookingJournalEvent.Type.BOOKED, 1, 1, 1, 1,
+                LocalDate.of(2099, 1, 5), LocalTime.of(9, 0), LocalTime.of(10, 0),
+                List.of(new BookingJournalEvent.Operation(1, 1, 1, LocalTime.of(9, 0), LocalTime.of(10, 0)))));
+
+        assertThrows(IllegalArgumentException.class, () -> decode(Arrays.copyOf(encoded, encoded.length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> decode(Arrays.copyOf(encoded, encoded.length + 1)));
+
+        byte[] unknownType = encoded.clone();
+        unknownType[0] = 9;
+        assertThrows(IllegalArgumentException.class, () -> decode(unknownType));
+
+        // A start time of 86,400 seconds, i.e. 24:00, is not a time of the day
+        assertThrows(IllegalArgumentException.class, () -> decode(new byte[]{BookingJournalCodec.CHANGED, 1, 1, 1, 1,
+                (byte) 0x80, 1, (byte) 0x80, (byte) 0xA3, 0x05, 0, 0}));
+    }
+
+    private static BookingJournalEvent decode(byte[] encoded) {
+        return BookingJournalCodec.decode(ByteBuffer.wrap(encoded));
+    }
+}
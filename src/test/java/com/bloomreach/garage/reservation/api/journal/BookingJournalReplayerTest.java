@@ -0,0 +1,123 @@
+package com.bloomreach.garage.reservation.api.journal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Replays a journal into a database of its own, which is missing some of the journaled appointments.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:garage-journal",
+        "garage.reservation.journal.enabled=true"})
+class BookingJournalReplayerTest {
+
+    private static final LocalDate DATE = LocalDate.of(2099, 1, 7);
+    private static final long RESTORED_ID = 910_001L;
+    private static final long ARCHIVED_ID = 910_002L;
+    private static final long MOVED_ID = 910_003L;
+    private static final long DELETED_ID = 910_004L;
+
+    @Autowired
+    private BookingJournal bookingJournal;
+
+    @Autowired
+    private BookingJournalReplayer bookingJournalReplayer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long customerId;
+    private long garageId;
+    private long garageBoxId;
+    private long operationId;
+    private List<Long> employeeIds;
+
+    @DynamicPropertySource
+    static void journalDirectory(DynamicPropertyRegistry registry) throws IOException {
+        String directory = Files.createTempDirectory("booking-journal").toString();
+        registry.add("garage.reservation.journal.directory", () -> directory);
+    }
+
+    @BeforeEach
+    void readReferences() {
+        customerId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM customers", Long.class);
+        garageBoxId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM garage_boxes", Long.class);
+        garageId = jdbcTemplate.queryForObject("SELECT garage_id FROM garage_boxes WHERE id = ?", Long.class, garageBoxId);
+        operationId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM garage_operations", Long.class);
+        employeeIds = jdbcTemplate.queryForList("SELECT id FROM employees ORDER BY id", Long.class);
+    }
+
+    @AfterEach
+    void deleteAppointments() {
+        jdbcTemplate.update("DELETE FROM garage_appointment_operations WHERE appointment_id >= ?", RESTORED_ID);
+        jdbcTemplate.update("DELETE FROM garage_appointments WHERE id >= ?", RESTORED_ID);
+        jdbcTemplate.update("DELETE FROM garage_appointments_archive WHERE id >= ?", RESTORED_ID);
+    }
+
+    @Test
+    void replayRestoresTheLastStateOfEveryAppointmentExceptArchivedOnes() throws IOException {
+        jdbcTemplate.update("INSERT INTO garage_appointments_archive (id, customer_id, garage_box_id, garage_id, `date`, "
+                        + "start_time, end_time, archived_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                ARCHIVED_ID, customerId, garageBoxId, garageId, Date.valueOf(DATE), Time.valueOf(LocalTime.of(8, 0)),
+                Time.valueOf(LocalTime.of(9, 0)), Timestamp.from(Instant.now()));
+
+        append(booking(RESTORED_ID, LocalTime.of(9, 0), 0));
+        append(booking(ARCHIVED_ID, LocalTime.of(8, 0), 1));
+        append(booking(MOVED_ID, LocalTime.of(10, 0), 1));
+        append(booking(DELETED_ID, LocalTime.of(12, 0), 0));
+        // Changes made through the REST repositories after the bookings
+        append(booking(MOVED_ID, LocalTime.of(14, 0), 1).asChanged());
+        append(BookingJournalEvent.deleted(DELETED_ID));
+        append(booking(ARCHIVED_ID, LocalTime.of(15, 0), 1).asChanged());
+
+        bookingJournalReplayer.run(null);
+
+        assertEquals(List.of(RESTORED_ID, MOVED_ID), jdbcTemplate.queryForList(
+                "SELECT id FROM garage_appointments WHERE id >= ? ORDER BY id", Long.class, RESTORED_ID));
+        assertEquals(LocalTime.of(14, 0), jdbcTemplate.queryForObject(
+                "SELECT start_time FROM garage_appointments WHERE id = ?", Time.class, MOVED_ID).toLocalTime());
+        assertEquals(LocalTime.of(14, 0), jdbcTemplate.queryForObject(
+                "SELECT start_time FROM garage_appointment_operations WHERE appointment_id = ?", Time.class, MOVED_ID)
+                .toLocalTime());
+        // Restored appointments claim the minutes of their garage box and mechanic, moved ones only at their new time
+        assertEquals(2 * 60, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM reservation_cells WHERE appointment_id = ?", Integer.class, RESTORED_ID));
+        assertEquals(14 * 60, jdbcTemplate.queryForObject(
+                "SELECT MIN(slot_index) FROM reservation_cells WHERE appointment_id = ?", Integer.class, MOVED_ID));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM garage_appointments WHERE id = ?", Integer.class, ARCHIVED_ID));
+
+        // Replaying the same journal again ends in the same state
+        bookingJournalReplayer.run(null);
+        assertEquals(List.of(RESTORED_ID, MOVED_ID), jdbcTemplate.queryForList(
+                "SELECT id FROM garage_appointments WHERE id >= ? ORDER BY id", Long.class, RESTORED_ID));
+    }
+
+    private void append(BookingJournalEvent event) throws IOException {
+        bookingJournal.write(BookingJournalCodec.encode(event));
+    }
+
+    private BookingJournalEvent booking(long id, LocalTime startTime, int employee) {
+        return new BookingJournalEvent(BookingJournalEvent.Type.BOOKED, id, customerId, garageId, garageBoxId, DATE,
+                startTime, startTime.plusHours(1), List.of(new BookingJournalEvent.Operation(id, operationId,
+                employeeIds.get(employee), startTime, startTime.plusHours(1))));
+    }
+}
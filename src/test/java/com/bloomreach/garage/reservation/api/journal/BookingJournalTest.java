@@ -0,0 +1,170 @@
+package com.bloomreach.garage.reservation.api.journal;
+
+import com.bloomreach.garage.reservation.config.JournalProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingJournalTest {
+
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    @TempDir
+    Path directory;
+
+    private final List<BookingJournal> journals = new ArrayList<>();
+
+    @AfterEach
+    void close() {
+        journals.forEach(BookingJournal::close);
+    }
+
+    @Test
+    void appendedEventsAreReplayedInOrder() throws IOException {
+        BookingJournal journal = open(DataSize.ofKilobytes(64), Map.of());
+        List<BookingJournalEvent> events = List.of(booking(1), booking(2), BookingJournalEvent.deleted(1));
+        for (BookingJournalEvent event : events) {
+            journal.write(BookingJournalCodec.encode(event));
+        }
+
+        assertEquals(events, replay(journal));
+        BookingJournal.ReplayResult result = journal.replay(event -> {
+        });
+        assertEquals(3, result.getEvents());
+        assertEquals(journal.currentPosition().getOffset() - HEADER_SIZE, result.getBytes());
+    }
+
+    @Test
+    void fullSegmentRollsOverToANewOne() throws IOException {
+        // Room for a few bookings per segment
+        BookingJournal journal = open(DataSize.ofBytes(128), Map.of());
+        List<BookingJournalEvent> events = LongStream.rangeClosed(1, 20).mapToObj(BookingJournalTest::booking).toList();
+        for (BookingJournalEvent event : events) {
+            journal.write(BookingJournalCodec.encode(event));
+        }
+
+        assertTrue(journal.currentPosition().getSegment() > 1);
+        assertEquals(journal.currentPosition().getSegment(), segments().size());
+        assertEquals(events, replay(journal));
+
+        // Reopened, the journal continues after the last record of the last segment
+        journal.close();
+        BookingJournal reopened = open(DataSize.ofBytes(128), Map.of());
+        assertEquals(journal.currentPosition(), reopened.currentPosition());
+        reopened.write(BookingJournalCodec.encode(booking(21)));
+        assertEquals(Stream.concat(events.stream(), Stream.of(booking(21))).toList(), replay(reopened));
+    }
+
+    @Test
+    void replayStopsAtACorruptRecord() throws IOException {
+        BookingJournal journal = open(DataSize.ofKilobytes(64), Map.of());
+        byte[] first = BookingJournalCodec.encode(booking(1));
+        journal.write(first);
+        journal.write(BookingJournalCodec.encode(booking(2)));
+        journal.write(BookingJournalCodec.encode(booking(3)));
+        journal.close();
+
+        // Flips a bit of the second record's event, so it no longer matches its CRC32
+        long eventOffset = HEADER_SIZE + RECORD_HEADER_SIZE + first.length + RECORD_HEADER_SIZE;
+        try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+            file.seek(eventOffset);
+            int value = file.read();
+            file.seek(eventOffset);
+            file.write(value ^ 1);
+        }
+
+        BookingJournal reopened = open(DataSize.ofKilobytes(64), Map.of());
+        assertEquals(List.of(booking(1)), replay(reopened));
+
+        // New records replace the corrupt one and the records behind it
+        reopened.write(BookingJournalCodec.encode(booking(4)));
+        assertEquals(List.of(booking(1), booking(4)), replay(reopened));
+    }
+
+    @Test
+    void replayStartsFromTheLatestSnapshot() throws IOException {
+        BookingJournal journal = open(DataSize.ofBytes(128), Map.of());
+        for (long id = 1; id <= 10; id++) {
+            journal.write(BookingJournalCodec.encode(booking(id)));
+        }
+
+        JournalPosition position = journal.currentPosition();
+        assertTrue(position.getSegment() > 1);
+        List<BookingJournalEvent> snapshot = List.of(booking(2), booking(5));
+        journal.writeSnapshot(position, snapshot);
+        journal.write(BookingJournalCodec.encode(booking(11)));
+
+        assertEquals(List.of(booking(2), booking(5), booking(11)), replay(journal));
+        // Only the segment of the snapshot position and the ones after it are kept
+        assertEquals(position.getSegment(), segmentNumber(segments().get(0)));
+    }
+
+    @Test
+    void changesAreAppendedAsTheAppointmentReadBackOrAsDeletions() throws IOException {
+        BookingJournal journal = open(DataSize.ofKilobytes(64), Map.of(1L, booking(1)));
+
+        journal.appendChange(1);
+        journal.appendChange(2);
+
+        assertEquals(List.of(booking(1).asChanged(), BookingJournalEvent.deleted(2)), replay(journal));
+    }
+
+    private BookingJournal open(DataSize segmentSize, Map<Long, BookingJournalEvent> appointments) throws IOException {
+        JournalProperties journalProperties = new JournalProperties();
+        journalProperties.setDirectory(directory.toString());
+        journalProperties.setSegmentSize(segmentSize);
+
+        JournalAppointmentReader journalAppointmentReader = new JournalAppointmentReader(null) {
+            @Override
+            public Optional<BookingJournalEvent> read(long appointmentId) {
+                return Optional.ofNullable(appointments.get(appointmentId));
+            }
+        };
+
+        BookingJournal journal = new BookingJournal(journalProperties, journalAppointmentReader);
+        journal.open();
+        journals.add(journal);
+        return journal;
+    }
+
+    private static List<BookingJournalEvent> replay(BookingJournal journal) throws IOException {
+        List<BookingJournalEvent> events = new ArrayList<>();
+        journal.replay(events::add);
+        return events;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".journal")).sorted().toList();
+        }
+    }
+
+    private static long segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(name.indexOf('-') + 1, name.indexOf('.')));
+    }
+
+    private static BookingJournalEvent booking(long id) {
+        return new BookingJournalEvent(BookingJournalEvent.Type.BOOKED, id, 1, 1, 1, LocalDate.of(2099, 1, 5),
+                LocalTime.of(9, 0), LocalTime.of(10, 0),
+                List.of(new BookingJournalEvent.Operation(id, 2, 1, LocalTime.of(9, 0), LocalTime.of(10, 0))));
+    }
+}
@@ -0,0 +1,88 @@
+package com.bloomreach.garage.reservation.api.service;
+
+import com.bloomreach.garage.reservation.api.component.SlotHoldRegistry;
+import com.bloomreach.garage.reservation.api.model.BookingRequest;
+import com.bloomreach.garage.reservation.api.model.BookingResponse;
+import com.bloomreach.garage.reservation.api.model.HoldRequest;
+import com.bloomreach.garage.reservation.api.model.HoldResponse;
+import com.bloomreach.garage.reservation.api.schedule.SlotHold;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@SpringBootTest
+@Transactional
+class HoldServiceTest {
+
+    private static final LocalTime START_TIME = LocalTime.of(10, 0);
+    private static final LocalTime END_TIME = LocalTime.of(11, 0);
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SlotHoldRegistry slotHoldRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Clock clock;
+
+    @Test
+    void bookingWithAHoldBooksTheHeldGarageBoxAndMechanic() {
+        // Both mechanics and garage boxes work on Mondays, within the booking horizon
+        LocalDate date = LocalDate.now(clock).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        List<Long> operationIds = List.of(jdbcTemplate.queryForObject(
+                "SELECT id FROM garage_operations WHERE duration_in_minutes = 60", Long.class));
+
+        HoldRequest holdRequest = new HoldRequest();
+        holdRequest.setOperationIds(operationIds);
+        holdRequest.setDate(date);
+        holdRequest.setStartTime(START_TIME);
+        holdRequest.setEndTime(END_TIME);
+        HoldResponse holdResponse = holdService.hold(holdRequest);
+        SlotHold hold = slotHoldRegistry.find(holdResponse.getHoldId()).orElseThrow();
+
+        // Another customer gets the other garage box and mechanic
+        BookingResponse otherBooking = bookingService.bookAppointment(bookingRequest(date, operationIds, null));
+        assertNotEquals(hold.getGarageBoxId(), otherBooking.getAppointment().getGarageBox().getId());
+        assertNotEquals(hold.getEmployeeId(), otherBooking.getOperations().get(0).getEmployee().getId());
+
+        BookingResponse heldBooking = bookingService.bookAppointment(
+                bookingRequest(date, operationIds, holdResponse.getHoldId()));
+        assertEquals(hold.getGarageBoxId(), heldBooking.getAppointment().getGarageBox().getId());
+        assertEquals(hold.getEmployeeId(), heldBooking.getOperations().get(0).getEmployee().getId());
+
+        // The hold is confirmed by the booking, so it no longer sets the resources aside
+        assertFalse(slotHoldRegistry.find(holdResponse.getHoldId()).isPresent());
+    }
+
+    private BookingRequest bookingRequest(LocalDate date, List<Long> operationIds, UUID holdId) {
+        BookingRequest request = new BookingRequest();
+        request.setOperationIds(operationIds);
+        request.setCustomerId(jdbcTemplate.queryForObject("SELECT MIN(id) FROM customers", Long.class));
+        request.setDate(date);
+        request.setStartTime(START_TIME);
+        request.setEndTime(END_TIME);
+        request.setHoldId(holdId);
+        return request;
+    }
+}
@@ -0,0 +1,121 @@
+package com.bloomreach.garage.reservation.api.service;
+
+import com.bloomreach.garage.reservation.api.error.ValidationError;
+import com.bloomreach.garage.reservation.api.model.AppointmentSummary;
+import com.bloomreach.garage.reservation.api.model.KeysetPage;
+import com.bloomreach.garage.reservation.api.support.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+class ListingServiceTest {
+
+    private static final LocalDate FIRST_DATE = LocalDate.of(2099, 2, 2);
+    private static final LocalDate SECOND_DATE = FIRST_DATE.plusDays(1);
+
+    @Autowired
+    private ListingService listingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long customerId;
+
+    @BeforeEach
+    void insertAppointments() {
+        jdbcTemplate.update("INSERT INTO customers (full_name, phone_number) VALUES ('Listing Customer', '555-000-0000')");
+        customerId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM customers", Long.class);
+
+        // Three appointments tie on date and start time, inserted out of ID order
+        insertAppointment(920_003L, FIRST_DATE, LocalTime.of(9, 0));
+        insertAppointment(920_001L, FIRST_DATE, LocalTime.of(9, 0));
+        insertAppointment(920_002L, FIRST_DATE, LocalTime.of(9, 0));
+        insertAppointment(920_004L, FIRST_DATE, LocalTime.of(8, 0));
+        insertAppointment(920_005L, FIRST_DATE, LocalTime.of(10, 0));
+        insertAppointment(920_006L, SECOND_DATE, LocalTime.of(8, 0));
+        // Before the first listed date
+        insertAppointment(920_007L, FIRST_DATE.minusDays(1), LocalTime.of(12, 0));
+    }
+
+    @Test
+    void appointmentPagesFollowEachOtherWithoutGapsOrRepeats() {
+        List<List<Long>> pages = listAll(cursor -> listingService.findAppointments(FIRST_DATE, cursor, 2));
+
+        assertEquals(List.of(List.of(920_004L, 920_001L), List.of(920_002L, 920_003L), List.of(920_005L, 920_006L)),
+                pages);
+    }
+
+    @Test
+    void tiesOnDateAndStartTimeAreBrokenById() {
+        String afterFirstTie = KeysetCursor.encode(FIRST_DATE, LocalTime.of(9, 0), 920_001L);
+
+        KeysetPage<AppointmentSummary> page = listingService.findAppointments(null, afterFirstTie, 1);
+
+        assertEquals(List.of(920_002L), ids(page));
+        assertEquals(KeysetCursor.encode(FIRST_DATE, LocalTime.of(9, 0), 920_002L), page.getNextCursor());
+    }
+
+    @Test
+    void customerHistoryIsListedNewestFirst() {
+        List<List<Long>> pages = listAll(cursor -> listingService.findCustomerAppointments(customerId, cursor, 3));
+
+        assertEquals(List.of(List.of(920_006L, 920_005L, 920_003L), List.of(920_002L, 920_001L, 920_004L),
+                List.of(920_007L)), pages);
+    }
+
+    @Test
+    void invalidCursorsAndPageSizesAreRejected() {
+        String customerCursor = KeysetCursor.encode(customerId);
+
+        assertThrows(ValidationError.class, () -> listingService.findAppointments(null, customerCursor, 2));
+        assertThrows(ValidationError.class, () -> listingService.findAppointments(null,
+                KeysetCursor.encode("2099-02-30", "09:00", 1), 2));
+        assertThrows(ValidationError.class, () -> listingService.findAppointments(FIRST_DATE, null, 0));
+        assertThrows(ValidationError.class, () -> listingService.findAppointments(null, null, 2));
+    }
+
+    /**
+     * Follows the cursors from the first page to the last, collecting the appointment IDs of every page.
+     */
+    private static List<List<Long>> listAll(Function<String, KeysetPage<AppointmentSummary>> lister) {
+        List<List<Long>> pages = new ArrayList<>();
+        KeysetPage<AppointmentSummary> page = lister.apply(null);
+        pages.add(ids(page));
+        while (page.getNextCursor() != null) {
+            page = lister.apply(page.getNextCursor());
+            pages.add(ids(page));
+        }
+        assertNull(page.getNextCursor());
+        return pages;
+    }
+
+    private static List<Long> ids(KeysetPage<AppointmentSummary> page) {
+        return page.getItems().stream().map(AppointmentSummary::getId).toList();
+    }
+
+    private void insertAppointment(long id, LocalDate date, LocalTime startTime) {
+        long garageBoxId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM garage_boxes", Long.class);
+        long garageId = jdbcTemplate.queryForObject("SELECT garage_id FROM garage_boxes WHERE id = ?", Long.class, garageBoxId);
+        jdbcTemplate.update("INSERT INTO garage_appointments (id, customer_id, garage_box_id, garage_id, `date`, start_time, end_time) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                id, customerId, garageBoxId, garageId, Date.valueOf(date), Time.valueOf(startTime),
+                Time.valueOf(startTime.plusHours(1)));
+    }
+}
@@ -0,0 +1,84 @@
+package com.bloomreach.garage.reservation.api.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedTimerWheelTest {
+
+    // One revolution of the wheel takes 40ms
+    private final HashedTimerWheel wheel = new HashedTimerWheel("test-wheel", Duration.ofMillis(10), 4);
+    private final long startNanos = System.nanoTime();
+
+    @AfterEach
+    void close() {
+        wheel.close();
+    }
+
+    @Test
+    void timeoutExpiresAfterItsDelay() throws Exception {
+        CompletableFuture<Long> expired = new CompletableFuture<>();
+        HashedTimerWheel.Timeout timeout = wheel.schedule(() -> expired.complete(elapsedMillis()), Duration.ofMillis(30));
+
+        assertTrue(expired.get(5, TimeUnit.SECONDS) >= 30);
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    void timeoutLongerThanOneRevolutionWaitsForLaterRounds() throws Exception {
+        // Four revolutions apart, so both timeouts are hashed to the same bucket
+        CompletableFuture<Long> longExpired = new CompletableFuture<>();
+        CompletableFuture<Long> shortExpired = new CompletableFuture<>();
+        wheel.schedule(() -> longExpired.complete(elapsedMillis()), Duration.ofMillis(200));
+        wheel.schedule(() -> shortExpired.complete(elapsedMillis()), Duration.ofMillis(40));
+
+        assertTrue(shortExpired.get(5, TimeUnit.SECONDS) >= 40);
+        assertTrue(longExpired.get(5, TimeUnit.SECONDS) >= 200);
+    }
+
+    @Test
+    void cancelledTimeoutDoesNotExpire() throws Exception {
+        CompletableFuture<Long> cancelledExpired = new CompletableFuture<>();
+        CompletableFuture<Long> laterExpired = new CompletableFuture<>();
+        HashedTimerWheel.Timeout timeout = wheel.schedule(() -> cancelledExpired.complete(elapsedMillis()),
+                Duration.ofMillis(50));
+        wheel.schedule(() -> laterExpired.complete(elapsedMillis()), Duration.ofMillis(100));
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+
+        // Once the later timeout has expired, the cancelled one would have been due long ago
+        laterExpired.get(5, TimeUnit.SECONDS);
+        assertFalse(cancelledExpired.isDone());
+    }
+
+    @Test
+    void failingTaskDoesNotStopTheWheel() throws Exception {
+        CompletableFuture<Long> expired = new CompletableFuture<>();
+        wheel.schedule(() -> {
+            throw new IllegalStateException("task failed");
+        }, Duration.ZERO);
+        wheel.schedule(() -> expired.complete(elapsedMillis()), Duration.ofMillis(20));
+
+        assertTrue(expired.get(5, TimeUnit.SECONDS) >= 20);
+    }
+
+    @Test
+    void closedWheelRejectsNewTimeouts() {
+        wheel.close();
+
+        assertThrows(IllegalStateException.class, () -> wheel.schedule(() -> {
+        }, Duration.ofMillis(10)));
+    }
+
+    private long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
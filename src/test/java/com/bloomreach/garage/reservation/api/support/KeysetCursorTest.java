@@ -0,0 +1,30 @@
+package com.bloomreach.garage.reservation.api.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeysetCursorTest {
+
+    @Test
+    void sortKeyRoundTrips() {
+        String cursor = KeysetCursor.encode(LocalDate.of(2099, 2, 2), LocalTime.of(9, 30), 42L);
+
+        // Safe to pass in a query parameter without escaping
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+        assertArrayEquals(new String[]{"2099-02-02", "09:30", "42"}, KeysetCursor.decode(cursor, 3));
+    }
+
+    @Test
+    void cursorsOfAnotherListingOrNotEncodedAreRejected() {
+        String customerCursor = KeysetCursor.encode(42L);
+
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(customerCursor, 3));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not a cursor!", 1));
+    }
+}
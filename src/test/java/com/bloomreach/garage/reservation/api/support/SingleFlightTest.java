@@ -0,0 +1,132 @@
+package com.bloomreach.garage.reservation.api.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private final SingleFlight<Integer, String> singleFlight = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void batchJoinsTheKeysInFlightAndComputesTheOthersOnce() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> single = executor.submit(() -> singleFlight.execute(1, () -> {
+            started.countDown();
+            await(release);
+            return "single-1";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Set<Integer>> batchKeys = new CompletableFuture<>();
+        Future<Map<Integer, String>> batch = executor.submit(() -> singleFlight.executeAll(List.of(1, 2, 3), keys -> {
+            batchKeys.complete(keys);
+            return keys.stream().collect(Collectors.toMap(key -> key, key -> "batch-" + key));
+        }));
+
+        // The batch computes its own keys before joining the one in flight
+        assertEquals(Set.of(2, 3), batchKeys.get(5, TimeUnit.SECONDS));
+        release.countDown();
+
+        assertEquals("single-1", single.get(5, TimeUnit.SECONDS));
+        assertEquals(Map.of(1, "single-1", 2, "batch-2", 3, "batch-3"), batch.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void singleCallersJoinABatchInFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+        Future<Map<Integer, String>> batch = executor.submit(() -> singleFlight.executeAll(Set.of(1, 2), keys -> {
+            computations.incrementAndGet();
+            started.countDown();
+            await(release);
+            return keys.stream().collect(Collectors.toMap(key -> key, key -> "batch-" + key));
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> single = new CompletableFuture<>();
+        Thread singleCaller = new Thread(() -> single.complete(singleFlight.execute(2, () -> {
+            computations.incrementAndGet();
+            return "single-2";
+        })));
+        singleCaller.start();
+        awaitWaiting(singleCaller);
+        release.countDown();
+
+        assertEquals("batch-2", single.get(5, TimeUnit.SECONDS));
+        assertEquals(Map.of(1, "batch-1", 2, "batch-2"), batch.get(5, TimeUnit.SECONDS));
+        assertEquals(1, computations.get());
+    }
+
+    @Test
+    void failedBatchIsRethrownToItsCallersAndForgotten() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("calculation failed");
+        Future<Map<Integer, String>> batch = executor.submit(() -> singleFlight.executeAll(Set.of(1, 2), keys -> {
+            started.countDown();
+            await(release);
+            throw failure;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> single = new CompletableFuture<>();
+        Thread singleCaller = new Thread(() -> {
+            try {
+                single.complete(singleFlight.execute(1, () -> "single-1"));
+            } catch (RuntimeException e) {
+                single.completeExceptionally(e);
+            }
+        });
+        singleCaller.start();
+        awaitWaiting(singleCaller);
+        release.countDown();
+
+        assertSame(failure, assertThrows(Exception.class, () -> single.get(5, TimeUnit.SECONDS)).getCause());
+        assertSame(failure, assertThrows(Exception.class, () -> batch.get(5, TimeUnit.SECONDS)).getCause());
+        assertEquals("single-1", singleFlight.execute(1, () -> "single-1"));
+    }
+
+    /**
+     * Waits until the thread is parked joining the computation in flight.
+     */
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() - deadline < 0) {
+            Thread.sleep(1);
+        }
+        assertEquals(Thread.State.WAITING, thread.getState());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.bloomreach.garage.reservation.api.support;
+
+import com.bloomreach.garage.reservation.api.model.AvailableSlot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SlotListCodecTest {
+
+    @Test
+    void roundTripsUnsortedSlotsAcrossTheWholeDay() {
+        List<AvailableSlot> slots = List.of(
+                slot(LocalTime.of(9, 0), LocalTime.of(10, 0)),
+                slot(LocalTime.of(8, 15), LocalTime.of(9, 45)),
+                slot(LocalTime.MIDNIGHT, LocalTime.of(0, 1)),
+                slot(LocalTime.of(23, 59), LocalTime.of(23, 59)),
+                slot(LocalTime.of(13, 7), LocalTime.of(20, 53)));
+
+        assertEquals(slots, SlotListCodec.decode(SlotListCodec.encode(slots)));
+    }
+
+    @Test
+    void roundTripsAnEmptyList() {
+        byte[] encoded = SlotListCodec.encode(List.of());
+
+        assertArrayEquals(new byte[]{SlotListCodec.FORMAT_VERSION, 0}, encoded);
+        assertEquals(List.of(), SlotListCodec.decode(encoded));
+    }
+
+    @Test
+    void roundTripsAFullDayOfSlotsInTwoBytesEach() {
+        List<AvailableSlot> slots = new ArrayList<>();
+        for (int start = 8 * 60; start < 17 * 60; start += 30) {
+            slots.add(slot(LocalTime.of(start / 60, start % 60), LocalTime.of(start / 60 + 1, start % 60)));
+        }
+
+        byte[] encoded = SlotListCodec.encode(slots);
+
+        assertEquals(slots, SlotListCodec.decode(encoded));
+        // The first start (480) needs a two byte varint, every following delta (30) and length (60) one byte
+        assertEquals(2 + 1 + slots.size() * 2, encoded.length);
+    }
+
+    @Test
+    void rejectsSlotsOffTheMinute() {
+        List<AvailableSlot> slots = List.of(slot(LocalTime.of(9, 0, 30), LocalTime.of(10, 0)));
+
+        assertThrows(IllegalArgumentException.class, () -> SlotListCodec.encode(slots));
+    }
+
+    @Test
+    void rejectsSlotsEndingBeforeTheyStart() {
+        List<AvailableSlot> slots = List.of(slot(LocalTime.of(10, 0), LocalTime.of(9, 0)));
+
+        assertThrows(IllegalArgumentException.class, () -> SlotListCodec.encode(slots));
+    }
+
+    @Test
+    void rejectsUnknownVersionsAndMalformedInput() {
+        byte[] encoded = SlotListCodec.encode(List.of(slot(LocalTime.of(9, 0), LocalTime.of(10, 0))));
+
+        byte[] unknownVersion = encoded.clone();
+        unknownVersion[0] = SlotListCodec.FORMAT_VERSION + 1;
+        assertThrows(IllegalArgumentException.class, () -> SlotListCodec.decode(unknownVersion));
+
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 1);
+        assertThrows(IllegalArgumentException.class, () -> SlotListCodec.decode(truncated));
+
+        byte[] trailing = Arrays.copyOf(encoded, encoded.length + 1);
+        assertThrows(IllegalArgumentException.class, () -> SlotListCodec.decode(trailing));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> SlotListCodec.decode(new byte[]{SlotListCodec.FORMAT_VERSION, 100, 0, 0}));
+    }
+
+    private static AvailableSlot slot(LocalTime startTime, LocalTime endTime) {
+        return new AvailableSlot(startTime, endTime);
+    }
+}